@@ -0,0 +1,82 @@
+package com.vittor.pennyapi.importer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a generated 1M-line statement file end to end, as the import pipeline does. The
+ * file is streamed from disk, so the heap needed does not depend on its size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class StatementParserBenchmark {
+
+    private static final int LINES = 1_000_000;
+
+    @Param({"CSV", "OFX"})
+    public StatementFormat format;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("statement-benchmark-", "." + format.name().toLowerCase());
+        LocalDate start = LocalDate.of(2020, 1, 1);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == StatementFormat.CSV) {
+                writer.write("date,description,amount,category\n");
+                for (int i = 1; i < LINES; i++) {
+                    writer.write(start.plusDays(i % 1500) + ",\"Purchase #" + i + ", store\"," + (i % 2 == 0 ? "-" : "") + (i % 10_000) + "." + (i % 100) + ",Food\n");
+                }
+            } else {
+                // Cada STMTTRN ocupa 6 linhas
+                writer.write("OFXHEADER:100\n<OFX>\n<BANKTRANLIST>\n");
+                for (int i = 0, lines = 3; lines < LINES - 2; i++, lines += 6) {
+                    writer.write("<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>" + start.plusDays(i % 1500).toString().replace("-", "")
+                            + "120000[-3:BRT]\n<TRNAMT>-" + (i % 10_000) + "." + (i % 100) + "\n<MEMO>Purchase #" + i + "\n</STMTTRN>\n");
+                }
+                writer.write("</BANKTRANLIST>\n</OFX>\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long parseFile() throws IOException {
+        long entries = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            StatementParser parser = format.newParser(reader);
+            while (parser.next() != null) {
+                entries++;
+            }
+        }
+        return entries;
+    }
+}
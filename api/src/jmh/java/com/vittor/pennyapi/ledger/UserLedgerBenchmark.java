@@ -0,0 +1,75 @@
+package com.vittor.pennyapi.ledger;
+
+import com.vittor.pennyapi.enums.SeriesGranularity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analytics over one user's ledger, spread evenly over six years and eight categories. The
+ * periods match {@code LedgerBenchmarkTest}, which times the same queries on the SQL path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class UserLedgerBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 30);
+
+    @Param({"1000", "10000", "100000"})
+    public int transactions;
+
+    private UserLedger ledger;
+    private LedgerEntry upsert;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<UUID> categories = random.ints(8).mapToObj(i -> UUID.randomUUID()).toList();
+        int days = 6 * 365;
+
+        UserLedger.Builder builder = UserLedger.builder();
+        for (int i = 0; i < transactions; i++) {
+            builder.add(new LedgerEntry(UUID.randomUUID(), TODAY.minusDays(random.nextInt(days)), 1 + random.nextInt(50_000),
+                    i % 4 == 0, categories.get(random.nextInt(categories.size()))));
+        }
+        ledger = builder.build();
+        upsert = new LedgerEntry(UUID.randomUUID(), TODAY, 12_34, false, categories.getFirst());
+    }
+
+    @Benchmark
+    public LedgerTotals summaryYearToDate() {
+        return ledger.totals(TODAY.withDayOfYear(1), TODAY);
+    }
+
+    @Benchmark
+    public LedgerBreakdown breakdownTwelveMonths() {
+        return ledger.breakdown(TODAY.minusMonths(12).plusDays(1), TODAY);
+    }
+
+    @Benchmark
+    public LedgerSeries seriesDailyNinetyDays() {
+        return ledger.series(TODAY.minusDays(89), TODAY, SeriesGranularity.DAY);
+    }
+
+    @Benchmark
+    public UserLedger applyWrite() {
+        return ledger.with(List.of(), List.of(upsert));
+    }
+}
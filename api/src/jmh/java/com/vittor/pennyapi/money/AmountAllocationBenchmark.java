@@ -0,0 +1,87 @@
+package com.vittor.pennyapi.money;
+
+import com.vittor.pennyapi.dto.TransactionResponseDTO;
+import com.vittor.pennyapi.dto.TransactionSummaryDTO;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.repository.TransactionTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per summary and per listing page from the JDBC values to the JSON bytes. Amounts
+ * start as column text and are parsed into a fresh {@link BigDecimal} per op, as the driver
+ * does, then converted to {@link Money} as {@link MoneyType} and the aggregate queries do. Run
+ * with {@code -PjmhProfilers=gc} and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AmountAllocationBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 30);
+    private static final int PAGE_SIZE = 50;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private String[][] summaryColumns;
+    private Object[][] listingRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        summaryColumns = new String[3][];
+        for (int i = 0; i < summaryColumns.length; i++) {
+            summaryColumns[i] = new String[]{column(random), column(random)};
+        }
+        listingRows = new Object[PAGE_SIZE][];
+        UUID userId = new UUID(random.nextLong(), random.nextLong());
+        UUID categoryId = new UUID(random.nextLong(), random.nextLong());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            listingRows[i] = new Object[]{new UUID(random.nextLong(), random.nextLong()), "Market " + i, column(random),
+                    i % 4 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE, TODAY.minusDays(i),
+                    categoryId, "Food", "cart", "#00AA00", LocalDateTime.of(2025, 1, 1, 12, 0), userId,
+                    LocalDateTime.of(2026, 6, 30, 12, 0)};
+        }
+    }
+
+    @Benchmark
+    public byte[] summary() {
+        TransactionTotals totals = TransactionTotals.ZERO;
+        for (String[] columns : summaryColumns) {
+            totals = totals.plus(new TransactionTotals(Money.of(new BigDecimal(columns[0])), Money.of(new BigDecimal(columns[1]))));
+        }
+        return jsonMapper.writeValueAsBytes(new TransactionSummaryDTO(totals.income(), totals.expense(),
+                TODAY.withDayOfYear(1), TODAY));
+    }
+
+    @Benchmark
+    public byte[] listing() {
+        List<TransactionResponseDTO> page = new ArrayList<>(PAGE_SIZE);
+        for (Object[] row : listingRows) {
+            page.add(new TransactionResponseDTO((UUID) row[0], (String) row[1], Money.of(new BigDecimal((String) row[2])),
+                    (TransactionType) row[3], (LocalDate) row[4], (UUID) row[5], (String) row[6], (String) row[7],
+                    (String) row[8], (LocalDateTime) row[9], null, (UUID) row[10], (LocalDateTime) row[11]));
+        }
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    private static String column(Random random) {
+        return BigDecimal.valueOf(1 + random.nextInt(5_000_000), 2).toPlainString();
+    }
+}
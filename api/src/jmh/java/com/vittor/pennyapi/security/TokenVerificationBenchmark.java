@@ -0,0 +1,64 @@
+package com.vittor.pennyapi.security;
+
+import com.vittor.pennyapi.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token: full verification through
+ * {@link TokenService} versus a hit in {@link VerifiedTokenCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenVerificationBenchmark {
+
+    private TokenService tokenService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        tokenService = new TokenService();
+        setField(tokenService, "secret", "benchmark-secret-key-for-jwt-tokens");
+        setField(tokenService, "keyId", "benchmark");
+        setField(tokenService, "verificationKeys", "");
+        setField(tokenService, "expiration", 3600000L);
+        tokenService.init();
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("benchmark@example.com");
+        token = tokenService.generateToken(user);
+
+        verifiedTokenCache = new VerifiedTokenCache(tokenService, 10_000);
+        verifiedTokenCache.verify(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> uncachedVerification() {
+        return tokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> cachedVerification() {
+        return verifiedTokenCache.verify(token);
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -1,7 +1,12 @@
 package com.vittor.pennyapi.config;
 
+import com.vittor.pennyapi.security.AdaptiveBCryptPasswordEncoder;
+import com.vittor.pennyapi.security.BoundedPasswordEncoder;
+import com.vittor.pennyapi.security.RateLimitFilter;
 import com.vittor.pennyapi.security.SecurityFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,7 +15,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -27,6 +31,9 @@ public class SecurityConfig {
     @Autowired
     private SecurityFilter securityFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
@@ -39,6 +46,7 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, SecurityFilter.class)
                 .build();
     }
 
@@ -63,7 +71,18 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${api.security.password.pool-size}") int poolSize,
+            @Value("${api.security.password.queue-capacity}") int queueCapacity,
+            @Value("${api.security.password.timeout}") long timeoutMillis,
+            @Value("${api.security.password.target-latency}") long targetLatencyMillis,
+            @Value("${api.security.password.min-strength}") int minStrength,
+            @Value("${api.security.password.max-strength}") int maxStrength,
+            @Value("${api.security.password.strength}") int pinnedStrength) {
+        var bcrypt = pinnedStrength > 0
+                ? new AdaptiveBCryptPasswordEncoder(pinnedStrength)
+                : new AdaptiveBCryptPasswordEncoder(targetLatencyMillis, minStrength, maxStrength);
+        return new BoundedPasswordEncoder(bcrypt, poolSize, queueCapacity, timeoutMillis, meterRegistry);
     }
 }
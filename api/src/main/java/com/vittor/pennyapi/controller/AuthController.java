@@ -6,6 +6,8 @@ import com.vittor.pennyapi.dto.RegisterDTO;
 import com.vittor.pennyapi.entity.User;
 import com.vittor.pennyapi.exception.BusinessRuleException;
 import com.vittor.pennyapi.repository.UserRepository;
+import com.vittor.pennyapi.security.AuthenticatedUser;
+import com.vittor.pennyapi.security.TokenDenylist;
 import com.vittor.pennyapi.security.TokenService;
 import com.vittor.pennyapi.service.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -36,6 +39,9 @@ public class AuthController {
     @Autowired
     private UserService userService; // Inject the new UserService
 
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody @Valid RegisterDTO registerDTO) {
         userService.registerUser(registerDTO); // Delegate to UserService
@@ -55,4 +61,25 @@ public class AuthController {
 
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout() {
+        AuthenticatedUser user = getCurrentUser();
+        if (user.tokenId() == null) {
+            throw new BusinessRuleException("This token cannot be revoked individually. Use logout-all instead.");
+        }
+
+        tokenDenylist.revoke(user.tokenId(), user.id(), user.tokenExpiresAt());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll() {
+        tokenDenylist.revokeAllSessions(getCurrentUser().id());
+        return ResponseEntity.noContent().build();
+    }
+
+    private AuthenticatedUser getCurrentUser() {
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
 }
@@ -3,7 +3,7 @@ package com.vittor.pennyapi.controller;
 import com.vittor.pennyapi.dto.CategoryResponseDTO;
 import com.vittor.pennyapi.dto.CreateCategoryDTO;
 import com.vittor.pennyapi.dto.UpdateCategoryDTO;
-import com.vittor.pennyapi.entity.User;
+import com.vittor.pennyapi.security.AuthenticatedUser;
 import com.vittor.pennyapi.service.CategoryService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -32,9 +32,12 @@ public class CategoryController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDTO>> findAll() {
+    public ResponseEntity<List<CategoryResponseDTO>> findAll(
+            @RequestParam(defaultValue = "false") boolean includeBudget) {
         UUID userId = getCurrentUserId();
-        List<CategoryResponseDTO> categories = categoryService.findAll(userId);
+        List<CategoryResponseDTO> categories = includeBudget
+                ? categoryService.findAllWithSpending(userId)
+                : categoryService.findAll(userId);
         return ResponseEntity.ok(categories);
     }
 
@@ -62,7 +65,7 @@ public class CategoryController {
     }
 
     private UUID getCurrentUserId() {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return user.getId();
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return user.id();
     }
 }
@@ -0,0 +1,58 @@
+package com.vittor.pennyapi.controller;
+
+import com.vittor.pennyapi.dto.CreateRecurringTransactionDTO;
+import com.vittor.pennyapi.dto.RecurringTransactionResponseDTO;
+import com.vittor.pennyapi.security.AuthenticatedUser;
+import com.vittor.pennyapi.service.RecurringTransactionService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/recurring-transactions")
+@Tag(name = "Recurring Transactions", description = "Rules that create transactions on a schedule")
+public class RecurringTransactionController {
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @PostMapping
+    public ResponseEntity<RecurringTransactionResponseDTO> create(@RequestBody @Valid CreateRecurringTransactionDTO dto) {
+        UUID userId = getCurrentUserId();
+        RecurringTransactionResponseDTO response = recurringTransactionService.create(dto, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RecurringTransactionResponseDTO>> findAll() {
+        UUID userId = getCurrentUserId();
+        List<RecurringTransactionResponseDTO> recurringTransactions = recurringTransactionService.findAll(userId);
+        return ResponseEntity.ok(recurringTransactions);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringTransactionResponseDTO> findById(@PathVariable UUID id) {
+        UUID userId = getCurrentUserId();
+        RecurringTransactionResponseDTO recurringTransaction = recurringTransactionService.findById(id, userId);
+        return ResponseEntity.ok(recurringTransaction);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable UUID id) {
+        UUID userId = getCurrentUserId();
+        recurringTransactionService.delete(id, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private UUID getCurrentUserId() {
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return user.id();
+    }
+}
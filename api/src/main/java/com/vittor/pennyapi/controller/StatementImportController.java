@@ -0,0 +1,50 @@
+package com.vittor.pennyapi.controller;
+
+import com.vittor.pennyapi.dto.StatementImportJobDTO;
+import com.vittor.pennyapi.importer.StatementFormat;
+import com.vittor.pennyapi.importer.StatementImportJob;
+import com.vittor.pennyapi.security.AuthenticatedUser;
+import com.vittor.pennyapi.service.StatementImportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/imports")
+@Tag(name = "Imports", description = "Operations related to bank statement imports")
+public class StatementImportController {
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StatementImportJobDTO> startImport(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) StatementFormat format,
+            @RequestParam(required = false) UUID defaultCategoryId) {
+        UUID userId = getCurrentUserId();
+        StatementImportJob job = statementImportService.startImport(userId, file, format, defaultCategoryId);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/imports/" + job.getId()))
+                .body(new StatementImportJobDTO(job));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<StatementImportJobDTO> findById(@PathVariable UUID id) {
+        UUID userId = getCurrentUserId();
+        StatementImportJob job = statementImportService.findJob(id, userId);
+        return ResponseEntity.ok(new StatementImportJobDTO(job));
+    }
+
+    private UUID getCurrentUserId() {
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return user.id();
+    }
+}
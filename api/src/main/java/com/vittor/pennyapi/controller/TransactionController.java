@@ -1,23 +1,40 @@
 package com.vittor.pennyapi.controller;
 
+import com.vittor.pennyapi.dto.CreateTransactionBatchDTO;
 import com.vittor.pennyapi.dto.CreateTransactionDTO;
+import com.vittor.pennyapi.dto.CursorPageDTO;
+import com.vittor.pennyapi.dto.SummaryBatchRequestDTO;
+import com.vittor.pennyapi.dto.TransactionBatchResultDTO;
+import com.vittor.pennyapi.dto.TransactionBreakdownDTO;
+import com.vittor.pennyapi.dto.TransactionFilterDTO;
 import com.vittor.pennyapi.dto.TransactionResponseDTO;
+import com.vittor.pennyapi.dto.TransactionSeriesDTO;
 import com.vittor.pennyapi.dto.TransactionSummaryDTO;
 import com.vittor.pennyapi.dto.UpdateTransactionDTO;
-import com.vittor.pennyapi.entity.User;
+import com.vittor.pennyapi.enums.ExportFormat;
+import com.vittor.pennyapi.enums.SeriesGranularity;
+import com.vittor.pennyapi.exception.BusinessRuleException;
+import com.vittor.pennyapi.security.AuthenticatedUser;
+import com.vittor.pennyapi.service.IdempotencyKeys;
+import com.vittor.pennyapi.service.TransactionExportService;
 import com.vittor.pennyapi.service.TransactionService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @RestController
@@ -28,20 +45,66 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private IdempotencyKeys idempotencyKeys;
+
     @PostMapping
-    public ResponseEntity<TransactionResponseDTO> create(@RequestBody @Valid CreateTransactionDTO dto) {
+    public ResponseEntity<TransactionResponseDTO> create(
+            @RequestHeader(name = IdempotencyKeys.HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid CreateTransactionDTO dto) {
         UUID userId = getCurrentUserId();
-        TransactionResponseDTO response = transactionService.create(dto, userId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return idempotencyKeys.execute(userId, idempotencyKey, "POST /api/transactions", dto,
+                TransactionResponseDTO.class, () -> {
+                    TransactionResponseDTO response = transactionService.create(dto, userId);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                });
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<TransactionBatchResultDTO> createBatch(
+            @RequestHeader(name = IdempotencyKeys.HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid CreateTransactionBatchDTO dto) {
+        UUID userId = getCurrentUserId();
+        return idempotencyKeys.execute(userId, idempotencyKey, "POST /api/transactions/batch", dto,
+                TransactionBatchResultDTO.class, () -> {
+                    TransactionBatchResultDTO result = transactionService.createBatch(dto.transactions(), userId);
+                    HttpStatus status = result.created() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+                    return ResponseEntity.status(status).body(result);
+                });
     }
 
     @GetMapping
-    public ResponseEntity<Page<TransactionResponseDTO>> findAll(Pageable pageable) {
+    public ResponseEntity<Page<TransactionResponseDTO>> findAll(@Valid TransactionFilterDTO filter, Pageable pageable) {
         UUID userId = getCurrentUserId();
-        Page<TransactionResponseDTO> transactions = transactionService.findAll(userId, pageable);
+        Page<TransactionResponseDTO> transactions = transactionService.findAll(userId, filter, pageable);
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<TransactionResponseDTO>> findPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        UUID userId = getCurrentUserId();
+        CursorPageDTO<TransactionResponseDTO> page = transactionService.findPage(userId, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+        UUID userId = getCurrentUserId();
+        ExportFormat exportFormat = parseExportFormat(format);
+
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(exportFormat == ExportFormat.CSV ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"");
+
+        transactionExportService.export(userId, exportFormat, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TransactionResponseDTO> findById(@PathVariable UUID id) {
         UUID userId = getCurrentUserId();
@@ -52,10 +115,11 @@ public class TransactionController {
     @PutMapping("/{id}")
     public ResponseEntity<TransactionResponseDTO> update(
             @PathVariable UUID id,
+            @RequestHeader(name = IdempotencyKeys.HEADER, required = false) String idempotencyKey,
             @RequestBody @Valid UpdateTransactionDTO dto) {
         UUID userId = getCurrentUserId();
-        TransactionResponseDTO response = transactionService.update(id, dto, userId);
-        return ResponseEntity.ok(response);
+        return idempotencyKeys.execute(userId, idempotencyKey, "PUT /api/transactions/" + id, dto,
+                TransactionResponseDTO.class, () -> ResponseEntity.ok(transactionService.update(id, dto, userId)));
     }
 
     @DeleteMapping("/{id}")
@@ -74,8 +138,51 @@ public class TransactionController {
         return ResponseEntity.ok(summary);
     }
 
+    @PostMapping("/summary/batch")
+    public ResponseEntity<List<TransactionSummaryDTO>> getFinancialSummaries(
+            @RequestBody @Valid SummaryBatchRequestDTO dto) {
+        UUID userId = getCurrentUserId();
+        List<TransactionSummaryDTO> summaries = transactionService.getFinancialSummaries(userId, dto.periods());
+        return ResponseEntity.ok(summaries);
+    }
+
+    @GetMapping("/summary/breakdown")
+    public ResponseEntity<TransactionBreakdownDTO> getBreakdown(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        UUID userId = getCurrentUserId();
+        TransactionBreakdownDTO breakdown = transactionService.getBreakdown(userId, startDate, endDate);
+        return ResponseEntity.ok(breakdown);
+    }
+
+    @GetMapping("/series")
+    public ResponseEntity<TransactionSeriesDTO> getSeries(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        UUID userId = getCurrentUserId();
+        TransactionSeriesDTO series = transactionService.getSeries(userId, parseGranularity(granularity), startDate, endDate);
+        return ResponseEntity.ok(series);
+    }
+
+    private static SeriesGranularity parseGranularity(String granularity) {
+        try {
+            return SeriesGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new BusinessRuleException("Invalid granularity '" + granularity + "'. Use day, week or month");
+        }
+    }
+
+    private static ExportFormat parseExportFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new BusinessRuleException("Invalid export format '" + format + "'. Use csv or ndjson");
+        }
+    }
+
     private UUID getCurrentUserId() {
-        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return user.getId();
+        AuthenticatedUser user = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return user.id();
     }
 }
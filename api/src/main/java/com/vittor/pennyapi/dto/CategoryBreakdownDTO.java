@@ -0,0 +1,15 @@
+package com.vittor.pennyapi.dto;
+
+import com.vittor.pennyapi.money.Money;
+
+import java.util.UUID;
+
+public record CategoryBreakdownDTO(
+        UUID categoryId,
+        String categoryName,
+        String color,
+        Money totalIncome,
+        Money totalExpense,
+        long transactionCount
+) {
+}
@@ -1,16 +1,26 @@
 package com.vittor.pennyapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.vittor.pennyapi.entity.Category;
+import com.vittor.pennyapi.money.Money;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * {@code monthlyBudget} is omitted for categories without a budget, and {@code spending} is only
+ * filled by {@code GET /api/categories?includeBudget=true}.
+ */
 public record CategoryResponseDTO(
         UUID id,
         String name,
         String icon,
         String color,
-        LocalDateTime createdAt
+        LocalDateTime createdAt,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Money monthlyBudget,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        CategorySpendingDTO spending
 ) {
     public CategoryResponseDTO(Category category) {
         this(
@@ -18,7 +28,13 @@ public record CategoryResponseDTO(
                 category.getName(),
                 category.getIcon(),
                 category.getColor(),
-                category.getCreatedAt()
+                category.getCreatedAt(),
+                category.getMonthlyBudget(),
+                null
         );
     }
+
+    public CategoryResponseDTO(UUID id, String name, String icon, String color, LocalDateTime createdAt, Money monthlyBudget) {
+        this(id, name, icon, color, createdAt, monthlyBudget, null);
+    }
 }
@@ -0,0 +1,26 @@
+package com.vittor.pennyapi.dto;
+
+import com.vittor.pennyapi.money.Money;
+
+import java.time.YearMonth;
+
+/**
+ * Expenses of a category in {@code month}. {@code remaining} and {@code percentUsed} are only
+ * set when the category has a monthly budget; {@code remaining} turns negative once the budget
+ * is exceeded.
+ */
+public record CategorySpendingDTO(
+        YearMonth month,
+        Money spent,
+        Money remaining,
+        Integer percentUsed
+) {
+    public static CategorySpendingDTO of(YearMonth month, Money monthlyBudget, Money spent) {
+        if (monthlyBudget == null) {
+            return new CategorySpendingDTO(month, spent, null, null);
+        }
+        // Arredonda para baixo: 79,99% não aparece como 80% antes do alerta
+        long percentUsed = spent.cents() * 100 / monthlyBudget.cents();
+        return new CategorySpendingDTO(month, spent, monthlyBudget.minus(spent), (int) Math.min(Integer.MAX_VALUE, percentUsed));
+    }
+}
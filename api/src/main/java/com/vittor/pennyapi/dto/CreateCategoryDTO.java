@@ -1,9 +1,13 @@
 package com.vittor.pennyapi.dto;
 
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
+import java.math.BigDecimal;
+
 public record CreateCategoryDTO(
         @NotBlank(message = "Name is required")
         @Size(min = 1, max = 50, message = "Name must be between 1 and 50 characters")
@@ -15,6 +19,13 @@ public record CreateCategoryDTO(
 
         @NotBlank(message = "Color is required")
         @Pattern(regexp = "^#([A-Fa-f0-9]{6}|[A-Fa-f0-9]{3})$", message = "Color must be a valid hex format (#FFF or #FFFFFF)")
-        String color
+        String color,
+
+        @DecimalMin(value = "0.01", message = "Monthly budget must be greater than 0")
+        @Digits(integer = 16, fraction = 2, message = "Monthly budget must have at most 16 integer digits and 2 decimal places")
+        BigDecimal monthlyBudget
 ) {
+    public CreateCategoryDTO(String name, String icon, String color) {
+        this(name, icon, color, null);
+    }
 }
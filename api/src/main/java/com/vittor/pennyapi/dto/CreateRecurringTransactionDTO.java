@@ -0,0 +1,48 @@
+package com.vittor.pennyapi.dto;
+
+import com.vittor.pennyapi.enums.RecurrenceFrequency;
+import com.vittor.pennyapi.enums.TransactionType;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A rule such as "rent on the 5th of every month". {@code interval} repeats every n weeks or
+ * months and defaults to 1; {@code cronExpression} is only used by {@code CRON} rules and has
+ * the three date fields of a cron expression: day of month, month and day of week
+ * ({@code "15 * *"}, {@code "* * MON-FRI"}).
+ */
+public record CreateRecurringTransactionDTO(
+        @NotBlank(message = "Description is required")
+        @Size(min = 1, max = 255, message = "Description must be between 1 and 255 characters")
+        String description,
+
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+        @Digits(integer = 16, fraction = 2, message = "Amount must have at most 16 integer digits and 2 decimal places")
+        BigDecimal amount,
+
+        @NotNull(message = "Type is required")
+        TransactionType type,
+
+        @NotNull(message = "Category ID is required")
+        UUID categoryId,
+
+        @NotNull(message = "Frequency is required")
+        RecurrenceFrequency frequency,
+
+        @Min(value = 1, message = "Interval must be at least 1")
+        @Max(value = 120, message = "Interval must be at most 120")
+        Integer interval,
+
+        @Size(max = 100, message = "Cron expression must have at most 100 characters")
+        String cronExpression,
+
+        @NotNull(message = "Start date is required")
+        LocalDate startDate,
+
+        LocalDate endDate
+) {
+}
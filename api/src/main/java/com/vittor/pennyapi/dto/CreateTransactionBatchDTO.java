@@ -0,0 +1,18 @@
+package com.vittor.pennyapi.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Items are validated one by one by the service, so a bad row is reported in the
+ * result instead of rejecting the whole request.
+ */
+public record CreateTransactionBatchDTO(
+        @NotEmpty(message = "At least one transaction is required")
+        @Size(max = CreateTransactionBatchDTO.MAX_ITEMS, message = "A batch can contain at most " + CreateTransactionBatchDTO.MAX_ITEMS + " transactions")
+        List<CreateTransactionDTO> transactions
+) {
+    public static final int MAX_ITEMS = 5000;
+}
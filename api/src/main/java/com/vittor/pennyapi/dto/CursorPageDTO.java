@@ -0,0 +1,11 @@
+package com.vittor.pennyapi.dto;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,17 @@
+package com.vittor.pennyapi.dto;
+
+import com.vittor.pennyapi.money.Money;
+
+import java.time.YearMonth;
+
+public record MonthBreakdownDTO(
+        YearMonth month,
+        Money totalIncome,
+        Money totalExpense,
+        Money balance,
+        long transactionCount
+) {
+    public MonthBreakdownDTO(YearMonth month, Money totalIncome, Money totalExpense, long transactionCount) {
+        this(month, totalIncome, totalExpense, totalIncome.minus(totalExpense), transactionCount);
+    }
+}
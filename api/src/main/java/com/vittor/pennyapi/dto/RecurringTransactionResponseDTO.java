@@ -0,0 +1,42 @@
+package com.vittor.pennyapi.dto;
+
+import com.vittor.pennyapi.entity.RecurringTransaction;
+import com.vittor.pennyapi.enums.RecurrenceFrequency;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RecurringTransactionResponseDTO(
+        UUID id,
+        String description,
+        Money amount,
+        TransactionType type,
+        CategoryResponseDTO category,
+        RecurrenceFrequency frequency,
+        int interval,
+        String cronExpression,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDate nextOccurrence,
+        LocalDateTime createdAt
+) {
+    public RecurringTransactionResponseDTO(RecurringTransaction recurringTransaction) {
+        this(
+                recurringTransaction.getId(),
+                recurringTransaction.getDescription(),
+                recurringTransaction.getAmount(),
+                recurringTransaction.getType(),
+                new CategoryResponseDTO(recurringTransaction.getCategory()),
+                recurringTransaction.getFrequency(),
+                recurringTransaction.getIntervalCount(),
+                recurringTransaction.getCronExpression(),
+                recurringTransaction.getStartDate(),
+                recurringTransaction.getEndDate(),
+                recurringTransaction.getNextOccurrence(),
+                recurringTransaction.getCreatedAt()
+        );
+    }
+}
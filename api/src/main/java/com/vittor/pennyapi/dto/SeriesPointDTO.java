@@ -0,0 +1,13 @@
+package com.vittor.pennyapi.dto;
+
+import com.vittor.pennyapi.money.Money;
+
+import java.time.LocalDate;
+
+public record SeriesPointDTO(
+        LocalDate bucketStart,
+        Money totalIncome,
+        Money totalExpense,
+        Money balance
+) {
+}
@@ -0,0 +1,44 @@
+package com.vittor.pennyapi.dto;
+
+import com.vittor.pennyapi.importer.StatementFormat;
+import com.vittor.pennyapi.importer.StatementImportJob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record StatementImportJobDTO(
+        UUID id,
+        String fileName,
+        StatementFormat format,
+        StatementImportJob.Status status,
+        int progressPercent,
+        long bytesRead,
+        long totalBytes,
+        long entriesRead,
+        long imported,
+        long failed,
+        String message,
+        List<StatementImportLineErrorDTO> errors,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {
+    public StatementImportJobDTO(StatementImportJob job) {
+        this(
+                job.getId(),
+                job.getFileName(),
+                job.getFormat(),
+                job.getStatus(),
+                job.progressPercent(),
+                job.getBytesRead(),
+                job.getTotalBytes(),
+                job.getEntriesRead(),
+                job.getImported(),
+                job.getFailed(),
+                job.getMessage(),
+                job.getErrors(),
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
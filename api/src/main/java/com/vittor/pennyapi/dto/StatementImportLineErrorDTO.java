@@ -0,0 +1,9 @@
+package com.vittor.pennyapi.dto;
+
+import java.util.List;
+
+public record StatementImportLineErrorDTO(
+        long line,
+        List<FieldErrorDTO> errors
+) {
+}
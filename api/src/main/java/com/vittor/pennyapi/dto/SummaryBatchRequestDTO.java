@@ -0,0 +1,15 @@
+package com.vittor.pennyapi.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record SummaryBatchRequestDTO(
+        @NotEmpty(message = "At least one period is required")
+        @Size(max = SummaryBatchRequestDTO.MAX_PERIODS, message = "A request can contain at most " + SummaryBatchRequestDTO.MAX_PERIODS + " periods")
+        List<@NotNull(message = "Period is required") SummaryPeriodDTO> periods
+) {
+    public static final int MAX_PERIODS = 24;
+}
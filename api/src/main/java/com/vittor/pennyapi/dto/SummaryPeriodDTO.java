@@ -0,0 +1,12 @@
+package com.vittor.pennyapi.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Either date may be omitted, with the same defaults as {@code GET /api/transactions/summary}.
+ */
+public record SummaryPeriodDTO(
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
@@ -0,0 +1,9 @@
+package com.vittor.pennyapi.dto;
+
+import java.util.List;
+
+public record TransactionBatchItemErrorDTO(
+        int index,
+        List<FieldErrorDTO> errors
+) {
+}
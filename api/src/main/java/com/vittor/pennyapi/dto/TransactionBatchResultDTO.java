@@ -0,0 +1,12 @@
+package com.vittor.pennyapi.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TransactionBatchResultDTO(
+        int received,
+        int created,
+        List<UUID> createdIds,
+        List<TransactionBatchItemErrorDTO> errors
+) {
+}
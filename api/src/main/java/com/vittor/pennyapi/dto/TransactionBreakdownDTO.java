@@ -0,0 +1,10 @@
+package com.vittor.pennyapi.dto;
+
+import java.util.List;
+
+public record TransactionBreakdownDTO(
+        TransactionSummaryDTO summary,
+        List<CategoryBreakdownDTO> categories,
+        List<MonthBreakdownDTO> months
+) {
+}
@@ -0,0 +1,39 @@
+package com.vittor.pennyapi.dto;
+
+import com.vittor.pennyapi.enums.TransactionType;
+import jakarta.validation.constraints.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Optional filters for GET /api/transactions, bound from query parameters. Null fields do not
+ * restrict the result; {@code categoryIds} accepts repeated or comma-separated values.
+ */
+public record TransactionFilterDTO(
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate startDate,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate endDate,
+
+        TransactionType type,
+
+        @Size(max = 50, message = "At most 50 category IDs can be filtered at once")
+        List<UUID> categoryIds,
+
+        @DecimalMin(value = "0.00", message = "Minimum amount cannot be negative")
+        @DecimalMax(value = "9999999999999999.99", message = "Minimum amount must be at most 9999999999999999.99")
+        BigDecimal minAmount,
+
+        @DecimalMin(value = "0.00", message = "Maximum amount cannot be negative")
+        @DecimalMax(value = "9999999999999999.99", message = "Maximum amount must be at most 9999999999999999.99")
+        BigDecimal maxAmount,
+
+        @Size(max = 100, message = "Description filter must have at most 100 characters")
+        String description
+) {
+}
@@ -2,8 +2,8 @@ package com.vittor.pennyapi.dto;
 
 import com.vittor.pennyapi.entity.Transaction;
 import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -11,7 +11,7 @@ import java.util.UUID;
 public record TransactionResponseDTO(
         UUID id,
         String description,
-        BigDecimal amount,
+        Money amount,
         TransactionType type,
         LocalDate date,
         CategoryResponseDTO category,
@@ -30,4 +30,35 @@ public record TransactionResponseDTO(
                 transaction.getCreatedAt()
         );
     }
+
+    /**
+     * Flat constructor for JPQL {@code SELECT new} projections, so listings build the DTO from a
+     * single joined row without loading entities.
+     */
+    public TransactionResponseDTO(
+            UUID id,
+            String description,
+            Money amount,
+            TransactionType type,
+            LocalDate date,
+            UUID categoryId,
+            String categoryName,
+            String categoryIcon,
+            String categoryColor,
+            LocalDateTime categoryCreatedAt,
+            Money categoryMonthlyBudget,
+            UUID userId,
+            LocalDateTime createdAt
+    ) {
+        this(
+                id,
+                description,
+                amount,
+                type,
+                date,
+                new CategoryResponseDTO(categoryId, categoryName, categoryIcon, categoryColor, categoryCreatedAt, categoryMonthlyBudget),
+                userId,
+                createdAt
+        );
+    }
 }
@@ -0,0 +1,16 @@
+package com.vittor.pennyapi.dto;
+
+import com.vittor.pennyapi.enums.SeriesGranularity;
+import com.vittor.pennyapi.money.Money;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record TransactionSeriesDTO(
+        SeriesGranularity granularity,
+        LocalDate startDate,
+        LocalDate endDate,
+        Money openingBalance,
+        List<SeriesPointDTO> points
+) {
+}
@@ -1,28 +1,29 @@
 package com.vittor.pennyapi.dto;
 
-import java.math.BigDecimal;
+import com.vittor.pennyapi.money.Money;
+
 import java.time.LocalDate;
 
 public record TransactionSummaryDTO(
-        BigDecimal totalIncome,
-        BigDecimal totalExpense,
-        BigDecimal balance,
+        Money totalIncome,
+        Money totalExpense,
+        Money balance,
         LocalDate startDate,
         LocalDate endDate
 ) {
-    public TransactionSummaryDTO(BigDecimal totalIncome, BigDecimal totalExpense, LocalDate startDate, LocalDate endDate) {
+    public TransactionSummaryDTO(Money totalIncome, Money totalExpense, LocalDate startDate, LocalDate endDate) {
         this(
-                totalIncome != null ? totalIncome : BigDecimal.ZERO,
-                totalExpense != null ? totalExpense : BigDecimal.ZERO,
+                totalIncome != null ? totalIncome : Money.ZERO,
+                totalExpense != null ? totalExpense : Money.ZERO,
                 calculateBalance(totalIncome, totalExpense),
                 startDate,
                 endDate
         );
     }
 
-    private static BigDecimal calculateBalance(BigDecimal totalIncome, BigDecimal totalExpense) {
-        BigDecimal income = totalIncome != null ? totalIncome : BigDecimal.ZERO;
-        BigDecimal expense = totalExpense != null ? totalExpense : BigDecimal.ZERO;
-        return income.subtract(expense);
+    private static Money calculateBalance(Money totalIncome, Money totalExpense) {
+        Money income = totalIncome != null ? totalIncome : Money.ZERO;
+        Money expense = totalExpense != null ? totalExpense : Money.ZERO;
+        return income.minus(expense);
     }
-}
\ No newline at end of file
+}
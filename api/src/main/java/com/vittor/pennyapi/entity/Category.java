@@ -1,10 +1,13 @@
 package com.vittor.pennyapi.entity;
 
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.money.MoneyType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -32,6 +35,11 @@ public class Category {
     @Column(nullable = false, length = 7)
     private String color;
 
+    // Orçamento mensal de despesas; null quando a categoria não tem orçamento
+    @Type(MoneyType.class)
+    @Column(name = "monthly_budget", precision = 19, scale = 2)
+    private Money monthlyBudget;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -0,0 +1,76 @@
+package com.vittor.pennyapi.entity;
+
+import com.vittor.pennyapi.enums.RecurrenceFrequency;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.money.MoneyType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "recurring_transactions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Type(MoneyType.class)
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private int intervalCount;
+
+    @Column(name = "cron_expression", length = 100)
+    private String cronExpression;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Próxima data a materializar; null quando a regra já passou da data final
+    @Column(name = "next_occurrence")
+    private LocalDate nextOccurrence;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
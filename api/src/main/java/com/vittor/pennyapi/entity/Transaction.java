@@ -1,13 +1,15 @@
 package com.vittor.pennyapi.entity;
 
 import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.money.MoneyType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Type;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -27,8 +29,9 @@ public class Transaction {
     @Column(nullable = false)
     private String description;
 
+    @Type(MoneyType.class)
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 10)
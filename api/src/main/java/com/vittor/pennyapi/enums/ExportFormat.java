@@ -0,0 +1,6 @@
+package com.vittor.pennyapi.enums;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
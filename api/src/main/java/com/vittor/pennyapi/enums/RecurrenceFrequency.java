@@ -0,0 +1,7 @@
+package com.vittor.pennyapi.enums;
+
+public enum RecurrenceFrequency {
+    WEEKLY,
+    MONTHLY,
+    CRON
+}
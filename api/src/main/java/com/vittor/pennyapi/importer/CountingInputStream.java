@@ -0,0 +1,44 @@
+package com.vittor.pennyapi.importer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes how many bytes have been read, so progress can be polled from another thread.
+ */
+class CountingInputStream extends FilterInputStream {
+
+    private final AtomicLong count;
+
+    CountingInputStream(InputStream in, AtomicLong count) {
+        super(in);
+        this.count = count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count.incrementAndGet();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count.addAndGet(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count.addAndGet(skipped);
+        return skipped;
+    }
+}
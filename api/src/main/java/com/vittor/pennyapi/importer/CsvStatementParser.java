@@ -0,0 +1,153 @@
+package com.vittor.pennyapi.importer;
+
+import com.vittor.pennyapi.enums.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a CSV statement line by line. The first line is a header naming the columns
+ * ({@code date}, {@code description}, {@code amount} and optionally {@code category} and
+ * {@code type}, also accepted in Portuguese); the delimiter is {@code ,} or {@code ;},
+ * whichever the header uses. Quoted fields may contain delimiters and {@code ""} escapes,
+ * but not line breaks.
+ * <p>
+ * Without a {@code type} column the sign of the amount decides: negative is an expense.
+ */
+public class CsvStatementParser implements StatementParser {
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private final int dateColumn;
+    private final int descriptionColumn;
+    private final int amountColumn;
+    private final int categoryColumn;
+    private final int typeColumn;
+    private final List<String> fields = new ArrayList<>();
+    private long lineNumber;
+
+    public CsvStatementParser(BufferedReader reader) throws IOException {
+        this.reader = reader;
+
+        String header = reader.readLine();
+        lineNumber = 1;
+        if (header == null) {
+            throw new StatementParseException(1, "CSV file is empty");
+        }
+        if (!header.isEmpty() && header.charAt(0) == '\uFEFF') {
+            header = header.substring(1);
+        }
+
+        delimiter = header.indexOf(';') >= 0 ? ';' : ',';
+        List<String> columns = split(header);
+        dateColumn = columnIndex(columns, "date", "data");
+        descriptionColumn = columnIndex(columns, "description", "descricao", "descrição", "memo");
+        amountColumn = columnIndex(columns, "amount", "valor");
+        categoryColumn = columnIndex(columns, "category", "categoria");
+        typeColumn = columnIndex(columns, "type", "tipo");
+
+        if (dateColumn < 0 || descriptionColumn < 0 || amountColumn < 0) {
+            throw new StatementParseException(1, "CSV header must contain date, description and amount columns");
+        }
+    }
+
+    @Override
+    public StatementEntry next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        List<String> values = split(line);
+        if (values.size() <= Math.max(dateColumn, Math.max(descriptionColumn, amountColumn))) {
+            throw new StatementParseException(lineNumber, "Expected at least " + (Math.max(dateColumn, Math.max(descriptionColumn, amountColumn)) + 1) + " columns");
+        }
+
+        BigDecimal amount = StatementValues.parseAmount(values.get(amountColumn), lineNumber);
+        TransactionType type = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        String typeValue = column(values, typeColumn);
+        if (typeValue != null) {
+            type = parseType(typeValue);
+        }
+
+        return new StatementEntry(
+                lineNumber,
+                StatementValues.parseDate(values.get(dateColumn), lineNumber),
+                values.get(descriptionColumn).trim(),
+                amount.abs(),
+                type,
+                column(values, categoryColumn)
+        );
+    }
+
+    private TransactionType parseType(String value) {
+        return switch (value.toUpperCase(Locale.ROOT)) {
+            case "INCOME", "RECEITA", "C", "CREDIT", "CREDITO", "CRÉDITO" -> TransactionType.INCOME;
+            case "EXPENSE", "DESPESA", "D", "DEBIT", "DEBITO", "DÉBITO" -> TransactionType.EXPENSE;
+            default -> throw new StatementParseException(lineNumber, "Invalid type '" + value + "'");
+        };
+    }
+
+    private static String column(List<String> values, int index) {
+        if (index < 0 || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static int columnIndex(List<String> columns, String... names) {
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).trim().toLowerCase(Locale.ROOT);
+            for (String name : names) {
+                if (column.equals(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private List<String> split(String line) {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new StatementParseException(lineNumber, "Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
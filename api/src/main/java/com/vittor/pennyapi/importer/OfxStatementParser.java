@@ -0,0 +1,158 @@
+package com.vittor.pennyapi.importer;
+
+import com.vittor.pennyapi.enums.TransactionType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams {@code <STMTTRN>} blocks out of an OFX file, either SGML (OFX 1.x, leaf elements
+ * without closing tags) or XML (OFX 2.x). Only the fields needed for a transaction are kept,
+ * so memory does not grow with the file. Descriptions come from {@code MEMO}, falling back
+ * to {@code NAME}; the sign of {@code TRNAMT} decides between income and expense.
+ */
+public class OfxStatementParser implements StatementParser {
+
+    private static final int MAX_TOKEN_LENGTH = 8192;
+
+    private final Reader reader;
+    private final StringBuilder token = new StringBuilder();
+    private final Map<String, String> fields = new HashMap<>();
+    private int lookahead = -2;
+    private long lineNumber = 1;
+
+    public OfxStatementParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public StatementEntry next() throws IOException {
+        boolean inTransaction = false;
+        long startLine = 0;
+        String tag;
+
+        while ((tag = nextTag()) != null) {
+            if (tag.equals("STMTTRN")) {
+                inTransaction = true;
+                startLine = lineNumber;
+                fields.clear();
+            } else if (tag.equals("/STMTTRN")) {
+                if (inTransaction) {
+                    return toEntry(startLine);
+                }
+            } else if (inTransaction && tag.charAt(0) != '/') {
+                String value = readText();
+                if (!value.isEmpty()) {
+                    fields.put(tag, value);
+                }
+            }
+        }
+
+        if (inTransaction) {
+            throw new StatementParseException(startLine, "Unterminated STMTTRN block");
+        }
+        return null;
+    }
+
+    private StatementEntry toEntry(long startLine) {
+        String posted = fields.get("DTPOSTED");
+        String amountValue = fields.get("TRNAMT");
+        if (posted == null || amountValue == null) {
+            throw new StatementParseException(startLine, "STMTTRN block requires DTPOSTED and TRNAMT");
+        }
+
+        String description = fields.getOrDefault("MEMO", fields.get("NAME"));
+        if (description == null) {
+            description = fields.getOrDefault("TRNTYPE", "");
+        }
+
+        BigDecimal amount = StatementValues.parseAmount(amountValue, startLine);
+        return new StatementEntry(
+                startLine,
+                StatementValues.parseDate(posted, startLine),
+                description,
+                amount.abs(),
+                amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME,
+                null
+        );
+    }
+
+    /**
+     * Skips to the next {@code <...>} and returns its upper-cased name, with a leading
+     * {@code /} for closing tags; {@code null} at the end of the input.
+     */
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            // texto fora de um elemento folha de interesse é ignorado
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        token.setLength(0);
+        while ((c = read()) != -1 && c != '>') {
+            append(c);
+        }
+        if (token.isEmpty()) {
+            return nextTag();
+        }
+
+        int end = 0;
+        while (end < token.length() && !Character.isWhitespace(token.charAt(end))) {
+            end++;
+        }
+        return token.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Reads a leaf element value up to, but not including, the next {@code <}.
+     */
+    private String readText() throws IOException {
+        token.setLength(0);
+        int c;
+        while ((c = read()) != -1 && c != '<') {
+            append(c);
+        }
+        if (c == '<') {
+            lookahead = '<';
+        }
+        return decodeEntities(token.toString().trim());
+    }
+
+    private void append(int c) {
+        if (token.length() >= MAX_TOKEN_LENGTH) {
+            throw new StatementParseException(lineNumber, "OFX element exceeds " + MAX_TOKEN_LENGTH + " characters");
+        }
+        token.append((char) c);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (lookahead != -2) {
+            c = lookahead;
+            lookahead = -2;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private static String decodeEntities(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+    }
+}
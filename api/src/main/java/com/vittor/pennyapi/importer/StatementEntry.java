@@ -0,0 +1,20 @@
+package com.vittor.pennyapi.importer;
+
+import com.vittor.pennyapi.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One parsed statement line. {@code amount} is always positive, the direction is in
+ * {@code type}; {@code category} is the category name given by the file, if any.
+ */
+public record StatementEntry(
+        long lineNumber,
+        LocalDate date,
+        String description,
+        BigDecimal amount,
+        TransactionType type,
+        String category
+) {
+}
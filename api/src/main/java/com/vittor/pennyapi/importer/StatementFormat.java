@@ -0,0 +1,34 @@
+package com.vittor.pennyapi.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Locale;
+
+public enum StatementFormat {
+    CSV,
+    OFX;
+
+    public StatementParser newParser(BufferedReader reader) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvStatementParser(reader);
+            case OFX -> new OfxStatementParser(reader);
+        };
+    }
+
+    /**
+     * Guesses the format from the uploaded file name; returns {@code null} when unknown.
+     */
+    public static StatementFormat fromFileName(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".ofx") || lower.endsWith(".qfx")) {
+            return OFX;
+        }
+        return null;
+    }
+}
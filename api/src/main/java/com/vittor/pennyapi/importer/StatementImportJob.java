@@ -0,0 +1,160 @@
+package com.vittor.pennyapi.importer;
+
+import com.vittor.pennyapi.dto.FieldErrorDTO;
+import com.vittor.pennyapi.dto.StatementImportLineErrorDTO;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import, written by the pipeline threads and read by pollers. Only the
+ * first {@code maxRecordedErrors} line errors are kept; the rest are just counted.
+ */
+public class StatementImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID userId;
+    private final String fileName;
+    private final StatementFormat format;
+    private final long totalBytes;
+    private final int maxRecordedErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong entriesRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<StatementImportLineErrorDTO> errors = new ArrayList<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime finishedAt;
+
+    public StatementImportJob(UUID userId, String fileName, StatementFormat format, long totalBytes, int maxRecordedErrors) {
+        this.userId = userId;
+        this.fileName = fileName;
+        this.format = format;
+        this.totalBytes = totalBytes;
+        this.maxRecordedErrors = maxRecordedErrors;
+    }
+
+    /**
+     * Wraps the upload stream so that progress follows the bytes actually consumed.
+     */
+    public InputStream track(InputStream input) {
+        return new CountingInputStream(input, bytesRead);
+    }
+
+    public void entryRead() {
+        entriesRead.incrementAndGet();
+    }
+
+    public void imported(int count) {
+        imported.addAndGet(count);
+    }
+
+    public void recordError(long line, List<FieldErrorDTO> lineErrors) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxRecordedErrors) {
+                errors.add(new StatementImportLineErrorDTO(line, lineErrors));
+            }
+        }
+    }
+
+    public void started() {
+        status = Status.RUNNING;
+    }
+
+    public void completed() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void failed(String reason) {
+        message = reason;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public int progressPercent() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        if (totalBytes <= 0) {
+            return 0;
+        }
+        return (int) Math.min(99, bytesRead.get() * 100 / totalBytes);
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public List<StatementImportLineErrorDTO> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public StatementFormat getFormat() {
+        return format;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getEntriesRead() {
+        return entriesRead.get();
+    }
+
+    public long getImported() {
+        return imported.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,15 @@
+package com.vittor.pennyapi.importer;
+
+public class StatementParseException extends RuntimeException {
+
+    private final long lineNumber;
+
+    public StatementParseException(long lineNumber, String message) {
+        super(message);
+        this.lineNumber = lineNumber;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+}
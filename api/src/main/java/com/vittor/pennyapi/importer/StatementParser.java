@@ -0,0 +1,17 @@
+package com.vittor.pennyapi.importer;
+
+import java.io.IOException;
+
+/**
+ * Pull parser over a statement file. Implementations read the input incrementally and never
+ * hold more than the current entry in memory.
+ */
+public interface StatementParser {
+
+    /**
+     * @return the next entry, or {@code null} at the end of the input
+     * @throws StatementParseException if the current entry is malformed; parsing can continue
+     *                                 with the following entry
+     */
+    StatementEntry next() throws IOException;
+}
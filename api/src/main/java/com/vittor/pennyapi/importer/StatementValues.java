@@ -0,0 +1,72 @@
+package com.vittor.pennyapi.importer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Lenient parsing of the date and amount formats banks commonly export.
+ */
+final class StatementValues {
+
+    private static final DateTimeFormatter BRAZILIAN_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter COMPACT_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private StatementValues() {
+    }
+
+    /**
+     * Accepts {@code yyyy-MM-dd}, {@code dd/MM/yyyy} and OFX {@code yyyyMMdd[HHmmss...]}.
+     */
+    static LocalDate parseDate(String value, long lineNumber) {
+        String trimmed = value.trim();
+        try {
+            if (trimmed.length() >= 8 && trimmed.chars().limit(8).allMatch(Character::isDigit)) {
+                return LocalDate.parse(trimmed.substring(0, 8), COMPACT_DATE);
+            }
+            if (trimmed.indexOf('/') > 0) {
+                return LocalDate.parse(trimmed, BRAZILIAN_DATE);
+            }
+            return LocalDate.parse(trimmed);
+        } catch (DateTimeParseException | IndexOutOfBoundsException exception) {
+            throw new StatementParseException(lineNumber, "Invalid date '" + trimmed + "'");
+        }
+    }
+
+    /**
+     * Accepts {@code 1234.56}, {@code -1,234.56}, {@code 1.234,56} and {@code R$ -10,00}: the
+     * last separator is the decimal one.
+     */
+    static BigDecimal parseAmount(String value, long lineNumber) {
+        StringBuilder digits = new StringBuilder(value.length());
+        int lastSeparator = -1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '.' || c == ',') {
+                lastSeparator = digits.length();
+                digits.append(c);
+            } else if (Character.isDigit(c) || (c == '-' && digits.isEmpty()) || (c == '+' && digits.isEmpty())) {
+                digits.append(c);
+            }
+        }
+
+        StringBuilder normalized = new StringBuilder(digits.length());
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (c == '.' || c == ',') {
+                if (i == lastSeparator && digits.length() - i - 1 <= 2) {
+                    normalized.append('.');
+                }
+            } else {
+                normalized.append(c);
+            }
+        }
+
+        try {
+            return new BigDecimal(normalized.toString());
+        } catch (NumberFormatException exception) {
+            throw new StatementParseException(lineNumber, "Invalid amount '" + value.trim() + "'");
+        }
+    }
+}
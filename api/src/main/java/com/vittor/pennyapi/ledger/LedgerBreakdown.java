@@ -0,0 +1,12 @@
+package com.vittor.pennyapi.ledger;
+
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Totals of a period, per category and per calendar month. Only categories and months with at
+ * least one transaction in the period are present; months are in ascending order.
+ */
+public record LedgerBreakdown(LedgerTotals total, Map<UUID, LedgerTotals> categories, Map<YearMonth, LedgerTotals> months) {
+}
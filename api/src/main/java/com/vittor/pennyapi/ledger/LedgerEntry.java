@@ -0,0 +1,18 @@
+package com.vittor.pennyapi.ledger;
+
+import com.vittor.pennyapi.entity.Transaction;
+import com.vittor.pennyapi.enums.TransactionType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One transaction as stored by {@link UserLedger}: only the columns the analytics read.
+ */
+public record LedgerEntry(UUID id, LocalDate date, long cents, boolean income, UUID categoryId) {
+
+    public static LedgerEntry of(Transaction transaction) {
+        return new LedgerEntry(transaction.getId(), transaction.getDate(), transaction.getAmount().cents(),
+                transaction.getType() == TransactionType.INCOME, transaction.getCategory().getId());
+    }
+}
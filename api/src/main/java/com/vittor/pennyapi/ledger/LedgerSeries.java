@@ -0,0 +1,11 @@
+package com.vittor.pennyapi.ledger;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Per-bucket totals in cents; {@code incomeCents[i]} and {@code expenseCents[i]} belong to the
+ * bucket starting at {@code bucketStarts.get(i)}.
+ */
+public record LedgerSeries(long openingBalanceCents, List<LocalDate> bucketStarts, long[] incomeCents, long[] expenseCents) {
+}
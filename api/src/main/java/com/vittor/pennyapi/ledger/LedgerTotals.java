@@ -0,0 +1,19 @@
+package com.vittor.pennyapi.ledger;
+
+import com.vittor.pennyapi.money.Money;
+
+/**
+ * Income and expense of a group of ledger rows, in cents.
+ */
+public record LedgerTotals(long incomeCents, long expenseCents, long count) {
+
+    public static final LedgerTotals EMPTY = new LedgerTotals(0, 0, 0);
+
+    public Money income() {
+        return Money.ofCents(incomeCents);
+    }
+
+    public Money expense() {
+        return Money.ofCents(expenseCents);
+    }
+}
@@ -0,0 +1,397 @@
+package com.vittor.pennyapi.ledger;
+
+import com.vittor.pennyapi.enums.SeriesGranularity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * All transactions of one user in parallel primitive arrays sorted by date: epoch day, amount in
+ * cents, running balance, category ordinal and an income bit per row. A period is located with
+ * two binary searches and aggregated in a single pass without allocating per row.
+ * <p>
+ * Instances are immutable; {@link #with} returns a new ledger, so readers never need a lock.
+ */
+public final class UserLedger {
+
+    // id (2 longs), dia, centavos, saldo acumulado, ordinal da categoria e o bit de receita
+    private static final int BYTES_PER_ROW = 16 + 4 + 8 + 8 + 4;
+    // Acima disso, localizar cada id removido com uma varredura custa mais que um HashSet
+    private static final int MAX_SCANNED_IDS = 32;
+    private static final int BYTES_PER_CATEGORY = 48;
+    private static final int FIXED_BYTES = 160;
+
+    private final int size;
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final int[] days;
+    private final long[] cents;
+    // Saldo (receitas - despesas) até a linha inclusive, para o saldo inicial da série sem varrer o histórico
+    private final long[] balances;
+    private final int[] categories;
+    private final long[] incomeBits;
+    private final UUID[] categoryIds;
+
+    private UserLedger(int size, long[] idHigh, long[] idLow, int[] days, long[] cents, int[] categories,
+                       long[] incomeBits, UUID[] categoryIds) {
+        this.size = size;
+        this.idHigh = idHigh;
+        this.idLow = idLow;
+        this.days = days;
+        this.cents = cents;
+        this.categories = categories;
+        this.incomeBits = incomeBits;
+        this.categoryIds = categoryIds;
+        this.balances = new long[size];
+        long balance = 0;
+        for (int i = 0; i < size; i++) {
+            long mask = incomeMask(i);
+            balance += (cents[i] & mask) - (cents[i] & ~mask);
+            balances[i] = balance;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Approximate heap footprint, used to weigh the ledger against the global memory budget.
+     */
+    public long estimatedBytes() {
+        return FIXED_BYTES + (long) size * BYTES_PER_ROW + incomeBits.length * 8L
+                + (long) categoryIds.length * BYTES_PER_CATEGORY;
+    }
+
+    /**
+     * Returns a copy without the rows whose id is in {@code removed} and with {@code upserted}
+     * added, replacing any row with the same id. Applying the same change twice has no further
+     * effect. Costs one pass over the ledger: the new rows are merged in date order.
+     */
+    public UserLedger with(Collection<UUID> removed, Collection<LedgerEntry> upserted) {
+        List<UUID> replaced = new ArrayList<>(removed);
+        upserted.forEach(entry -> replaced.add(entry.id()));
+        BitSet dropped = rowsWithIds(replaced);
+
+        List<LedgerEntry> added = new ArrayList<>(upserted);
+        added.sort(Comparator.comparing(LedgerEntry::date));
+        List<UUID> newCategoryIds = new ArrayList<>(Arrays.asList(categoryIds));
+        Map<UUID, Integer> ordinals = new HashMap<>();
+        for (int category = 0; category < categoryIds.length; category++) {
+            ordinals.put(categoryIds[category], category);
+        }
+
+        int newSize = size - dropped.cardinality() + added.size();
+        long[] newHigh = new long[newSize];
+        long[] newLow = new long[newSize];
+        int[] newDays = new int[newSize];
+        long[] newCents = new long[newSize];
+        int[] newCategories = new int[newSize];
+        long[] newIncomeBits = new long[(newSize + 63) >>> 6];
+
+        int row = 0;
+        int next = 0;
+        for (int target = 0; target < newSize; target++) {
+            while (row < size && dropped.get(row)) {
+                row++;
+            }
+            // Linhas novas entram antes das existentes do mesmo dia
+            if (next < added.size() && (row == size || added.get(next).date().toEpochDay() <= days[row])) {
+                LedgerEntry entry = added.get(next++);
+                newHigh[target] = entry.id().getMostSignificantBits();
+                newLow[target] = entry.id().getLeastSignificantBits();
+                newDays[target] = Math.toIntExact(entry.date().toEpochDay());
+                newCents[target] = entry.cents();
+                newCategories[target] = ordinals.computeIfAbsent(entry.categoryId(), id -> {
+                    newCategoryIds.add(id);
+                    return newCategoryIds.size() - 1;
+                });
+                if (entry.income()) {
+                    newIncomeBits[target >>> 6] |= 1L << target;
+                }
+            } else {
+                newHigh[target] = idHigh[row];
+                newLow[target] = idLow[row];
+                newDays[target] = days[row];
+                newCents[target] = cents[row];
+                newCategories[target] = categories[row];
+                if (isIncome(row)) {
+                    newIncomeBits[target >>> 6] |= 1L << target;
+                }
+                row++;
+            }
+        }
+        return new UserLedger(newSize, newHigh, newLow, newDays, newCents, newCategories, newIncomeBits,
+                newCategoryIds.toArray(UUID[]::new));
+    }
+
+    public LedgerTotals totals(LocalDate start, LocalDate end) {
+        int from = lowerBound(start.toEpochDay());
+        int to = lowerBound(end.toEpochDay() + 1);
+
+        long income = 0;
+        long expense = 0;
+        for (int i = from; i < to; i++) {
+            long mask = incomeMask(i);
+            income += cents[i] & mask;
+            expense += cents[i] & ~mask;
+        }
+        return new LedgerTotals(income, expense, to - from);
+    }
+
+    public LedgerBreakdown breakdown(LocalDate start, LocalDate end) {
+        int from = lowerBound(start.toEpochDay());
+        int to = lowerBound(end.toEpochDay() + 1);
+
+        long[] categoryIncome = new long[categoryIds.length];
+        long[] categoryExpense = new long[categoryIds.length];
+        long[] categoryCount = new long[categoryIds.length];
+        Map<YearMonth, LedgerTotals> months = new TreeMap<>();
+
+        long income = 0;
+        long expense = 0;
+        YearMonth month = null;
+        long nextMonthDay = Long.MIN_VALUE;
+        long monthIncome = 0;
+        long monthExpense = 0;
+        long monthCount = 0;
+        for (int i = from; i < to; i++) {
+            // Linhas ordenadas por dia: o mês só muda ao cruzar o primeiro dia do seguinte
+            if (days[i] >= nextMonthDay) {
+                if (month != null) {
+                    months.put(month, new LedgerTotals(monthIncome, monthExpense, monthCount));
+                }
+                month = YearMonth.from(LocalDate.ofEpochDay(days[i]));
+                nextMonthDay = month.plusMonths(1).atDay(1).toEpochDay();
+                monthIncome = 0;
+                monthExpense = 0;
+                monthCount = 0;
+            }
+            long mask = incomeMask(i);
+            long rowIncome = cents[i] & mask;
+            long rowExpense = cents[i] & ~mask;
+            int category = categories[i];
+            categoryIncome[category] += rowIncome;
+            categoryExpense[category] += rowExpense;
+            categoryCount[category]++;
+            monthIncome += rowIncome;
+            monthExpense += rowExpense;
+            monthCount++;
+            income += rowIncome;
+            expense += rowExpense;
+        }
+        if (month != null) {
+            months.put(month, new LedgerTotals(monthIncome, monthExpense, monthCount));
+        }
+
+        Map<UUID, LedgerTotals> byCategory = new LinkedHashMap<>();
+        for (int category = 0; category < categoryIds.length; category++) {
+            if (categoryCount[category] > 0) {
+                byCategory.put(categoryIds[category],
+                        new LedgerTotals(categoryIncome[category], categoryExpense[category], categoryCount[category]));
+            }
+        }
+        return new LedgerBreakdown(new LedgerTotals(income, expense, to - from), byCategory, months);
+    }
+
+    /**
+     * Buckets start at the calendar day, the ISO week (Monday) or the month containing
+     * {@code start}, and every bucket up to {@code end} is returned, including empty ones.
+     */
+    public LedgerSeries series(LocalDate start, LocalDate end, SeriesGranularity granularity) {
+        List<LocalDate> bucketStarts = new ArrayList<>();
+        for (LocalDate bucket = truncate(start, granularity); !bucket.isAfter(end); bucket = next(bucket, granularity)) {
+            bucketStarts.add(bucket);
+        }
+        long[] income = new long[bucketStarts.size()];
+        long[] expense = new long[bucketStarts.size()];
+
+        int from = lowerBound(start.toEpochDay());
+        int to = lowerBound(end.toEpochDay() + 1);
+
+        long opening = from == 0 ? 0 : balances[from - 1];
+
+        int bucket = 0;
+        long nextBucketDay = bucketStarts.size() > 1 ? bucketStarts.get(1).toEpochDay() : Long.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            while (days[i] >= nextBucketDay) {
+                bucket++;
+                nextBucketDay = bucket + 1 < bucketStarts.size() ? bucketStarts.get(bucket + 1).toEpochDay() : Long.MAX_VALUE;
+            }
+            long mask = incomeMask(i);
+            income[bucket] += cents[i] & mask;
+            expense[bucket] += cents[i] & ~mask;
+        }
+        return new LedgerSeries(opening, bucketStarts, income, expense);
+    }
+
+    private BitSet rowsWithIds(List<UUID> ids) {
+        BitSet rows = new BitSet(size);
+        if (ids.size() <= MAX_SCANNED_IDS) {
+            for (UUID id : ids) {
+                long high = id.getMostSignificantBits();
+                long low = id.getLeastSignificantBits();
+                for (int i = 0; i < size; i++) {
+                    if (idLow[i] == low && idHigh[i] == high) {
+                        rows.set(i);
+                    }
+                }
+            }
+            return rows;
+        }
+        Set<UUID> lookup = new HashSet<>(ids);
+        for (int i = 0; i < size; i++) {
+            if (lookup.contains(new UUID(idHigh[i], idLow[i]))) {
+                rows.set(i);
+            }
+        }
+        return rows;
+    }
+
+    private boolean isIncome(int row) {
+        return incomeMask(row) != 0;
+    }
+
+    // -1 (todos os bits) para receita e 0 para despesa, sem desvio no laço
+    private long incomeMask(int row) {
+        return -((incomeBits[row >>> 6] >>> row) & 1L);
+    }
+
+    // Primeira linha com dia >= day
+    private int lowerBound(long day) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (days[middle] < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static LocalDate truncate(LocalDate date, SeriesGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate next(LocalDate bucket, SeriesGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> bucket.plusDays(1);
+            case WEEK -> bucket.plusWeeks(1);
+            case MONTH -> bucket.plusMonths(1);
+        };
+    }
+
+    /**
+     * Accepts rows in any order; they are sorted by date once, on {@link #build()}.
+     */
+    public static final class Builder {
+
+        private int size;
+        private long[] idHigh = new long[16];
+        private long[] idLow = new long[16];
+        private int[] days = new int[16];
+        private long[] cents = new long[16];
+        private int[] categories = new int[16];
+        private boolean[] income = new boolean[16];
+        private final Map<UUID, Integer> categoryOrdinals = new HashMap<>();
+        private final List<UUID> categoryIds = new ArrayList<>();
+        private boolean sorted = true;
+
+        private Builder() {
+        }
+
+        public Builder add(LedgerEntry entry) {
+            return add(entry.id().getMostSignificantBits(), entry.id().getLeastSignificantBits(),
+                    Math.toIntExact(entry.date().toEpochDay()), entry.cents(), entry.income(), entry.categoryId());
+        }
+
+        private Builder add(long high, long low, int day, long amountCents, boolean isIncome, UUID categoryId) {
+            if (size == days.length) {
+                int capacity = size * 2;
+                idHigh = Arrays.copyOf(idHigh, capacity);
+                idLow = Arrays.copyOf(idLow, capacity);
+                days = Arrays.copyOf(days, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                income = Arrays.copyOf(income, capacity);
+            }
+            if (size > 0 && day < days[size - 1]) {
+                sorted = false;
+            }
+            idHigh[size] = high;
+            idLow[size] = low;
+            days[size] = day;
+            cents[size] = amountCents;
+            categories[size] = categoryOrdinals.computeIfAbsent(categoryId, id -> {
+                categoryIds.add(id);
+                return categoryIds.size() - 1;
+            });
+            income[size] = isIncome;
+            size++;
+            return this;
+        }
+
+        public UserLedger build() {
+            int[] order = sorted ? null : sortedOrder();
+            long[] incomeBits = new long[(size + 63) >>> 6];
+            long[] sortedHigh = new long[size];
+            long[] sortedLow = new long[size];
+            int[] sortedDays = new int[size];
+            long[] sortedCents = new long[size];
+            int[] sortedCategories = new int[size];
+            for (int i = 0; i < size; i++) {
+                int source = order == null ? i : order[i];
+                sortedHigh[i] = idHigh[source];
+                sortedLow[i] = idLow[source];
+                sortedDays[i] = days[source];
+                sortedCents[i] = cents[source];
+                sortedCategories[i] = categories[source];
+                if (income[source]) {
+                    incomeBits[i >>> 6] |= 1L << i;
+                }
+            }
+            return new UserLedger(size, sortedHigh, sortedLow, sortedDays, sortedCents, sortedCategories,
+                    incomeBits, categoryIds.toArray(UUID[]::new));
+        }
+
+        // Ordena (dia, posição) empacotados num long para não criar um objeto por linha
+        private int[] sortedOrder() {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) days[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = (int) keys[i];
+            }
+            return order;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.vittor.pennyapi.money;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amount of money as a whole number of cents, the unit of the {@code numeric(19,2)} amount
+ * columns. Sums, differences and balances stay in a {@code long}, so aggregating does not
+ * allocate a {@link BigDecimal} per step; arithmetic that leaves the {@code long} range throws
+ * {@link ArithmeticException} instead of wrapping around.
+ * <p>
+ * {@code scale} is the number of decimal places the amount is written with, kept as
+ * {@link BigDecimal} would: the scale of the decimal it came from, 2 for cents computed in
+ * memory, and the larger of both sides for sums and differences. JSON and {@link #toString()}
+ * therefore print exactly what the equivalent {@code BigDecimal} would ({@code 0} from an empty
+ * SQL sum, {@code 7.5} echoed from a request, {@code 1234.50} from the column). The scale does
+ * not take part in {@link #equals} or {@link #compareTo}.
+ */
+@JsonSerialize(using = MoneySerializer.class)
+public record Money(long cents, int scale) implements Comparable<Money>, Serializable {
+
+    /** Same as {@link BigDecimal#ZERO}: written as {@code 0}. */
+    public static final Money ZERO = new Money(0, 0);
+
+    private static final Money ZERO_CENTS = new Money(0, 2);
+
+    /** Maximum length of the text: 19 digits, a sign, the point and a leading zero. */
+    static final int MAX_CHARS = 22;
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO_CENTS : new Money(cents, 2);
+    }
+
+    /**
+     * Converts a decimal amount, rounding half up to cents like Postgres does when storing it in
+     * a {@code numeric(19,2)} column. Amounts with at most two decimal places keep their scale.
+     *
+     * @throws ArithmeticException if the amount does not fit in a {@code long} of cents
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        if (amount.scale() > 2) {
+            return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+        return new Money(amount.movePointRight(2).longValueExact(), amount.scale());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(cents, other.cents), Math.max(scale, other.scale));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(cents, other.cents), Math.max(scale, other.scale));
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(cents), scale);
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public BigDecimal toBigDecimal() {
+        BigDecimal amount = BigDecimal.valueOf(cents, 2);
+        return scale == 2 ? amount : amount.setScale(scale, RoundingMode.UNNECESSARY);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && cents == money.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /** Same text as {@code toBigDecimal().toString()}. */
+    @Override
+    public String toString() {
+        if (scale < 0) {
+            return toBigDecimal().toString();
+        }
+        char[] text = new char[MAX_CHARS];
+        int start = write(text);
+        return new String(text, start, text.length - start);
+    }
+
+    /**
+     * Writes the text of {@link #toString()} right-aligned into {@code text}, which must have
+     * {@link #MAX_CHARS} chars, and returns the index of its first char. Only for scales 0 to 2.
+     */
+    int write(char[] text) {
+        // Trabalha com o valor negativo para que Long.MIN_VALUE não estoure ao trocar o sinal
+        long remaining = cents > 0 ? -cents : cents;
+        // Centavos que a escala não mostra são sempre zero: a escala vem de um decimal exato
+        for (int hidden = 2 - scale; hidden > 0; hidden--) {
+            remaining /= 10;
+        }
+
+        int position = text.length;
+        for (int digit = 0; digit < scale + 1 || remaining != 0; digit++) {
+            if (digit == scale && scale > 0) {
+                text[--position] = '.';
+            }
+            text[--position] = (char) ('0' - remaining % 10);
+            remaining /= 10;
+        }
+        if (cents < 0) {
+            text[--position] = '-';
+        }
+        return position;
+    }
+}
@@ -0,0 +1,30 @@
+package com.vittor.pennyapi.money;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes {@link Money} as a JSON number straight from its cents, without building the
+ * {@code BigDecimal} and {@code String} that serializing the decimal amount would. The digits go
+ * through a per-thread buffer, since the generator copies them into its own.
+ */
+class MoneySerializer extends StdSerializer<Money> {
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[Money.MAX_CHARS]);
+
+    MoneySerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator generator, SerializationContext context) {
+        if (value.scale() < 0) {
+            generator.writeNumber(value.toBigDecimal());
+            return;
+        }
+        char[] text = BUFFER.get();
+        int start = value.write(text);
+        generator.writeNumber(text, start, text.length - start);
+    }
+}
@@ -0,0 +1,73 @@
+package com.vittor.pennyapi.money;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Maps {@link Money} to a {@code numeric(19,2)} column. Values are read and bound as
+ * {@link BigDecimal}, so the column and every native query over it stay unchanged.
+ */
+public class MoneyType implements UserType<Money> {
+
+    @Override
+    public int getSqlType() {
+        return Types.NUMERIC;
+    }
+
+    @Override
+    public Class<Money> returnedClass() {
+        return Money.class;
+    }
+
+    @Override
+    public Money nullSafeGet(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(position);
+        return value != null ? Money.of(value) : null;
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, Money value, int index, WrapperOptions options) throws SQLException {
+        if (value == null) {
+            st.setNull(index, Types.NUMERIC);
+        } else {
+            st.setBigDecimal(index, value.toBigDecimal());
+        }
+    }
+
+    @Override
+    public Money deepCopy(Money value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(Money value) {
+        return value;
+    }
+
+    @Override
+    public Money assemble(Serializable cached, Object owner) {
+        return (Money) cached;
+    }
+
+    @Override
+    public int getDefaultSqlPrecision() {
+        return 19;
+    }
+
+    @Override
+    public int getDefaultSqlScale() {
+        return 2;
+    }
+}
@@ -0,0 +1,135 @@
+package com.vittor.pennyapi.repository;
+
+import com.vittor.pennyapi.dto.CategoryResponseDTO;
+import com.vittor.pennyapi.dto.CategorySpendingDTO;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.TransactionAggregateDelta.Change;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Monthly category budgets against the spend counters in {@code transaction_monthly_aggregates}
+ * (the {@code EXPENSE} total of the category and month), which every write already keeps up to
+ * date in its own transaction. Nothing here sums transactions.
+ * <p>
+ * Writes that raise a budgeted category's spend call {@link #recordCrossings} right after
+ * updating the aggregates, in the same transaction. A spend that crosses 80% or 100% of the
+ * budget adds an event to the {@code budget_alert_events} outbox (migration V7), once per
+ * category, month and threshold.
+ */
+@Repository
+public class CategoryBudgetRepository {
+
+    private static final String FIND_WITH_SPENDING =
+            "SELECT c.id, c.name, c.icon, c.color, c.created_at, c.monthly_budget, COALESCE(a.total, 0) AS spent " +
+            "FROM categories c " +
+            "LEFT JOIN transaction_monthly_aggregates a " +
+            "ON a.user_id = c.user_id AND a.month = ? AND a.category_id = c.id AND a.type = 'EXPENSE' " +
+            "WHERE c.user_id = ? " +
+            "ORDER BY c.created_at, c.id";
+
+    // O agregado já inclui o aumento (mesma transação): o gasto anterior é spent - amount. O
+    // upsert do agregado mantém a linha bloqueada até o commit, então escritas concorrentes na
+    // mesma categoria e mês leem o gasto uma depois da outra.
+    private static final String RECORD_CROSSINGS =
+            "WITH increases AS (" +
+            "  SELECT * FROM unnest(?::uuid[], ?::uuid[], ?::date[], ?::numeric[]) AS i(user_id, category_id, month, amount)" +
+            "), spending AS (" +
+            "  SELECT i.user_id, i.category_id, i.month, c.monthly_budget, a.total AS spent, a.total - i.amount AS previous " +
+            "  FROM increases i " +
+            "  JOIN categories c ON c.id = i.category_id AND c.monthly_budget IS NOT NULL " +
+            "  JOIN transaction_monthly_aggregates a " +
+            "  ON a.user_id = i.user_id AND a.month = i.month AND a.category_id = i.category_id AND a.type = 'EXPENSE'" +
+            ") " +
+            "INSERT INTO budget_alert_events (id, user_id, category_id, month, threshold, monthly_budget, spent, created_at) " +
+            "SELECT gen_random_uuid(), s.user_id, s.category_id, s.month, t.threshold, s.monthly_budget, s.spent, localtimestamp " +
+            "FROM spending s CROSS JOIN (VALUES (80), (100)) AS t(threshold) " +
+            "WHERE s.previous * 100 < s.monthly_budget * t.threshold AND s.spent * 100 >= s.monthly_budget * t.threshold " +
+            "ON CONFLICT (category_id, month, threshold) DO NOTHING";
+
+    /**
+     * Expenses added to a category in the month starting on {@code month}.
+     */
+    public record SpendIncrease(UUID userId, UUID categoryId, LocalDate month, Money amount) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CategoryBudgetRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Every category of the user with its spend in {@code month}, from one query.
+     */
+    public List<CategoryResponseDTO> findWithSpending(UUID userId, YearMonth month) {
+        return jdbcTemplate.query(FIND_WITH_SPENDING, (rs, rowNum) -> {
+            BigDecimal budget = rs.getBigDecimal("monthly_budget");
+            Money monthlyBudget = budget != null ? Money.of(budget) : null;
+            return new CategoryResponseDTO(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("name"),
+                    rs.getString("icon"),
+                    rs.getString("color"),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    monthlyBudget,
+                    CategorySpendingDTO.of(month, monthlyBudget, Money.of(rs.getBigDecimal("spent"))));
+        }, Date.valueOf(month.atDay(1)), userId);
+    }
+
+    /**
+     * Records the alerts crossed by the expense increases in {@code delta}, which must already
+     * be applied to the aggregates. Returns the number of events added.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int recordCrossings(UUID userId, TransactionAggregateDelta delta) {
+        List<SpendIncrease> increases = new ArrayList<>();
+        for (Change change : delta.changes()) {
+            if (change.key().type() == TransactionType.EXPENSE && change.total().signum() > 0) {
+                increases.add(new SpendIncrease(userId, change.key().categoryId(), change.key().month(), change.total()));
+            }
+        }
+        return recordCrossings(increases);
+    }
+
+    /**
+     * Same as {@link #recordCrossings(UUID, TransactionAggregateDelta)}, for increases of
+     * several users at once.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int recordCrossings(List<SpendIncrease> increases) {
+        if (increases.isEmpty()) {
+            return 0;
+        }
+        UUID[] userIds = new UUID[increases.size()];
+        UUID[] categoryIds = new UUID[increases.size()];
+        Date[] months = new Date[increases.size()];
+        BigDecimal[] amounts = new BigDecimal[increases.size()];
+        for (int i = 0; i < increases.size(); i++) {
+            SpendIncrease increase = increases.get(i);
+            userIds[i] = increase.userId();
+            categoryIds[i] = increase.categoryId();
+            months[i] = Date.valueOf(increase.month());
+            amounts[i] = increase.amount().toBigDecimal();
+        }
+        return jdbcTemplate.update(RECORD_CROSSINGS, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf("uuid", userIds));
+            statement.setArray(2, connection.createArrayOf("uuid", categoryIds));
+            statement.setArray(3, connection.createArrayOf("date", months));
+            statement.setArray(4, connection.createArrayOf("numeric", amounts));
+        });
+    }
+}
@@ -2,10 +2,14 @@ package com.vittor.pennyapi.repository;
 
 import com.vittor.pennyapi.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -17,5 +21,8 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
     boolean existsByIdAndUserId(UUID id, UUID userId);
 
+    @Query("SELECT c.id FROM Category c WHERE c.user.id = :userId AND c.id IN :ids")
+    Set<UUID> findIdsByUserIdAndIdIn(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
     void deleteByIdAndUserId(UUID id, UUID userId);
 }
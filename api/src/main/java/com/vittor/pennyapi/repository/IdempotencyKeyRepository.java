@@ -0,0 +1,82 @@
+package com.vittor.pennyapi.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency keys of transaction writes in {@code idempotency_keys} (migration V8). A key is
+ * claimed at the start of the write's transaction and completed with the response before it
+ * commits, so other transactions only ever see completed keys.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    // Uma chave já usada e ainda válida não é alterada (nenhuma linha retornada). Se outra
+    // transação acabou de inseri-la, o INSERT espera o commit ou rollback dela no índice único.
+    // Uma chave expirada ainda não removida é reaproveitada.
+    private static final String CLAIM =
+            "INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, created_at, expires_at) " +
+            "VALUES (?, ?, ?, localtimestamp, localtimestamp + make_interval(secs => ?)) " +
+            "ON CONFLICT (user_id, idempotency_key) DO UPDATE SET " +
+            "request_hash = EXCLUDED.request_hash, status_code = NULL, response_body = NULL, " +
+            "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at <= localtimestamp " +
+            "RETURNING 1";
+
+    private static final String COMPLETE =
+            "UPDATE idempotency_keys SET status_code = ?, response_body = ? " +
+            "WHERE user_id = ? AND idempotency_key = ?";
+
+    private static final String FIND =
+            "SELECT request_hash, status_code, response_body FROM idempotency_keys " +
+            "WHERE user_id = ? AND idempotency_key = ? AND expires_at > localtimestamp AND status_code IS NOT NULL";
+
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM idempotency_keys WHERE expires_at <= localtimestamp";
+
+    /**
+     * The response stored for a key, with the SHA-256 of the request that produced it.
+     */
+    public record StoredResponse(byte[] requestHash, int statusCode, String body) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims the key for this transaction. Returns false if the key is already in use, waiting
+     * first for a transaction that is claiming it at the same time.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean claim(UUID userId, String key, byte[] requestHash, Duration ttl) {
+        List<Integer> claimed = jdbcTemplate.queryForList(CLAIM, Integer.class,
+                userId, key, requestHash, ttl.toMillis() / 1000.0);
+        return !claimed.isEmpty();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(UUID userId, String key, int statusCode, String body) {
+        jdbcTemplate.update(COMPLETE, statusCode, body, userId, key);
+    }
+
+    public Optional<StoredResponse> find(UUID userId, String key) {
+        return jdbcTemplate.query(FIND, (rs, rowNum) -> new StoredResponse(
+                rs.getBytes("request_hash"),
+                rs.getInt("status_code"),
+                rs.getString("response_body")), userId, key).stream().findFirst();
+    }
+
+    public int deleteExpired() {
+        return jdbcTemplate.update(DELETE_EXPIRED);
+    }
+}
@@ -0,0 +1,175 @@
+package com.vittor.pennyapi.repository;
+
+import com.vittor.pennyapi.enums.RecurrenceFrequency;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based reads and writes of {@code RecurringTransactionMaterializer}: locks the due rules of
+ * a chunk of users, creates their occurrences in {@code transactions} together with the monthly
+ * aggregates in one statement, and moves the rules to their next occurrence in another. The
+ * rows of a chunk travel as arrays, so each step is one round trip whatever the chunk size. Every
+ * method runs in the caller's transaction.
+ */
+@Repository
+public class RecurringOccurrenceRepository {
+
+    // Bloqueia as regras vencidas dos próximos usuários em ordem de user_id (keyset), para que
+    // uma exclusão ou outra execução não altere a regra entre calcular e avançar as datas
+    private static final String LOCK_DUE =
+            "SELECT r.id, r.user_id, r.frequency, r.interval_count, r.cron_expression, " +
+            "r.start_date, r.end_date, r.next_occurrence " +
+            "FROM recurring_transactions r " +
+            "WHERE r.user_id IN (" +
+            "  SELECT DISTINCT d.user_id FROM recurring_transactions d " +
+            "  WHERE d.user_id > ? AND d.next_occurrence <= ? " +
+            "  ORDER BY d.user_id LIMIT ?" +
+            ") AND r.next_occurrence <= ? " +
+            "ORDER BY r.user_id, r.id " +
+            "FOR UPDATE OF r";
+
+    // Mesmos usuários que LOCK_DUE pegaria, sem bloquear nada: usado para refazer um bloco que falhou
+    private static final String DUE_USERS =
+            "SELECT DISTINCT user_id FROM recurring_transactions " +
+            "WHERE user_id > ? AND next_occurrence <= ? " +
+            "ORDER BY user_id LIMIT ?";
+
+    // ON CONFLICT no índice parcial uq_transactions_recurring_occurrence torna a inserção
+    // idempotente; os agregados somam apenas as linhas de fato inseridas (RETURNING)
+    private static final String INSERT_OCCURRENCES =
+            "WITH occurrences AS (" +
+            "  SELECT r.id AS recurring_transaction_id, o.date, r.description, r.amount, r.type, r.category_id, r.user_id " +
+            "  FROM unnest(?::uuid[], ?::date[]) AS o(recurring_transaction_id, date) " +
+            "  JOIN recurring_transactions r ON r.id = o.recurring_transaction_id" +
+            "), inserted AS (" +
+            "  INSERT INTO transactions (id, description, amount, type, date, category_id, user_id, created_at, recurring_transaction_id) " +
+            "  SELECT gen_random_uuid(), description, amount, type, date, category_id, user_id, localtimestamp, recurring_transaction_id " +
+            "  FROM occurrences " +
+            "  ON CONFLICT (recurring_transaction_id, date) WHERE recurring_transaction_id IS NOT NULL DO NOTHING " +
+            "  RETURNING id, user_id, date, amount, type, category_id" +
+            "), aggregated AS (" +
+            "  INSERT INTO transaction_monthly_aggregates (user_id, month, category_id, type, total, transaction_count) " +
+            "  SELECT user_id, date_trunc('month', date)::date, category_id, type, SUM(amount), COUNT(*) " +
+            "  FROM inserted " +
+            "  GROUP BY 1, 2, 3, 4 " +
+            "  ORDER BY 1, 2, 3, 4 " +
+            "  ON CONFLICT (user_id, month, category_id, type) DO UPDATE SET " +
+            "  total = transaction_monthly_aggregates.total + EXCLUDED.total, " +
+            "  transaction_count = transaction_monthly_aggregates.transaction_count + EXCLUDED.transaction_count" +
+            ") " +
+            "SELECT id, user_id, date, amount, type, category_id FROM inserted";
+
+    // Um único UPDATE por bloco: o lote JDBC ainda faria uma ida ao banco por regra
+    private static final String ADVANCE =
+            "UPDATE recurring_transactions r SET next_occurrence = a.next_occurrence " +
+            "FROM unnest(?::uuid[], ?::date[]) AS a(id, next_occurrence) " +
+            "WHERE r.id = a.id";
+
+    public record DueRule(UUID id, UUID userId, RecurrenceFrequency frequency, int interval, String cronExpression,
+                          LocalDate startDate, LocalDate endDate, LocalDate nextOccurrence) {
+    }
+
+    public record Occurrence(UUID recurringTransactionId, LocalDate date) {
+    }
+
+    public record CreatedTransaction(UUID id, UUID userId, LocalDate date, Money amount, TransactionType type,
+                                     UUID categoryId) {
+    }
+
+    /**
+     * @param nextOccurrence {@code null} once the rule has no occurrence left
+     */
+    public record Advance(UUID recurringTransactionId, LocalDate nextOccurrence) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecurringOccurrenceRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the rules due on or before {@code today} of the first {@code users} users after
+     * {@code afterUserId}, ordered by user.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<DueRule> lockDue(LocalDate today, UUID afterUserId, int users) {
+        return jdbcTemplate.query(LOCK_DUE, (rs, rowNum) -> new DueRule(
+                rs.getObject("id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                RecurrenceFrequency.valueOf(rs.getString("frequency")),
+                rs.getInt("interval_count"),
+                rs.getString("cron_expression"),
+                rs.getDate("start_date").toLocalDate(),
+                rs.getDate("end_date") != null ? rs.getDate("end_date").toLocalDate() : null,
+                rs.getDate("next_occurrence").toLocalDate()
+        ), afterUserId, Date.valueOf(today), users, Date.valueOf(today));
+    }
+
+    /**
+     * Ids of the users whose rules {@link #lockDue} would lock, in the same order, without
+     * locking anything.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<UUID> findDueUserIds(LocalDate today, UUID afterUserId, int users) {
+        return jdbcTemplate.queryForList(DUE_USERS, UUID.class, afterUserId, Date.valueOf(today), users);
+    }
+
+    /**
+     * Creates the transactions of {@code occurrences} that do not exist yet and adds them to the
+     * monthly aggregates. Returns only the transactions created.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<CreatedTransaction> insert(List<Occurrence> occurrences) {
+        if (occurrences.isEmpty()) {
+            return List.of();
+        }
+        UUID[] ids = new UUID[occurrences.size()];
+        Date[] dates = new Date[occurrences.size()];
+        for (int i = 0; i < occurrences.size(); i++) {
+            ids[i] = occurrences.get(i).recurringTransactionId();
+            dates[i] = Date.valueOf(occurrences.get(i).date());
+        }
+        return jdbcTemplate.query(INSERT_OCCURRENCES, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            statement.setArray(2, connection.createArrayOf("date", dates));
+        }, (rs, rowNum) -> new CreatedTransaction(
+                rs.getObject("id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getDate("date").toLocalDate(),
+                Money.of(rs.getBigDecimal("amount")),
+                TransactionType.valueOf(rs.getString("type")),
+                rs.getObject("category_id", UUID.class)
+        ));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void advance(List<Advance> advances) {
+        if (advances.isEmpty()) {
+            return;
+        }
+        UUID[] ids = new UUID[advances.size()];
+        Date[] nextOccurrences = new Date[advances.size()];
+        for (int i = 0; i < advances.size(); i++) {
+            ids[i] = advances.get(i).recurringTransactionId();
+            LocalDate nextOccurrence = advances.get(i).nextOccurrence();
+            nextOccurrences[i] = nextOccurrence != null ? Date.valueOf(nextOccurrence) : null;
+        }
+        jdbcTemplate.update(ADVANCE, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            statement.setArray(2, connection.createArrayOf("date", nextOccurrences));
+        });
+    }
+}
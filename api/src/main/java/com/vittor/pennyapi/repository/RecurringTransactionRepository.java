@@ -0,0 +1,30 @@
+package com.vittor.pennyapi.repository;
+
+import com.vittor.pennyapi.entity.RecurringTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, UUID> {
+
+    @Query("SELECT r FROM RecurringTransaction r JOIN FETCH r.category " +
+           "WHERE r.user.id = :userId " +
+           "ORDER BY r.createdAt, r.id")
+    List<RecurringTransaction> findByUserIdWithCategory(@Param("userId") UUID userId);
+
+    @Query("SELECT r FROM RecurringTransaction r JOIN FETCH r.category " +
+           "WHERE r.id = :id AND r.user.id = :userId")
+    Optional<RecurringTransaction> findByIdAndUserIdWithCategory(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
+    boolean existsByCategoryId(UUID categoryId);
+
+    void deleteByIdAndUserId(UUID id, UUID userId);
+}
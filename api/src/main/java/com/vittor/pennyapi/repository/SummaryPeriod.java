@@ -0,0 +1,24 @@
+package com.vittor.pennyapi.repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Inclusive date range of a summary. The whole calendar months inside it can be read from the
+ * monthly aggregates; only the days before {@link #firstFullMonth()} and after
+ * {@link #lastFullMonth()} need the transactions themselves.
+ */
+public record SummaryPeriod(LocalDate start, LocalDate end) {
+
+    public YearMonth firstFullMonth() {
+        return start.getDayOfMonth() == 1 ? YearMonth.from(start) : YearMonth.from(start).plusMonths(1);
+    }
+
+    public YearMonth lastFullMonth() {
+        return end.equals(YearMonth.from(end).atEndOfMonth()) ? YearMonth.from(end) : YearMonth.from(end).minusMonths(1);
+    }
+
+    public boolean hasFullMonths() {
+        return !firstFullMonth().isAfter(lastFullMonth());
+    }
+}
@@ -0,0 +1,60 @@
+package com.vittor.pennyapi.repository;
+
+import com.vittor.pennyapi.entity.Transaction;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Net change that a set of writes makes to {@code transaction_monthly_aggregates}, merged by
+ * (month, category, type). Keys are kept sorted so that concurrent upserts of the same user lock
+ * aggregate rows in the same order and cannot deadlock.
+ */
+public final class TransactionAggregateDelta {
+
+    record Key(LocalDate month, UUID categoryId, TransactionType type) {
+    }
+
+    record Change(Key key, Money total, long count) {
+    }
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::month)
+            .thenComparing(Key::categoryId)
+            .thenComparing(Key::type);
+
+    private final Map<Key, Change> changes = new TreeMap<>(ORDER);
+
+    public TransactionAggregateDelta add(Transaction transaction) {
+        return apply(transaction, transaction.getAmount(), 1);
+    }
+
+    public TransactionAggregateDelta subtract(Transaction transaction) {
+        return apply(transaction, transaction.getAmount().negate(), -1);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    List<Change> changes() {
+        return List.copyOf(changes.values());
+    }
+
+    private TransactionAggregateDelta apply(Transaction transaction, Money amount, long count) {
+        Key key = new Key(transaction.getDate().withDayOfMonth(1), transaction.getCategory().getId(), transaction.getType());
+
+        Change merged = changes.merge(key, new Change(key, amount, count),
+                (current, next) -> new Change(key, current.total().plus(next.total()), current.count() + next.count()));
+        // Uma atualização que não muda mês, categoria, tipo nem valor não gera escrita
+        if (merged.count() == 0 && merged.total().signum() == 0) {
+            changes.remove(key);
+        }
+        return this;
+    }
+}
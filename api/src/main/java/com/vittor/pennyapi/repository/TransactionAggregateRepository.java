@@ -0,0 +1,277 @@
+package com.vittor.pennyapi.repository;
+
+import com.vittor.pennyapi.dto.CategoryBreakdownDTO;
+import com.vittor.pennyapi.dto.MonthBreakdownDTO;
+import com.vittor.pennyapi.dto.SeriesPointDTO;
+import com.vittor.pennyapi.dto.TransactionBreakdownDTO;
+import com.vittor.pennyapi.dto.TransactionSeriesDTO;
+import com.vittor.pennyapi.dto.TransactionSummaryDTO;
+import com.vittor.pennyapi.enums.SeriesGranularity;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.TransactionAggregateDelta.Change;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Reads and maintains {@code transaction_monthly_aggregates} (migration V5). Writes are atomic
+ * {@code INSERT ... ON CONFLICT DO UPDATE} increments, so concurrent writers for the same
+ * user and month add up instead of overwriting each other, and run in the caller's transaction
+ * so the aggregates commit or roll back together with the transactions they describe.
+ * <p>
+ * Writers also hold a shared, transaction-scoped advisory lock on their user, which the rebuild
+ * of that user's aggregates takes exclusively: writers of the same user never wait on each other,
+ * and only the user being rebuilt waits for the rebuild.
+ */
+@Repository
+public class TransactionAggregateRepository {
+
+    private static final String UPSERT =
+            "INSERT INTO transaction_monthly_aggregates (user_id, month, category_id, type, total, transaction_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, month, category_id, type) DO UPDATE SET " +
+            "total = transaction_monthly_aggregates.total + EXCLUDED.total, " +
+            "transaction_count = transaction_monthly_aggregates.transaction_count + EXCLUDED.transaction_count";
+
+    // Espaço de chaves (int, int) dos locks consultivos por usuário; hashtext pode colidir, o que
+    // só faz um usuário esperar o rebuild de outro
+    private static final int USER_LOCK_CLASS = 0x7065_6e61;
+
+    private static final String BREAKDOWN =
+            "WITH entries AS (" +
+            "  SELECT a.month, a.category_id, a.type, a.total AS amount, a.transaction_count AS count " +
+            "  FROM transaction_monthly_aggregates a " +
+            "  WHERE a.user_id = ? AND a.month >= ? AND a.month <= ? AND a.transaction_count > 0 " +
+            "  UNION ALL " +
+            "  SELECT date_trunc('month', t.date)::date, t.category_id, t.type, t.amount, 1 " +
+            "  FROM transactions t " +
+            "  WHERE t.user_id = ? AND t.date >= ? AND t.date <= ? AND (t.date < ? OR t.date > ?)" +
+            ") " +
+            "SELECT GROUPING(e.category_id) = 0 AS by_category, GROUPING(e.month) = 0 AS by_month, " +
+            "e.category_id, c.name, c.color, e.month, " +
+            "COALESCE(SUM(e.amount) FILTER (WHERE e.type = 'INCOME'), 0) AS income, " +
+            "COALESCE(SUM(e.amount) FILTER (WHERE e.type = 'EXPENSE'), 0) AS expense, " +
+            "COALESCE(SUM(e.count), 0) AS transaction_count " +
+            "FROM entries e JOIN categories c ON c.id = e.category_id AND c.user_id = ? " +
+            "GROUP BY GROUPING SETS ((e.category_id, c.name, c.color), (e.month), ()) " +
+            "ORDER BY e.month, c.name, e.category_id";
+
+    private static final String SUM_PERIODS =
+            "WITH periods (idx, start_date, end_date, full_from, full_to) AS (VALUES %s) " +
+            "SELECT p.idx, " +
+            "COALESCE(SUM(e.amount) FILTER (WHERE e.type = 'INCOME'), 0) AS income, " +
+            "COALESCE(SUM(e.amount) FILTER (WHERE e.type = 'EXPENSE'), 0) AS expense " +
+            "FROM periods p " +
+            "LEFT JOIN LATERAL (" +
+            "  SELECT a.type, a.total AS amount FROM transaction_monthly_aggregates a " +
+            "  WHERE a.user_id = ? AND a.month >= p.full_from AND a.month < p.full_to " +
+            "  UNION ALL " +
+            "  SELECT t.type, t.amount FROM transactions t " +
+            "  WHERE t.user_id = ? AND t.date >= p.start_date AND t.date < p.full_from " +
+            "  UNION ALL " +
+            "  SELECT t.type, t.amount FROM transactions t " +
+            "  WHERE t.user_id = ? AND t.date >= p.full_to AND t.date <= p.end_date" +
+            ") e ON true " +
+            "GROUP BY p.idx " +
+            "ORDER BY p.idx";
+
+    private static final String SERIES =
+            "WITH opening AS (" +
+            "  SELECT COALESCE(SUM(CASE WHEN earlier.type = 'INCOME' THEN earlier.amount ELSE -earlier.amount END), 0) AS balance " +
+            "  FROM (" +
+            "    SELECT a.type, a.total AS amount FROM transaction_monthly_aggregates a WHERE a.user_id = ? AND a.month < ? " +
+            "    UNION ALL " +
+            "    SELECT t.type, t.amount FROM transactions t WHERE t.user_id = ? AND t.date >= ? AND t.date < ?" +
+            "  ) earlier" +
+            "), totals AS (" +
+            "  SELECT date_trunc(?, t.date::timestamp)::date AS bucket, " +
+            "  COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'INCOME'), 0) AS income, " +
+            "  COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'EXPENSE'), 0) AS expense " +
+            "  FROM transactions t WHERE t.user_id = ? AND t.date >= ? AND t.date <= ? " +
+            "  GROUP BY 1" +
+            ") " +
+            "SELECT b.bucket::date AS bucket, " +
+            "COALESCE(s.income, 0) AS income, COALESCE(s.expense, 0) AS expense, " +
+            "o.balance + SUM(COALESCE(s.income, 0) - COALESCE(s.expense, 0)) OVER (ORDER BY b.bucket) AS balance " +
+            "FROM generate_series(date_trunc(?, ?::timestamp), ?::timestamp, ?::interval) b(bucket) " +
+            "CROSS JOIN opening o " +
+            "LEFT JOIN totals s ON s.bucket = b.bucket::date " +
+            "ORDER BY b.bucket";
+
+    private record BreakdownRow(boolean byCategory, boolean byMonth, UUID categoryId, String categoryName,
+                                String color, LocalDate month, Money income, Money expense, long count) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionAggregateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(UUID userId, TransactionAggregateDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock_shared(?, hashtext(?::text))",
+                USER_LOCK_CLASS, userId.toString());
+        List<Change> changes = delta.changes();
+        jdbcTemplate.batchUpdate(UPSERT, changes, changes.size(), (statement, change) -> {
+            statement.setObject(1, userId);
+            statement.setDate(2, Date.valueOf(change.key().month()));
+            statement.setObject(3, change.key().categoryId());
+            statement.setString(4, change.key().type().name());
+            statement.setBigDecimal(5, change.total().toBigDecimal());
+            statement.setLong(6, change.count());
+        });
+    }
+
+    /**
+     * Totals of the whole months from {@code first} to {@code last}, both inclusive.
+     */
+    public TransactionTotals sumMonths(UUID userId, YearMonth first, YearMonth last) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(CASE WHEN type = 'INCOME' THEN total ELSE 0 END), 0) AS income, " +
+                "COALESCE(SUM(CASE WHEN type = 'EXPENSE' THEN total ELSE 0 END), 0) AS expense " +
+                "FROM transaction_monthly_aggregates " +
+                "WHERE user_id = ? AND month >= ? AND month <= ?",
+                (rs, rowNum) -> new TransactionTotals(money(rs, "income"), money(rs, "expense")),
+                userId, Date.valueOf(first.atDay(1)), Date.valueOf(last.atDay(1)));
+    }
+
+    /**
+     * Totals of several periods in one statement, in the order given. Each period reads its whole
+     * months from the aggregates and its leading and trailing partial months from
+     * {@code transactions}, so overlapping periods (this month, year to date) never scan the
+     * union of their ranges.
+     */
+    public List<TransactionTotals> sumPeriods(UUID userId, List<SummaryPeriod> periods) {
+        List<Object> args = new ArrayList<>();
+        for (int i = 0; i < periods.size(); i++) {
+            SummaryPeriod period = periods.get(i);
+            // Sem mês inteiro, o trecho inicial cobre o período todo e o final fica vazio
+            LocalDate fullFrom = period.hasFullMonths() ? period.firstFullMonth().atDay(1) : period.end().plusDays(1);
+            LocalDate fullTo = period.hasFullMonths() ? period.lastFullMonth().plusMonths(1).atDay(1) : fullFrom;
+            args.addAll(List.of(i, Date.valueOf(period.start()), Date.valueOf(period.end()), Date.valueOf(fullFrom), Date.valueOf(fullTo)));
+        }
+        args.addAll(List.of(userId, userId, userId));
+
+        String values = String.join(", ", Collections.nCopies(periods.size(), "(?::int, ?::date, ?::date, ?::date, ?::date)"));
+        return jdbcTemplate.query(SUM_PERIODS.formatted(values),
+                (rs, rowNum) -> new TransactionTotals(money(rs, "income"), money(rs, "expense")),
+                args.toArray());
+    }
+
+    /**
+     * Income, expense and count per category, per month and for the whole period, in one pass
+     * with {@code GROUPING SETS}. The period's whole months come from the aggregates and the
+     * remaining days from {@code transactions}.
+     */
+    public TransactionBreakdownDTO breakdown(UUID userId, SummaryPeriod period) {
+        LocalDate start = period.start();
+        LocalDate end = period.end();
+        YearMonth firstFullMonth = period.firstFullMonth();
+        YearMonth lastFullMonth = period.lastFullMonth();
+        List<BreakdownRow> rows = jdbcTemplate.query(BREAKDOWN, (rs, rowNum) -> new BreakdownRow(
+                        rs.getBoolean("by_category"), rs.getBoolean("by_month"),
+                        rs.getObject("category_id", UUID.class), rs.getString("name"), rs.getString("color"),
+                        rs.getObject("month", LocalDate.class),
+                        money(rs, "income"), money(rs, "expense"), rs.getLong("transaction_count")),
+                userId, Date.valueOf(firstFullMonth.atDay(1)), Date.valueOf(lastFullMonth.atDay(1)),
+                userId, Date.valueOf(start), Date.valueOf(end),
+                Date.valueOf(firstFullMonth.atDay(1)), Date.valueOf(lastFullMonth.atEndOfMonth()),
+                userId);
+
+        List<CategoryBreakdownDTO> categories = new ArrayList<>();
+        List<MonthBreakdownDTO> months = new ArrayList<>();
+        // O grouping set vazio sempre devolve uma linha, mesmo sem lançamentos no período
+        TransactionSummaryDTO summary = null;
+        for (BreakdownRow row : rows) {
+            if (row.byCategory()) {
+                categories.add(new CategoryBreakdownDTO(row.categoryId(), row.categoryName(), row.color(),
+                        row.income(), row.expense(), row.count()));
+            } else if (row.byMonth()) {
+                months.add(new MonthBreakdownDTO(YearMonth.from(row.month()), row.income(), row.expense(), row.count()));
+            } else {
+                summary = new TransactionSummaryDTO(row.income(), row.expense(), start, end);
+            }
+        }
+        return new TransactionBreakdownDTO(summary, categories, months);
+    }
+
+    /**
+     * Income, expense and running balance for every {@code granularity} bucket from {@code start}
+     * to {@code end}, empty buckets included, in one statement: buckets come from
+     * {@code generate_series} and the balance from a window sum seeded with everything before
+     * {@code start} (whole months from the aggregates). The first week or month bucket starts on
+     * its calendar boundary but only counts days from {@code start} on.
+     */
+    public TransactionSeriesDTO series(UUID userId, LocalDate start, LocalDate end, SeriesGranularity granularity) {
+        String unit = granularity.name().toLowerCase(Locale.ROOT);
+        Date monthStart = Date.valueOf(start.withDayOfMonth(1));
+        List<SeriesPointDTO> points = jdbcTemplate.query(SERIES, (rs, rowNum) -> new SeriesPointDTO(
+                        rs.getObject("bucket", LocalDate.class),
+                        money(rs, "income"), money(rs, "expense"), money(rs, "balance")),
+                userId, monthStart,
+                userId, monthStart, Date.valueOf(start),
+                unit, userId, Date.valueOf(start), Date.valueOf(end),
+                unit, Date.valueOf(start), Date.valueOf(end), "1 " + unit);
+
+        // Sempre há ao menos um bucket (start <= end); o saldo inicial é o anterior ao primeiro
+        SeriesPointDTO first = points.getFirst();
+        Money openingBalance = first.balance().minus(first.totalIncome()).plus(first.totalExpense());
+        return new TransactionSeriesDTO(granularity, start, end, openingBalance, points);
+    }
+
+    /**
+     * Recomputes the aggregates of {@code userId} from {@code transactions}, in the caller's
+     * transaction. Waits for the user's uncommitted writes and blocks new ones until that
+     * transaction commits: a write that has not reached {@link #apply} when the rebuild reads
+     * {@code transactions} then applies its increment on top of the rebuilt rows.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int rebuildUser(UUID userId) {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, hashtext(?::text))",
+                USER_LOCK_CLASS, userId.toString());
+        jdbcTemplate.update("DELETE FROM transaction_monthly_aggregates WHERE user_id = ?", userId);
+        return jdbcTemplate.update(
+                "INSERT INTO transaction_monthly_aggregates (user_id, month, category_id, type, total, transaction_count) " +
+                "SELECT user_id, date_trunc('month', date)::date, category_id, type, SUM(amount), COUNT(*) " +
+                "FROM transactions WHERE user_id = ? GROUP BY 1, 2, 3, 4", userId);
+    }
+
+    /**
+     * Up to {@code limit} user ids greater than {@code after} ({@code null} for the first page),
+     * in order, for walking all users in short transactions.
+     */
+    public List<UUID> findUserIdsAfter(UUID after, int limit) {
+        return after == null
+                ? jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id LIMIT ?", UUID.class, limit)
+                : jdbcTemplate.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?", UUID.class, after, limit);
+    }
+
+    /**
+     * Removes aggregates of users that no longer exist; they have no writers left to block.
+     */
+    public int deleteOrphans() {
+        return jdbcTemplate.update(
+                "DELETE FROM transaction_monthly_aggregates a WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = a.user_id)");
+    }
+
+    private static Money money(ResultSet rs, String column) throws SQLException {
+        return Money.of(rs.getBigDecimal(column));
+    }
+}
@@ -0,0 +1,36 @@
+package com.vittor.pennyapi.repository;
+
+import com.vittor.pennyapi.ledger.LedgerEntry;
+import com.vittor.pennyapi.ledger.UserLedger;
+import com.vittor.pennyapi.money.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Reads every transaction of a user into a {@link UserLedger}, streaming the rows straight into
+ * its arrays.
+ */
+@Repository
+public class TransactionLedgerRepository {
+
+    private static final String LOAD =
+            "SELECT id, date, amount, type, category_id FROM transactions WHERE user_id = ? ORDER BY date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionLedgerRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public UserLedger load(UUID userId) {
+        UserLedger.Builder builder = UserLedger.builder();
+        jdbcTemplate.query(LOAD, rs -> {
+            builder.add(new LedgerEntry(rs.getObject("id", UUID.class), rs.getDate("date").toLocalDate(),
+                    Money.of(rs.getBigDecimal("amount")).cents(), "INCOME".equals(rs.getString("type")),
+                    rs.getObject("category_id", UUID.class)));
+        }, userId);
+        return builder.build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.vittor.pennyapi.repository;
+
+import com.vittor.pennyapi.dto.TransactionResponseDTO;
+import com.vittor.pennyapi.entity.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Streams every transaction of the user, with its category, ordered by date. Rows are read
+     * from a server-side cursor by a stateless session, so nothing accumulates in a persistence
+     * context. The stream holds a connection and must be closed.
+     */
+    Stream<Transaction> streamAllByUserId(UUID userId);
+
+    /**
+     * Pages the transactions matching the specification (see {@link TransactionSpecifications}) as
+     * response DTOs built by a single joined query. The count query only runs when the page alone
+     * cannot tell the total.
+     */
+    Page<TransactionResponseDTO> findResponses(Specification<Transaction> specification, Pageable pageable);
+}
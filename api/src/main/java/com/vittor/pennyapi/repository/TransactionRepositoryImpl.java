@@ -0,0 +1,105 @@
+package com.vittor.pennyapi.repository;
+
+import com.vittor.pennyapi.dto.TransactionResponseDTO;
+import com.vittor.pennyapi.entity.Category;
+import com.vittor.pennyapi.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${api.export.fetch-size}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Transaction> streamAllByUserId(UUID userId) {
+        StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession();
+        try {
+            // Read-only e sem autocommit: o driver do Postgres só respeita o fetch size dentro de uma transação
+            session.doWork(connection -> connection.setReadOnly(true));
+            org.hibernate.Transaction transaction = session.beginTransaction();
+
+            // c.user.id é redundante (categorias são sempre do dono da transação), mas deixa o
+            // planner buscar as categorias por idx_categories_user_id em vez de ler a tabela toda
+            Stream<Transaction> stream = session.createSelectionQuery(
+                            "SELECT t FROM Transaction t JOIN FETCH t.category c " +
+                            "WHERE t.user.id = :userId AND c.user.id = :userId ORDER BY t.date, t.id", Transaction.class)
+                    .setParameter("userId", userId)
+                    .setFetchSize(fetchSize)
+                    .setReadOnly(true)
+                    .getResultStream();
+
+            return stream.onClose(() -> {
+                try {
+                    if (transaction.isActive()) {
+                        transaction.commit();
+                    }
+                } finally {
+                    session.close();
+                }
+            });
+        } catch (RuntimeException exception) {
+            session.close();
+            throw exception;
+        }
+    }
+
+    @Override
+    public Page<TransactionResponseDTO> findResponses(Specification<Transaction> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        // Mesma projeção de RESPONSE_PROJECTION: um único SELECT com JOIN, sem carregar entidades
+        CriteriaQuery<TransactionResponseDTO> query = cb.createQuery(TransactionResponseDTO.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Join<Transaction, Category> category = root.join("category");
+        query.select(cb.construct(TransactionResponseDTO.class,
+                root.get("id"), root.get("description"), root.get("amount"), root.get("type"), root.get("date"),
+                category.get("id"), category.get("name"), category.get("icon"), category.get("color"),
+                category.get("createdAt"), category.get("monthlyBudget"), root.get("user").get("id"), root.get("createdAt")));
+        query.where(specification.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<TransactionResponseDTO> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<TransactionResponseDTO> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<Transaction> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        query.select(cb.count(root));
+        query.where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,12 @@
+package com.vittor.pennyapi.repository;
+
+import com.vittor.pennyapi.money.Money;
+
+public record TransactionTotals(Money income, Money expense) {
+
+    public static final TransactionTotals ZERO = new TransactionTotals(Money.ZERO, Money.ZERO);
+
+    public TransactionTotals plus(TransactionTotals other) {
+        return new TransactionTotals(income.plus(other.income), expense.plus(other.expense));
+    }
+}
@@ -0,0 +1,114 @@
+package com.vittor.pennyapi.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose work factor is calibrated at startup: the highest strength whose median
+ * hash time on this machine fits the latency budget, clamped to a configured range. The strength
+ * can also be pinned, so every node of a deployment hashes with the same cost. Hashes stored with
+ * any other strength are reported by {@link #upgradeEncoding(String)}, so Spring Security
+ * rehashes them on the next successful login: upwards when the hardware gets faster, downwards
+ * when it gets slower or the pinned strength is lowered, so logins stop paying the old cost.
+ */
+public class AdaptiveBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    public AdaptiveBCryptPasswordEncoder(long targetMillis, int minStrength, int maxStrength) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("BCrypt strength range must be within 4..31");
+        }
+        this.strength = calibrate(targetMillis, minStrength, maxStrength);
+        this.delegate = new BCryptPasswordEncoder(strength);
+        log.info("BCrypt strength calibrated to {} for a {} ms budget", strength, targetMillis);
+    }
+
+    /**
+     * Uses {@code strength} as is, without calibrating.
+     */
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        if (strength < 4 || strength > 31) {
+            throw new IllegalArgumentException("BCrypt strength must be within 4..31");
+        }
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        log.info("BCrypt strength pinned to {}", strength);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int storedStrength = strengthOf(encodedPassword);
+        return storedStrength != -1 && storedStrength != strength;
+    }
+
+    static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * Each strength step doubles the cost, so strengths are measured in increasing order and the
+     * search stops at the first one over budget. Each strength is judged by the median of a few
+     * samples, so a single GC pause or noisy neighbour does not lower the result; the total
+     * calibration time stays around {@value #CALIBRATION_SAMPLES} times twice the budget.
+     */
+    private static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        if (minStrength == maxStrength) {
+            return minStrength;
+        }
+
+        // Warm up so the first measurement does not include class loading and JIT
+        new BCryptPasswordEncoder(minStrength).encode(CALIBRATION_PASSWORD);
+
+        int chosen = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            if (medianMillis(new BCryptPasswordEncoder(candidate)) > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+        }
+        return chosen;
+    }
+
+    private static long medianMillis(BCryptPasswordEncoder encoder) {
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
@@ -0,0 +1,39 @@
+package com.vittor.pennyapi.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal of a request authenticated by bearer token, built straight from the verified
+ * claims so that no user lookup is needed per request.
+ */
+public record AuthenticatedUser(
+        UUID id,
+        String email,
+        List<GrantedAuthority> authorities,
+        String tokenId,
+        Instant tokenExpiresAt
+) implements Principal {
+
+    public AuthenticatedUser(VerifiedToken token) {
+        this(
+                token.userId(),
+                token.subject(),
+                token.roles().stream()
+                        .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                        .toList(),
+                token.tokenId(),
+                token.expiresAt()
+        );
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
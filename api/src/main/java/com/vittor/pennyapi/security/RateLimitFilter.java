@@ -0,0 +1,113 @@
+package com.vittor.pennyapi.security;
+
+import com.vittor.pennyapi.dto.ErrorResponseDTO;
+import com.vittor.pennyapi.security.TokenBucketRateLimiter.EndpointClass;
+import com.vittor.pennyapi.security.TokenBucketRateLimiter.Limit;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles authenticated requests per user and endpoint class. Runs right after
+ * {@link SecurityFilter}, so the user is already known; anonymous requests pass through.
+ * Rejected requests get 429 with {@code Retry-After}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final JsonMapper jsonMapper;
+
+    public RateLimitFilter(
+            JsonMapper jsonMapper,
+            @Value("${api.rate-limit.enabled}") boolean enabled,
+            @Value("${api.rate-limit.max-tracked-buckets}") long maxBuckets,
+            @Value("${api.rate-limit.idle-eviction}") long idleEvictionMillis,
+            @Value("${api.rate-limit.read.capacity}") long readCapacity,
+            @Value("${api.rate-limit.read.refill-per-second}") double readRefill,
+            @Value("${api.rate-limit.write.capacity}") long writeCapacity,
+            @Value("${api.rate-limit.write.refill-per-second}") double writeRefill,
+            @Value("${api.rate-limit.analytics.capacity}") long analyticsCapacity,
+            @Value("${api.rate-limit.analytics.refill-per-second}") double analyticsRefill) {
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.rateLimiter = new TokenBucketRateLimiter(
+                Map.of(
+                        EndpointClass.READ, new Limit(readCapacity, readRefill),
+                        EndpointClass.WRITE, new Limit(writeCapacity, writeRefill),
+                        EndpointClass.ANALYTICS, new Limit(analyticsCapacity, analyticsRefill)
+                ),
+                maxBuckets,
+                Duration.ofMillis(idleEvictionMillis),
+                System::nanoTime
+        );
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            long waitNanos = rateLimiter.tryAcquire(user.id(), classify(request));
+            if (waitNanos > 0) {
+                reject(request, response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/transactions/summary") || path.startsWith("/api/transactions/series")
+                || path.startsWith("/api/transactions/export")) {
+            return EndpointClass.ANALYTICS;
+        }
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            return EndpointClass.READ;
+        }
+        return EndpointClass.WRITE;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+
+        ErrorResponseDTO error = new ErrorResponseDTO(
+                LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME),
+                status.value(),
+                status.getReasonPhrase(),
+                "Too many requests. Please retry after " + retryAfterSeconds + " second(s).",
+                request.getRequestURI()
+        );
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), error);
+    }
+}
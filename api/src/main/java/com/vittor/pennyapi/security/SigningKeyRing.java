@@ -0,0 +1,82 @@
+package com.vittor.pennyapi.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of HMAC keys identified by {@code kid}. The current key signs new tokens; every
+ * key in the ring (current plus verification-only ones) has a prebuilt, thread-safe
+ * {@link JWTVerifier}, so verification is a single map lookup by the token's {@code kid}.
+ *
+ * <p>Rotation across nodes happens in three deploys: add the new key as verification-only,
+ * promote it to current while keeping the old one for verification, and drop the old key once
+ * its last tokens have expired.
+ */
+public final class SigningKeyRing {
+
+    private final String signingKeyId;
+    private final Algorithm signingAlgorithm;
+    private final Map<String, JWTVerifier> verifiers;
+
+    private SigningKeyRing(String signingKeyId, Algorithm signingAlgorithm, Map<String, JWTVerifier> verifiers) {
+        this.signingKeyId = signingKeyId;
+        this.signingAlgorithm = signingAlgorithm;
+        this.verifiers = Map.copyOf(verifiers);
+    }
+
+    /**
+     * @param keyId            kid of the current signing key
+     * @param secret           secret of the current signing key
+     * @param verificationKeys comma-separated {@code kid:secret} pairs accepted for verification only
+     * @param issuer           issuer every verifier requires
+     */
+    public static SigningKeyRing of(String keyId, String secret, String verificationKeys, String issuer) {
+        if (keyId == null || keyId.isBlank()) {
+            throw new IllegalArgumentException("Signing key id must not be empty");
+        }
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("Signing secret must not be empty");
+        }
+
+        Algorithm signingAlgorithm = Algorithm.HMAC256(secret);
+        Map<String, JWTVerifier> verifiers = new HashMap<>();
+        verifiers.put(keyId, JWT.require(signingAlgorithm).withIssuer(issuer).build());
+
+        if (verificationKeys != null && !verificationKeys.isBlank()) {
+            for (String entry : verificationKeys.split(",")) {
+                int separator = entry.indexOf(':');
+                String kid = separator > 0 ? entry.substring(0, separator).trim() : "";
+                String kidSecret = separator > 0 ? entry.substring(separator + 1).trim() : "";
+                if (kid.isEmpty() || kidSecret.isEmpty()) {
+                    throw new IllegalArgumentException("Verification key must be in the form kid:secret");
+                }
+                if (verifiers.containsKey(kid)) {
+                    throw new IllegalArgumentException("Duplicate signing key id: " + kid);
+                }
+                verifiers.put(kid, JWT.require(Algorithm.HMAC256(kidSecret)).withIssuer(issuer).build());
+            }
+        }
+
+        return new SigningKeyRing(keyId, signingAlgorithm, verifiers);
+    }
+
+    public String signingKeyId() {
+        return signingKeyId;
+    }
+
+    public Algorithm signingAlgorithm() {
+        return signingAlgorithm;
+    }
+
+    /**
+     * Returns the verifier for the given kid, or {@code null} if the key is not in the ring.
+     * Tokens without a kid predate the key ring and were signed with the current key.
+     */
+    public JWTVerifier verifierFor(String keyId) {
+        return verifiers.get(keyId != null ? keyId : signingKeyId);
+    }
+}
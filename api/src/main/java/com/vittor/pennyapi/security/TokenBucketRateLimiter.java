@@ -0,0 +1,91 @@
+package com.vittor.pennyapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per user and endpoint class, implemented as GCRA: each bucket is a single
+ * {@link AtomicLong} holding its "theoretical arrival time", updated with a CAS loop, so
+ * checks are lock-free and exact under contention. Buckets live in a bounded Caffeine map
+ * (internally striped) and are dropped after {@code idleEviction} without requests; an idle
+ * bucket is full anyway, so eviction never changes a decision.
+ */
+public class TokenBucketRateLimiter {
+
+    public enum EndpointClass {
+        READ,
+        WRITE,
+        ANALYTICS
+    }
+
+    public record Limit(long capacity, double refillPerSecond) {
+
+        public Limit {
+            if (capacity < 1 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+            }
+        }
+    }
+
+    private record BucketKey(UUID userId, EndpointClass endpointClass) {
+    }
+
+    private final Map<EndpointClass, Long> emissionIntervals = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Long> burstWindows = new EnumMap<>(EndpointClass.class);
+    private final Cache<BucketKey, AtomicLong> buckets;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(Map<EndpointClass, Limit> limits, long maxBuckets, Duration idleEviction,
+                                  LongSupplier nanoClock) {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            Limit limit = limits.get(endpointClass);
+            if (limit == null) {
+                throw new IllegalArgumentException("Missing rate limit for " + endpointClass);
+            }
+            long emissionInterval = Math.max(1, (long) (1_000_000_000L / limit.refillPerSecond()));
+            emissionIntervals.put(endpointClass, emissionInterval);
+            burstWindows.put(endpointClass, emissionInterval * limit.capacity());
+        }
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleEviction)
+                .build();
+    }
+
+    /**
+     * Takes one token from the caller's bucket.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(UUID userId, EndpointClass endpointClass) {
+        long now = nanoClock.getAsLong();
+        long emissionInterval = emissionIntervals.get(endpointClass);
+        long burstWindow = burstWindows.get(endpointClass);
+        AtomicLong theoreticalArrival = buckets.get(new BucketKey(userId, endpointClass), key -> new AtomicLong(now));
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionInterval;
+            long wait = next - now - burstWindow;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    long trackedBuckets() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,146 @@
+package com.vittor.pennyapi.security;
+
+import com.vittor.pennyapi.entity.TokenRevocation;
+import com.vittor.pennyapi.repository.TokenRevocationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of revoked tokens, checked on every authenticated request without a database
+ * round trip. Individual tokens are keyed by their {@code jti} behind a Bloom filter prefilter;
+ * "logout everywhere" is kept as a per-user cutoff on the issue time, in milliseconds so a login
+ * right after it is not caught. Every node writes its revocations to {@code token_revocations}
+ * and periodically pulls the ones made by other nodes.
+ * Entries disappear once the tokens they cover have expired.
+ */
+@Component
+public class TokenDenylist {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylist.class);
+
+    // Rows committed late or written by a node with a skewed clock are picked up on the next pass
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final int expectedRevocations;
+    private final Duration tokenLifetime;
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<UUID, SessionCutoff> revokedSessions = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private volatile BloomFilter prefilter;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public TokenDenylist(TokenRevocationRepository tokenRevocationRepository,
+                         @Value("${api.security.revocation.expected-revocations}") int expectedRevocations,
+                         @Value("${api.security.token.expiration}") long tokenLifetimeMillis) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.tokenLifetime = Duration.ofMillis(tokenLifetimeMillis);
+        this.prefilter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    @PostConstruct
+    public void load() {
+        Instant startedAt = Instant.now();
+        tokenRevocationRepository.findByExpiresAtAfter(startedAt).forEach(this::apply);
+        lastSync = startedAt;
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        String tokenId = token.tokenId();
+        if (tokenId != null && prefilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+
+        SessionCutoff cutoff = revokedSessions.get(token.userId());
+        return cutoff != null && (token.issuedAt() == null || !token.issuedAt().isAfter(cutoff.revokedBefore()));
+    }
+
+    @Transactional
+    public void revoke(String tokenId, UUID userId, Instant expiresAt) {
+        TokenRevocation revocation = new TokenRevocation(null, tokenId, userId, Instant.now(), expiresAt);
+        apply(tokenRevocationRepository.save(revocation));
+    }
+
+    @Transactional
+    public void revokeAllSessions(UUID userId) {
+        // Tokens carry their issue time in milliseconds; older ones only have iat in seconds, which
+        // truncates downwards, so a cutoff within the second still covers them
+        Instant revokedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        TokenRevocation revocation = new TokenRevocation(null, null, userId, revokedAt, revokedAt.plus(tokenLifetime));
+        apply(tokenRevocationRepository.save(revocation));
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.revocation.sync-interval}",
+            initialDelayString = "${api.security.revocation.sync-interval}")
+    public void synchronize() {
+        Instant startedAt = Instant.now();
+        tokenRevocationRepository.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minus(SYNC_OVERLAP), startedAt)
+                .forEach(this::apply);
+        lastSync = startedAt;
+        evictExpired(startedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.revocation.purge-interval}",
+            initialDelayString = "${api.security.revocation.purge-interval}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = tokenRevocationRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    int size() {
+        return revokedTokens.size() + revokedSessions.size();
+    }
+
+    void evictExpired(Instant now) {
+        synchronized (writeLock) {
+            boolean removedTokens = revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+            revokedSessions.values().removeIf(cutoff -> cutoff.expiresAt().isBefore(now));
+
+            // Bloom filters cannot forget, so rebuild once entries have been dropped or it is over capacity
+            if (removedTokens || revokedTokens.size() > expectedRevocations) {
+                BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revokedTokens.size() * 2),
+                        FALSE_POSITIVE_RATE);
+                revokedTokens.keySet().forEach(rebuilt::put);
+                prefilter = rebuilt;
+            }
+        }
+    }
+
+    private void apply(TokenRevocation revocation) {
+        synchronized (writeLock) {
+            if (revocation.getTokenId() != null) {
+                revokedTokens.put(revocation.getTokenId(), revocation.getExpiresAt());
+                prefilter.put(revocation.getTokenId());
+            } else {
+                SessionCutoff cutoff = new SessionCutoff(revocation.getRevokedAt(), revocation.getExpiresAt());
+                revokedSessions.merge(revocation.getUserId(), cutoff, SessionCutoff::latest);
+            }
+        }
+    }
+
+    private record SessionCutoff(Instant revokedBefore, Instant expiresAt) {
+
+        SessionCutoff latest(SessionCutoff other) {
+            return other.revokedBefore.isAfter(revokedBefore) ? other : this;
+        }
+    }
+}
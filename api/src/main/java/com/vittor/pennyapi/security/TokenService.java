@@ -1,54 +1,109 @@
 package com.vittor.pennyapi.security;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.vittor.pennyapi.entity.User;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class TokenService {
 
+    private static final String ISSUER = "penny-api";
+    private static final List<String> DEFAULT_ROLES = List.of("ROLE_USER");
+    // iat only has second precision; the logout-all cutoff must tell apart a login right after it
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iatMs";
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.kid}")
+    private String keyId;
+
+    @Value("${api.security.token.verification-keys}")
+    private String verificationKeys;
+
     @Value("${api.security.token.expiration}")
     private Long expiration;
 
+    private SigningKeyRing keyRing;
+
+    @PostConstruct
+    public void init() {
+        keyRing = SigningKeyRing.of(keyId, secret, verificationKeys, ISSUER);
+    }
+
     public String generateToken(User user) {
+        Instant issuedAt = Instant.now();
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             return JWT.create()
-                    .withIssuer("penny-api")
+                    .withKeyId(keyRing.signingKeyId())
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withIssuer(ISSUER)
                     .withSubject(user.getEmail())
                     .withClaim("userId", user.getId().toString())
+                    .withClaim("roles", user.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .toList())
+                    .withIssuedAt(issuedAt)
+                    .withClaim(ISSUED_AT_MILLIS_CLAIM, issuedAt.toEpochMilli())
                     .withExpiresAt(genExpirationDate())
-                    .sign(algorithm);
+                    .sign(keyRing.signingAlgorithm());
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error while generating token", exception);
         }
     }
 
     public String validateToken(String token) {
+        return verifyToken(token)
+                .map(VerifiedToken::subject)
+                .orElse("");
+    }
+
+    public Optional<VerifiedToken> verifyToken(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("penny-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
-        } catch (JWTVerificationException exception) {
-            return "";
+            DecodedJWT unverified = JWT.decode(token);
+            JWTVerifier verifier = keyRing.verifierFor(unverified.getKeyId());
+            if (verifier == null) {
+                return Optional.empty();
+            }
+
+            DecodedJWT decoded = verifier.verify(unverified);
+
+            String userId = decoded.getClaim("userId").asString();
+            if (decoded.getSubject() == null || userId == null || decoded.getExpiresAtAsInstant() == null) {
+                return Optional.empty();
+            }
+
+            // Tokens issued before the roles claim existed carry the default role
+            List<String> roles = decoded.getClaim("roles").asList(String.class);
+            // Tokens issued before the millisecond claim existed fall back to iat
+            Long issuedAtMillis = decoded.getClaim(ISSUED_AT_MILLIS_CLAIM).asLong();
+
+            return Optional.of(new VerifiedToken(
+                    decoded.getId(),
+                    decoded.getSubject(),
+                    UUID.fromString(userId),
+                    roles != null ? List.copyOf(roles) : DEFAULT_ROLES,
+                    issuedAtMillis != null ? Instant.ofEpochMilli(issuedAtMillis) : decoded.getIssuedAtAsInstant(),
+                    decoded.getExpiresAtAsInstant()
+            ));
+        } catch (JWTVerificationException | IllegalArgumentException exception) {
+            return Optional.empty();
         }
     }
 
     private Instant genExpirationDate() {
-        return LocalDateTime.now().plusSeconds(expiration / 1000).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plusMillis(expiration);
     }
 }
@@ -0,0 +1,15 @@
+package com.vittor.pennyapi.security;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record VerifiedToken(
+        String tokenId,
+        String subject,
+        UUID userId,
+        List<String> roles,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,40 @@
+package com.vittor.pennyapi.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class AfterCommit {
+
+    /**
+     * Order of the in-memory ledger updates. They run before {@link #SUMMARY_CACHE}, whatever
+     * the order of registration: a summary loaded after its eviction must already see the
+     * ledger with the committed change.
+     */
+    static final int LEDGER = 0;
+    static final int SUMMARY_CACHE = 1;
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, or right away when there is no
+     * transaction. Nothing runs on rollback.
+     */
+    static void run(int order, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return order;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -7,13 +7,17 @@ import com.vittor.pennyapi.entity.Category;
 import com.vittor.pennyapi.entity.User;
 import com.vittor.pennyapi.exception.BusinessRuleException;
 import com.vittor.pennyapi.exception.ResourceNotFoundException;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.CategoryBudgetRepository;
 import com.vittor.pennyapi.repository.CategoryRepository;
+import com.vittor.pennyapi.repository.RecurringTransactionRepository;
 import com.vittor.pennyapi.repository.TransactionRepository;
 import com.vittor.pennyapi.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -30,6 +34,12 @@ public class CategoryService {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
     @Transactional
     public CategoryResponseDTO create(CreateCategoryDTO dto, UUID userId) {
         User user = userRepository.findById(userId)
@@ -39,6 +49,7 @@ public class CategoryService {
         category.setName(dto.name());
         category.setIcon(dto.icon());
         category.setColor(dto.color());
+        category.setMonthlyBudget(dto.monthlyBudget() != null ? Money.of(dto.monthlyBudget()) : null);
         category.setUser(user);
 
         Category savedCategory = categoryRepository.save(category);
@@ -55,6 +66,15 @@ public class CategoryService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Same as {@link #findAll}, with each category's budget and spend in the current month read
+     * in the same query, from the monthly aggregates.
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryResponseDTO> findAllWithSpending(UUID userId) {
+        return categoryBudgetRepository.findWithSpending(userId, YearMonth.now());
+    }
+
     @Transactional(readOnly = true)
     public CategoryResponseDTO findById(UUID id, UUID userId) {
         Category category = categoryRepository.findByIdAndUserId(id, userId)
@@ -71,6 +91,7 @@ public class CategoryService {
         category.setName(dto.name());
         category.setIcon(dto.icon());
         category.setColor(dto.color());
+        category.setMonthlyBudget(dto.monthlyBudget() != null ? Money.of(dto.monthlyBudget()) : null);
 
         Category updatedCategory = categoryRepository.save(category);
 
@@ -87,6 +108,10 @@ public class CategoryService {
             throw new BusinessRuleException("Cannot delete category with existing transactions");
         }
 
+        if (recurringTransactionRepository.existsByCategoryId(id)) {
+            throw new BusinessRuleException("Cannot delete category with existing recurring transactions");
+        }
+
         categoryRepository.deleteByIdAndUserId(id, userId);
     }
 }
@@ -0,0 +1,205 @@
+package com.vittor.pennyapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vittor.pennyapi.exception.BusinessRuleException;
+import com.vittor.pennyapi.exception.ServiceOverloadedException;
+import com.vittor.pennyapi.repository.IdempotencyKeyRepository;
+import com.vittor.pennyapi.repository.IdempotencyKeyRepository.StoredResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs transaction writes that carry an {@code Idempotency-Key} header at most once per user and
+ * key within {@code api.idempotency.ttl} milliseconds. A repeated request gets the stored
+ * status and body of the first one, with {@code Idempotent-Replayed: true}; the same key sent
+ * with another operation or body is rejected.
+ * <p>
+ * The key is claimed in {@code idempotency_keys} in the same transaction as the write, so a
+ * failed write releases it and a duplicate on another node waits for the commit. Duplicates on
+ * this node wait for the first request in memory instead of holding a connection, and completed
+ * responses are cached (up to {@code api.idempotency.cache.max-size}). Only 2xx responses are
+ * stored; any other outcome lets the next attempt run again.
+ */
+@Component
+public class IdempotencyKeys {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyKeys.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record Key(UUID userId, String key) {
+    }
+
+    private record Outcome<T>(StoredResponse stored, ResponseEntity<T> response) {
+    }
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    private final Cache<Key, StoredResponse> completed;
+    private final ConcurrentMap<Key, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyKeys(IdempotencyKeyRepository idempotencyKeyRepository,
+                           JsonMapper jsonMapper,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${api.idempotency.ttl}") long ttlMillis,
+                           @Value("${api.idempotency.wait-timeout}") long waitTimeoutMillis,
+                           @Value("${api.idempotency.cache.max-size}") long maxSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMillis(ttlMillis);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMillis);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "penny.transactions.idempotency");
+    }
+
+    /**
+     * Runs {@code action} once for the user's {@code idempotencyKey}, or just runs it when no
+     * key was sent. {@code operation} and {@code request} identify the request the key belongs
+     * to; {@code responseType} reads a stored body back.
+     */
+    public <T> ResponseEntity<T> execute(UUID userId, String idempotencyKey, String operation, Object request,
+                                         Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessRuleException(HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Key key = new Key(userId, idempotencyKey);
+        byte[] requestHash = hash(operation, request);
+        while (true) {
+            StoredResponse stored = completed.getIfPresent(key);
+            if (stored != null) {
+                return replay(stored, requestHash, responseType);
+            }
+
+            CompletableFuture<StoredResponse> first = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, first);
+            if (running != null) {
+                stored = await(running);
+                if (stored != null) {
+                    return replay(stored, requestHash, responseType);
+                }
+                // A primeira não gravou resposta (erro ou status não 2xx): esta tenta de novo
+                continue;
+            }
+
+            Outcome<T> outcome;
+            try {
+                outcome = transactionTemplate.execute(status -> executeOnce(key, requestHash, action, status));
+                if (outcome.stored() != null) {
+                    completed.put(key, outcome.stored());
+                }
+                first.complete(outcome.stored());
+            } catch (RuntimeException exception) {
+                first.complete(null);
+                throw exception;
+            } finally {
+                inFlight.remove(key, first);
+            }
+            return outcome.response() != null ? outcome.response() : replay(outcome.stored(), requestHash, responseType);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.idempotency.purge-interval}",
+            initialDelayString = "${api.idempotency.purge-interval}")
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteExpired();
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private <T> Outcome<T> executeOnce(Key key, byte[] requestHash, Supplier<ResponseEntity<T>> action,
+                                       TransactionStatus status) {
+        if (!idempotencyKeyRepository.claim(key.userId(), key.key(), requestHash, ttl)) {
+            // Chave já usada por uma requisição commitada, neste ou em outro nó
+            StoredResponse stored = idempotencyKeyRepository.find(key.userId(), key.key())
+                    .orElseThrow(() -> new ServiceOverloadedException(
+                            "A request with the same " + HEADER + " is still being processed", 1));
+            return new Outcome<>(stored, null);
+        }
+
+        ResponseEntity<T> response = action.get();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            status.setRollbackOnly();
+            return new Outcome<>(null, response);
+        }
+        String body = jsonMapper.writeValueAsString(response.getBody());
+        idempotencyKeyRepository.complete(key.userId(), key.key(), response.getStatusCode().value(), body);
+        return new Outcome<>(new StoredResponse(requestHash, response.getStatusCode().value(), body), response);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            throw new ServiceOverloadedException("A request with the same " + HEADER + " is still being processed",
+                    Math.max(1, waitTimeout.toSeconds()));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrupted while waiting for a request with the same " + HEADER, 1);
+        } catch (ExecutionException exception) {
+            return null;
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse stored, byte[] requestHash, Class<T> responseType) {
+        if (!Arrays.equals(stored.requestHash(), requestHash)) {
+            throw new BusinessRuleException(HEADER + " was already used for a different request");
+        }
+        return ResponseEntity.status(stored.statusCode())
+                .header(REPLAYED_HEADER, "true")
+                .body(jsonMapper.readValue(stored.body(), responseType));
+    }
+
+    private byte[] hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return digest.digest(jsonMapper.writeValueAsBytes(request));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 not available", exception);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.enums.RecurrenceFrequency;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The dates on which a recurring transaction occurs, from {@code startDate} up to
+ * {@code endDate} (inclusive, {@code null} for no end).
+ * <p>
+ * Weekly and monthly rules count every step from the start date, so a rule starting on the
+ * 31st falls on the last day of shorter months and is back on the 31st afterwards. Cron rules
+ * take the three date fields of a cron expression (day of month, month, day of week) and occur
+ * on every matching date from the start.
+ */
+record RecurrenceSchedule(RecurrenceFrequency frequency, int interval, CronExpression cron,
+                          LocalDate startDate, LocalDate endDate) {
+
+    /**
+     * @throws IllegalArgumentException if the expression is missing for a cron rule, present
+     *                                  for another frequency, or not valid, or if a cron rule
+     *                                  has an interval
+     */
+    static RecurrenceSchedule of(RecurrenceFrequency frequency, int interval, String cronExpression,
+                                 LocalDate startDate, LocalDate endDate) {
+        if (frequency != RecurrenceFrequency.CRON) {
+            if (cronExpression != null) {
+                throw new IllegalArgumentException("Cron expression is only allowed for CRON rules");
+            }
+            return new RecurrenceSchedule(frequency, interval, null, startDate, endDate);
+        }
+        if (cronExpression == null || cronExpression.isBlank()) {
+            throw new IllegalArgumentException("Cron expression is required for CRON rules");
+        }
+        if (interval != 1) {
+            throw new IllegalArgumentException("Interval is not allowed for CRON rules");
+        }
+        String[] fields = cronExpression.trim().split("\\s+");
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Cron expression must have 3 fields: day of month, month and day of week");
+        }
+        // Segundo, minuto e hora fixos: as ocorrências são datas
+        return new RecurrenceSchedule(frequency, interval,
+                CronExpression.parse("0 0 0 " + String.join(" ", fields)), startDate, endDate);
+    }
+
+    /**
+     * The first occurrence, or {@code null} if there is none up to the end date.
+     */
+    LocalDate first() {
+        return frequency == RecurrenceFrequency.CRON ? nextMatch(startDate.minusDays(1)) : withinEnd(startDate);
+    }
+
+    /**
+     * The first occurrence after {@code date}, or {@code null} if there is none up to the end
+     * date.
+     */
+    LocalDate next(LocalDate date) {
+        if (date.isBefore(startDate)) {
+            return first();
+        }
+        return switch (frequency) {
+            case WEEKLY -> withinEnd(nextStep(date, ChronoUnit.WEEKS));
+            case MONTHLY -> withinEnd(nextStep(date, ChronoUnit.MONTHS));
+            case CRON -> nextMatch(date);
+        };
+    }
+
+    private LocalDate nextMatch(LocalDate date) {
+        LocalDateTime next = cron.next(date.atStartOfDay());
+        return next == null ? null : withinEnd(next.toLocalDate());
+    }
+
+    private LocalDate nextStep(LocalDate date, ChronoUnit unit) {
+        long step = unit.between(startDate, date) / interval;
+        LocalDate candidate = startDate.plus(step * interval, unit);
+        while (!candidate.isAfter(date)) {
+            step++;
+            candidate = startDate.plus(step * interval, unit);
+        }
+        return candidate;
+    }
+
+    private LocalDate withinEnd(LocalDate date) {
+        return endDate != null && date.isAfter(endDate) ? null : date;
+    }
+}
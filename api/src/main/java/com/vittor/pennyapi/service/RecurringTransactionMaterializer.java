@@ -0,0 +1,262 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.ledger.LedgerEntry;
+import com.vittor.pennyapi.repository.CategoryBudgetRepository;
+import com.vittor.pennyapi.repository.CategoryBudgetRepository.SpendIncrease;
+import com.vittor.pennyapi.repository.RecurringOccurrenceRepository;
+import com.vittor.pennyapi.repository.RecurringOccurrenceRepository.Advance;
+import com.vittor.pennyapi.repository.RecurringOccurrenceRepository.CreatedTransaction;
+import com.vittor.pennyapi.repository.RecurringOccurrenceRepository.DueRule;
+import com.vittor.pennyapi.repository.RecurringOccurrenceRepository.Occurrence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Creates the transactions of recurring rules once they are due. Users are processed in chunks
+ * of {@code api.recurring.chunk-size}, in user id order, each chunk in its own short
+ * transaction: the due rules of the chunk are locked, all their occurrences up to today are
+ * inserted with the monthly aggregates in one statement, budget alerts are checked in another,
+ * and the rules are moved to their next occurrence in a third.
+ * <p>
+ * A run holds a session-level Postgres advisory lock on a dedicated connection, so only one node
+ * materializes at a time. Occurrences are also unique per rule and date in the database, so a
+ * chunk repeated after a failure between commit and advance creates nothing twice. A chunk that
+ * fails is redone one user at a time, and only the users that fail again are left for the next
+ * run.
+ */
+@Component
+public class RecurringTransactionMaterializer {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringTransactionMaterializer.class);
+
+    private static final long ADVISORY_LOCK_KEY = 0x7065_6e6e_7972_6563L;
+    private static final UUID FIRST_USER = new UUID(0, 0);
+
+    private record Chunk(int rules, int created, int failedUsers, UUID lastUserId) {
+    }
+
+    private record SpendKey(UUID userId, UUID categoryId, LocalDate month) {
+    }
+
+    private final RecurringOccurrenceRepository recurringOccurrenceRepository;
+    private final CategoryBudgetRepository categoryBudgetRepository;
+    private final TransactionSummaryCache transactionSummaryCache;
+    private final TransactionLedger transactionLedger;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public RecurringTransactionMaterializer(RecurringOccurrenceRepository recurringOccurrenceRepository,
+                                            CategoryBudgetRepository categoryBudgetRepository,
+                                            TransactionSummaryCache transactionSummaryCache,
+                                            TransactionLedger transactionLedger,
+                                            DataSource dataSource,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${api.recurring.chunk-size}") int chunkSize) {
+        this.recurringOccurrenceRepository = recurringOccurrenceRepository;
+        this.categoryBudgetRepository = categoryBudgetRepository;
+        this.transactionSummaryCache = transactionSummaryCache;
+        this.transactionLedger = transactionLedger;
+        this.dataSource = dataSource;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${api.recurring.cron}")
+    public void run() {
+        materialize(LocalDate.now());
+    }
+
+    /**
+     * Creates every occurrence due on or before {@code today}. Returns the number of
+     * transactions created, or -1 if another node is already running.
+     */
+    public int materialize(LocalDate today) {
+        // Lock de sessão em uma conexão própria: os blocos commitam em outras conexões e o lock
+        // precisa durar a execução inteira. Se a conexão cair, o Postgres libera o lock.
+        Connection lockConnection;
+        try {
+            lockConnection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not acquire the recurring transactions lock", e);
+        }
+        boolean released = false;
+        try {
+            if (!advisoryLock(lockConnection, "SELECT pg_try_advisory_lock(?)")) {
+                released = true;
+                log.debug("Recurring transactions already being materialized on another node");
+                return -1;
+            }
+            try {
+                return materializeChunks(today);
+            } finally {
+                released = advisoryLock(lockConnection, "SELECT pg_advisory_unlock(?)");
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not acquire or release the recurring transactions lock", e);
+        } finally {
+            close(lockConnection, released);
+        }
+    }
+
+    private int materializeChunks(LocalDate today) {
+        long startedAt = System.nanoTime();
+        UUID afterUserId = FIRST_USER;
+        int rules = 0;
+        int created = 0;
+        int failedUsers = 0;
+        while (true) {
+            Chunk chunk;
+            try {
+                chunk = materializeInTransaction(today, afterUserId, chunkSize);
+            } catch (RuntimeException e) {
+                log.warn("Recurring transactions chunk after user {} failed, retrying its users one at a time",
+                        afterUserId, e);
+                chunk = materializeOneByOne(today, afterUserId);
+            }
+            if (chunk.rules() == 0 && chunk.failedUsers() == 0) {
+                break;
+            }
+            rules += chunk.rules();
+            created += chunk.created();
+            failedUsers += chunk.failedUsers();
+            afterUserId = chunk.lastUserId();
+        }
+        if (rules > 0) {
+            log.info("Materialized {} recurring transactions from {} rules in {} ms", created, rules,
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        }
+        if (failedUsers > 0) {
+            log.warn("Skipped the recurring transactions of {} users after errors; they are retried on the next run",
+                    failedUsers);
+        }
+        return created;
+    }
+
+    /**
+     * Redoes a failed chunk one user per transaction, so a bad rule only holds back its own user.
+     * The keyset still moves past every user of the chunk; the rules of the users that failed
+     * stay due and are retried on the next run.
+     */
+    private Chunk materializeOneByOne(LocalDate today, UUID afterUserId) {
+        List<UUID> userIds = transactionTemplate.execute(status ->
+                recurringOccurrenceRepository.findDueUserIds(today, afterUserId, chunkSize));
+        int rules = 0;
+        int created = 0;
+        int failedUsers = 0;
+        UUID previousUserId = afterUserId;
+        for (UUID userId : userIds) {
+            try {
+                Chunk chunk = materializeInTransaction(today, previousUserId, 1);
+                rules += chunk.rules();
+                created += chunk.created();
+            } catch (RuntimeException e) {
+                log.error("Could not materialize the recurring transactions of user {}", userId, e);
+                failedUsers++;
+            }
+            previousUserId = userId;
+        }
+        return new Chunk(rules, created, failedUsers, previousUserId);
+    }
+
+    private Chunk materializeInTransaction(LocalDate today, UUID afterUserId, int users) {
+        return transactionTemplate.execute(status -> materializeChunk(today, afterUserId, users));
+    }
+
+    private Chunk materializeChunk(LocalDate today, UUID afterUserId, int users) {
+        List<DueRule> rules = recurringOccurrenceRepository.lockDue(today, afterUserId, users);
+        if (rules.isEmpty()) {
+            return new Chunk(0, 0, 0, afterUserId);
+        }
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        List<Advance> advances = new ArrayList<>(rules.size());
+        for (DueRule rule : rules) {
+            RecurrenceSchedule schedule = RecurrenceSchedule.of(rule.frequency(), rule.interval(), rule.cronExpression(),
+                    rule.startDate(), rule.endDate());
+            LocalDate date = rule.nextOccurrence();
+            while (date != null && !date.isAfter(today)) {
+                occurrences.add(new Occurrence(rule.id(), date));
+                date = schedule.next(date);
+            }
+            advances.add(new Advance(rule.id(), date));
+        }
+
+        List<CreatedTransaction> createdTransactions = recurringOccurrenceRepository.insert(occurrences);
+        recurringOccurrenceRepository.advance(advances);
+
+        Map<UUID, List<LocalDate>> datesByUser = new HashMap<>();
+        Map<UUID, List<LedgerEntry>> entriesByUser = new HashMap<>();
+        Map<SpendKey, Money> spendByMonth = new HashMap<>();
+        for (CreatedTransaction transaction : createdTransactions) {
+            datesByUser.computeIfAbsent(transaction.userId(), id -> new ArrayList<>()).add(transaction.date());
+            entriesByUser.computeIfAbsent(transaction.userId(), id -> new ArrayList<>()).add(new LedgerEntry(
+                    transaction.id(), transaction.date(), transaction.amount().cents(),
+                    transaction.type() == TransactionType.INCOME, transaction.categoryId()));
+            if (transaction.type() == TransactionType.EXPENSE) {
+                spendByMonth.merge(new SpendKey(transaction.userId(), transaction.categoryId(), transaction.date().withDayOfMonth(1)),
+                        transaction.amount(), Money::plus);
+            }
+        }
+        categoryBudgetRepository.recordCrossings(spendByMonth.entrySet().stream()
+                .map(entry -> new SpendIncrease(entry.getKey().userId(), entry.getKey().categoryId(),
+                        entry.getKey().month(), entry.getValue()))
+                .toList());
+        entriesByUser.forEach(transactionLedger::upsertEntriesAfterCommit);
+        transactionSummaryCache.evictAfterCommit(datesByUser);
+
+        return new Chunk(rules.size(), createdTransactions.size(), 0, rules.getLast().userId());
+    }
+
+    /**
+     * Returns the lock connection to the pool, or aborts it if the lock may still be held: a
+     * pooled connection keeps its session locks, and every later run on any node would be skipped
+     * until the pool evicted it. Postgres releases the lock when the aborted session ends.
+     */
+    private static void close(Connection connection, boolean released) {
+        if (!released) {
+            try {
+                connection.abort(Runnable::run);
+            } catch (SQLException e) {
+                log.warn("Could not abort the recurring transactions lock connection", e);
+            }
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Após abort o pool falha ao limpar a conexão e a descarta, como esperado
+            if (released) {
+                log.warn("Could not close the recurring transactions lock connection", e);
+            }
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.dto.CreateRecurringTransactionDTO;
+import com.vittor.pennyapi.dto.RecurringTransactionResponseDTO;
+import com.vittor.pennyapi.entity.Category;
+import com.vittor.pennyapi.entity.RecurringTransaction;
+import com.vittor.pennyapi.entity.User;
+import com.vittor.pennyapi.exception.BusinessRuleException;
+import com.vittor.pennyapi.exception.ResourceNotFoundException;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.CategoryRepository;
+import com.vittor.pennyapi.repository.RecurringTransactionRepository;
+import com.vittor.pennyapi.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Manages the recurring transaction rules of a user. The transactions themselves are created
+ * by {@link RecurringTransactionMaterializer} once each occurrence is due.
+ */
+@Service
+public class RecurringTransactionService {
+
+    // Limita quantas ocorrências passadas a primeira materialização precisa criar
+    private static final int MAX_BACKFILL_YEARS = 1;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Transactional
+    public RecurringTransactionResponseDTO create(CreateRecurringTransactionDTO dto, UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        Category category = categoryRepository.findByIdAndUserId(dto.categoryId(), userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found or does not belong to user"));
+
+        if (dto.endDate() != null && dto.endDate().isBefore(dto.startDate())) {
+            throw new BusinessRuleException("End date cannot be before start date");
+        }
+        if (dto.startDate().isBefore(LocalDate.now().minusYears(MAX_BACKFILL_YEARS))) {
+            throw new BusinessRuleException("Start date cannot be more than " + MAX_BACKFILL_YEARS + " year in the past");
+        }
+
+        int interval = dto.interval() != null ? dto.interval() : 1;
+        RecurrenceSchedule schedule;
+        try {
+            schedule = RecurrenceSchedule.of(dto.frequency(), interval, dto.cronExpression(), dto.startDate(), dto.endDate());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException(e.getMessage());
+        }
+        LocalDate firstOccurrence = schedule.first();
+        if (firstOccurrence == null) {
+            throw new BusinessRuleException("Recurring transaction has no occurrence between start and end date");
+        }
+
+        RecurringTransaction recurringTransaction = new RecurringTransaction();
+        recurringTransaction.setDescription(dto.description());
+        recurringTransaction.setAmount(Money.of(dto.amount()));
+        recurringTransaction.setType(dto.type());
+        recurringTransaction.setFrequency(dto.frequency());
+        recurringTransaction.setIntervalCount(interval);
+        recurringTransaction.setCronExpression(dto.cronExpression() != null ? dto.cronExpression().trim() : null);
+        recurringTransaction.setStartDate(dto.startDate());
+        recurringTransaction.setEndDate(dto.endDate());
+        recurringTransaction.setNextOccurrence(firstOccurrence);
+        recurringTransaction.setCategory(category);
+        recurringTransaction.setUser(user);
+
+        RecurringTransaction saved = recurringTransactionRepository.save(recurringTransaction);
+
+        return new RecurringTransactionResponseDTO(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecurringTransactionResponseDTO> findAll(UUID userId) {
+        return recurringTransactionRepository.findByUserIdWithCategory(userId).stream()
+                .map(RecurringTransactionResponseDTO::new)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public RecurringTransactionResponseDTO findById(UUID id, UUID userId) {
+        RecurringTransaction recurringTransaction = recurringTransactionRepository.findByIdAndUserIdWithCategory(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Recurring transaction not found or does not belong to user"));
+
+        return new RecurringTransactionResponseDTO(recurringTransaction);
+    }
+
+    /**
+     * Stops the rule. Transactions it already created are kept.
+     */
+    @Transactional
+    public void delete(UUID id, UUID userId) {
+        if (!recurringTransactionRepository.existsByIdAndUserId(id, userId)) {
+            throw new ResourceNotFoundException("Recurring transaction not found or does not belong to user");
+        }
+
+        recurringTransactionRepository.deleteByIdAndUserId(id, userId);
+    }
+}
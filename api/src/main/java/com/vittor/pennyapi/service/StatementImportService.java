@@ -0,0 +1,334 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.dto.CreateTransactionDTO;
+import com.vittor.pennyapi.dto.FieldErrorDTO;
+import com.vittor.pennyapi.entity.Category;
+import com.vittor.pennyapi.exception.BusinessRuleException;
+import com.vittor.pennyapi.exception.ResourceNotFoundException;
+import com.vittor.pennyapi.exception.ServiceOverloadedException;
+import com.vittor.pennyapi.importer.StatementEntry;
+import com.vittor.pennyapi.importer.StatementFormat;
+import com.vittor.pennyapi.importer.StatementImportJob;
+import com.vittor.pennyapi.importer.StatementParseException;
+import com.vittor.pennyapi.importer.StatementParser;
+import com.vittor.pennyapi.repository.CategoryRepository;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Imports bank statements in the background. The upload is spooled to a temporary file and
+ * the request returns a job right away; then a parser thread reads the file incrementally,
+ * maps categories and validates each entry, and hands chunks of valid transactions through
+ * a bounded queue to a writer thread that inserts each chunk in its own transaction via
+ * {@link TransactionBatchWriter}. Memory is bounded by {@code queue-capacity * chunk-size}
+ * whatever the file size, and a slow database simply makes the parser wait.
+ * <p>
+ * Chunks are committed independently, so a failure midway keeps what was already imported.
+ */
+@Service
+public class StatementImportService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementImportService.class);
+
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final long RETRY_AFTER_SECONDS = 5;
+    private static final List<CreateTransactionDTO> END_OF_INPUT = new ArrayList<>(0);
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final int maxRecordedErrors;
+    private final Duration jobRetention;
+    private final Semaphore jobSlots;
+    private final ExecutorService executor;
+    private final Map<UUID, StatementImportJob> jobs = new ConcurrentHashMap<>();
+
+    public StatementImportService(
+            CategoryRepository categoryRepository,
+            TransactionBatchWriter transactionBatchWriter,
+            PlatformTransactionManager transactionManager,
+            Validator validator,
+            @Value("${api.import.chunk-size}") int chunkSize,
+            @Value("${api.import.queue-capacity}") int queueCapacity,
+            @Value("${api.import.max-concurrent-jobs}") int maxConcurrentJobs,
+            @Value("${api.import.max-recorded-errors}") int maxRecordedErrors,
+            @Value("${api.import.job-retention}") long jobRetentionMillis) {
+        this.categoryRepository = categoryRepository;
+        this.transactionBatchWriter = transactionBatchWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.maxRecordedErrors = maxRecordedErrors;
+        this.jobRetention = Duration.ofMillis(jobRetentionMillis);
+        this.jobSlots = new Semaphore(maxConcurrentJobs);
+        // Cada job ocupa duas threads: parser e writer
+        this.executor = new ThreadPoolExecutor(
+                maxConcurrentJobs * 2, maxConcurrentJobs * 2,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new ImportThreadFactory()
+        );
+    }
+
+    public StatementImportJob startImport(UUID userId, MultipartFile file, StatementFormat format, UUID defaultCategoryId) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessRuleException("Statement file is required");
+        }
+
+        StatementFormat effectiveFormat = format != null ? format : StatementFormat.fromFileName(file.getOriginalFilename());
+        if (effectiveFormat == null) {
+            throw new BusinessRuleException("Could not detect the statement format. Use format=CSV or format=OFX");
+        }
+
+        Map<String, UUID> categoriesByName = categoryRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(
+                        category -> category.getName().toLowerCase(Locale.ROOT),
+                        Category::getId,
+                        (first, second) -> first
+                ));
+        if (defaultCategoryId != null && !categoriesByName.containsValue(defaultCategoryId)) {
+            throw new ResourceNotFoundException("Category not found or does not belong to user");
+        }
+
+        if (!jobSlots.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many imports in progress. Please try again shortly.", RETRY_AFTER_SECONDS);
+        }
+
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile("penny-import-", ".tmp");
+            file.transferTo(spooled);
+        } catch (IOException exception) {
+            jobSlots.release();
+            deleteQuietly(spooled);
+            throw new UncheckedIOException("Could not store the uploaded statement", exception);
+        }
+
+        StatementImportJob job = new StatementImportJob(userId, file.getOriginalFilename(), effectiveFormat, file.getSize(), maxRecordedErrors);
+        jobs.put(job.getId(), job);
+
+        BlockingQueue<List<CreateTransactionDTO>> chunks = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicBoolean aborted = new AtomicBoolean();
+        Path input = spooled;
+        executor.execute(() -> parse(job, input, categoriesByName, defaultCategoryId, chunks, aborted));
+        executor.execute(() -> write(job, input, chunks, aborted));
+
+        return job;
+    }
+
+    public StatementImportJob findJob(UUID jobId, UUID userId) {
+        StatementImportJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new ResourceNotFoundException("Import job not found or does not belong to user");
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${api.import.job-retention}", initialDelayString = "${api.import.job-retention}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void parse(StatementImportJob job, Path input, Map<String, UUID> categoriesByName, UUID defaultCategoryId,
+                       BlockingQueue<List<CreateTransactionDTO>> chunks, AtomicBoolean aborted) {
+        job.started();
+        try (InputStream stream = job.track(Files.newInputStream(input));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            StatementParser parser = job.getFormat().newParser(reader);
+            List<CreateTransactionDTO> chunk = new ArrayList<>(chunkSize);
+
+            while (!aborted.get()) {
+                StatementEntry entry;
+                try {
+                    entry = parser.next();
+                } catch (StatementParseException exception) {
+                    job.entryRead();
+                    job.recordError(exception.getLineNumber(), List.of(new FieldErrorDTO("line", exception.getMessage(), null)));
+                    continue;
+                }
+                if (entry == null) {
+                    break;
+                }
+
+                job.entryRead();
+                CreateTransactionDTO transaction = toTransaction(job, entry, categoriesByName, defaultCategoryId);
+                if (transaction != null) {
+                    chunk.add(transaction);
+                    if (chunk.size() == chunkSize) {
+                        chunks.put(chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            }
+
+            if (!chunk.isEmpty() && !aborted.get()) {
+                chunks.put(chunk);
+            }
+        } catch (StatementParseException exception) {
+            // Cabeçalho inválido: nada do arquivo pode ser interpretado
+            aborted.set(true);
+            job.failed(exception.getMessage());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            aborted.set(true);
+            job.failed("Import interrupted");
+        } catch (IOException | RuntimeException exception) {
+            log.error("Failed to read statement for import {}", job.getId(), exception);
+            aborted.set(true);
+            job.failed("Could not read the statement file");
+        } finally {
+            signalEndOfInput(chunks, aborted);
+        }
+    }
+
+    private CreateTransactionDTO toTransaction(StatementImportJob job, StatementEntry entry,
+                                               Map<String, UUID> categoriesByName, UUID defaultCategoryId) {
+        UUID categoryId = defaultCategoryId;
+        if (entry.category() != null) {
+            categoryId = categoriesByName.get(entry.category().toLowerCase(Locale.ROOT));
+            if (categoryId == null) {
+                job.recordError(entry.lineNumber(), List.of(new FieldErrorDTO("category", "Category not found", entry.category())));
+                return null;
+            }
+        } else if (categoryId == null) {
+            job.recordError(entry.lineNumber(), List.of(new FieldErrorDTO("category", "No category in the file and no default category given", null)));
+            return null;
+        }
+
+        String description = entry.description();
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            description = description.substring(0, MAX_DESCRIPTION_LENGTH);
+        }
+
+        CreateTransactionDTO transaction = new CreateTransactionDTO(
+                description, entry.amount(), entry.type(), entry.date(), categoryId);
+
+        List<FieldErrorDTO> errors = validator.validate(transaction).stream()
+                .map(violation -> new FieldErrorDTO(
+                        violation.getPropertyPath().toString(),
+                        violation.getMessage(),
+                        violation.getInvalidValue()
+                ))
+                .toList();
+        if (!errors.isEmpty()) {
+            job.recordError(entry.lineNumber(), errors);
+            return null;
+        }
+        return transaction;
+    }
+
+    private void write(StatementImportJob job, Path input, BlockingQueue<List<CreateTransactionDTO>> chunks, AtomicBoolean aborted) {
+        try {
+            while (true) {
+                List<CreateTransactionDTO> chunk = chunks.take();
+                if (chunk == END_OF_INPUT) {
+                    break;
+                }
+                if (aborted.get()) {
+                    continue;
+                }
+
+                try {
+                    transactionTemplate.executeWithoutResult(status -> transactionBatchWriter.insert(job.getUserId(), chunk));
+                    job.imported(chunk.size());
+                } catch (RuntimeException exception) {
+                    log.error("Failed to save a chunk for import {}", job.getId(), exception);
+                    aborted.set(true);
+                    job.failed("Import stopped after " + job.getImported() + " transactions: a chunk could not be saved");
+                }
+            }
+
+            if (!aborted.get()) {
+                job.completed();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            aborted.set(true);
+            job.failed("Import interrupted");
+        } finally {
+            deleteQuietly(input);
+            jobSlots.release();
+        }
+    }
+
+    /**
+     * The writer always drains the queue until this marker, so the put cannot block forever.
+     */
+    private void signalEndOfInput(BlockingQueue<List<CreateTransactionDTO>> chunks, AtomicBoolean aborted) {
+        try {
+            chunks.put(END_OF_INPUT);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            aborted.set(true);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException exception) {
+            log.warn("Could not delete temporary import file {}", path, exception);
+        }
+    }
+
+    private static final class ImportThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "statement-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.repository.TransactionAggregateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rebuilds {@code transaction_monthly_aggregates} from {@code transactions}, fixing any drift
+ * left by writes that bypassed the application (manual SQL, restores). Disabled by default;
+ * enable it by setting {@code api.aggregates.repair-cron}.
+ * <p>
+ * Each user is rebuilt in its own short transaction, so writes only wait while their own user is
+ * being rebuilt instead of for the whole table.
+ */
+@Component
+public class TransactionAggregateRepair {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionAggregateRepair.class);
+
+    private static final int USERS_PER_PAGE = 500;
+
+    private final TransactionAggregateRepository transactionAggregateRepository;
+    private final TransactionSummaryCache transactionSummaryCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionAggregateRepair(TransactionAggregateRepository transactionAggregateRepository,
+                                      TransactionSummaryCache transactionSummaryCache,
+                                      PlatformTransactionManager transactionManager) {
+        this.transactionAggregateRepository = transactionAggregateRepository;
+        this.transactionSummaryCache = transactionSummaryCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${api.aggregates.repair-cron}")
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        int rows = 0;
+        int users = 0;
+        UUID after = null;
+        List<UUID> page;
+        do {
+            page = transactionAggregateRepository.findUserIdsAfter(after, USERS_PER_PAGE);
+            for (UUID userId : page) {
+                rows += transactionTemplate.execute(status -> transactionAggregateRepository.rebuildUser(userId));
+            }
+            users += page.size();
+            after = page.isEmpty() ? after : page.getLast();
+        } while (page.size() == USERS_PER_PAGE);
+        transactionAggregateRepository.deleteOrphans();
+
+        transactionSummaryCache.invalidateAllAfterCommit();
+        log.info("Rebuilt {} monthly transaction aggregates of {} users in {} ms", rows, users,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+}
@@ -0,0 +1,98 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.dto.CreateTransactionDTO;
+import com.vittor.pennyapi.entity.Category;
+import com.vittor.pennyapi.entity.Transaction;
+import com.vittor.pennyapi.entity.User;
+import com.vittor.pennyapi.ledger.LedgerEntry;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.CategoryBudgetRepository;
+import com.vittor.pennyapi.repository.TransactionAggregateDelta;
+import com.vittor.pennyapi.repository.TransactionAggregateRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Inserts already validated transactions through Hibernate JDBC batching. User and categories
+ * are attached as references (no SELECT), and the persistence context is flushed and cleared
+ * every {@code batchSize} rows, so no entity outlives its batch: per row, only the returned id
+ * and, when the ledger is enabled, a compact {@link LedgerEntry} are kept until the end. The
+ * monthly aggregates are updated once per batch, with one upsert per month/category/type, budget
+ * alerts are checked in one more statement, and the cached summaries covering the inserted dates
+ * are evicted on commit.
+ * <p>
+ * Must run inside the caller's transaction, and clears the caller's persistence context.
+ */
+@Component
+public class TransactionBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionAggregateRepository transactionAggregateRepository;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Autowired
+    private TransactionSummaryCache transactionSummaryCache;
+
+    @Autowired
+    private TransactionLedger transactionLedger;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<UUID> insert(UUID userId, List<CreateTransactionDTO> items) {
+        List<UUID> ids = new ArrayList<>(items.size());
+        Set<LocalDate> dates = new HashSet<>();
+        List<LedgerEntry> ledgerEntries = transactionLedger.isEnabled() ? new ArrayList<>(items.size()) : List.of();
+        TransactionAggregateDelta delta = new TransactionAggregateDelta();
+
+        for (int start = 0; start < items.size(); start += batchSize) {
+            User user = entityManager.getReference(User.class, userId);
+
+            for (CreateTransactionDTO dto : items.subList(start, Math.min(start + batchSize, items.size()))) {
+                Transaction transaction = new Transaction();
+                transaction.setDescription(dto.description());
+                transaction.setAmount(Money.of(dto.amount()));
+                transaction.setType(dto.type());
+                transaction.setDate(dto.date());
+                transaction.setCategory(entityManager.getReference(Category.class, dto.categoryId()));
+                transaction.setUser(user);
+
+                entityManager.persist(transaction);
+                ids.add(transaction.getId());
+                delta.add(transaction);
+                dates.add(transaction.getDate());
+                if (transactionLedger.isEnabled()) {
+                    ledgerEntries.add(LedgerEntry.of(transaction));
+                }
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        // Um upsert por mês/categoria/tipo do lote, não por transação
+        transactionAggregateRepository.apply(userId, delta);
+        categoryBudgetRepository.recordCrossings(userId, delta);
+        transactionLedger.upsertEntriesAfterCommit(userId, ledgerEntries);
+        transactionSummaryCache.evictAfterCommit(userId, dates);
+        return ids;
+    }
+}
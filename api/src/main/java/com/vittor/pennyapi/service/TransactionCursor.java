@@ -0,0 +1,34 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.exception.BusinessRuleException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last row of a page in the {@code (date DESC, id DESC)} order. Clients get
+ * it as an opaque base64url string and must not rely on its contents.
+ */
+record TransactionCursor(LocalDate date, UUID id) {
+
+    String encode() {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TransactionCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new BusinessRuleException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.dto.CategoryResponseDTO;
+import com.vittor.pennyapi.dto.TransactionResponseDTO;
+import com.vittor.pennyapi.entity.Transaction;
+import com.vittor.pennyapi.enums.ExportFormat;
+import com.vittor.pennyapi.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes all of a user's transactions straight from a database cursor to the response, one
+ * row at a time, so memory use does not depend on how many transactions the user has.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,date,type,amount,description,category_id,category_name,created_at\n";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    public void export(UUID userId, ExportFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ObjectWriter jsonWriter = jsonMapper.writerFor(TransactionResponseDTO.class);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        try (Stream<Transaction> transactions = transactionRepository.streamAllByUserId(userId)) {
+            transactions.forEach(transaction -> {
+                try {
+                    if (format == ExportFormat.CSV) {
+                        writeCsvRow(writer, transaction);
+                    } else {
+                        writer.write(jsonWriter.writeValueAsString(toResponse(transaction, userId)));
+                        writer.write('\n');
+                    }
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+
+        writer.flush();
+    }
+
+    private static TransactionResponseDTO toResponse(Transaction transaction, UUID userId) {
+        // O usuário não é carregado pela sessão stateless; o id já é conhecido
+        return new TransactionResponseDTO(
+                transaction.getId(),
+                transaction.getDescription(),
+                transaction.getAmount(),
+                transaction.getType(),
+                transaction.getDate(),
+                new CategoryResponseDTO(transaction.getCategory()),
+                userId,
+                transaction.getCreatedAt()
+        );
+    }
+
+    private static void writeCsvRow(Writer writer, Transaction transaction) throws IOException {
+        writer.write(transaction.getId().toString());
+        writer.write(',');
+        writer.write(transaction.getDate().toString());
+        writer.write(',');
+        writer.write(transaction.getType().name());
+        writer.write(',');
+        writer.write(transaction.getAmount().toString());
+        writer.write(',');
+        writeCsvField(writer, transaction.getDescription());
+        writer.write(',');
+        writer.write(transaction.getCategory().getId().toString());
+        writer.write(',');
+        writeCsvField(writer, transaction.getCategory().getName());
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getCreatedAt()));
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,213 @@
+package com.vittor.pennyapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vittor.pennyapi.dto.CategoryBreakdownDTO;
+import com.vittor.pennyapi.dto.MonthBreakdownDTO;
+import com.vittor.pennyapi.dto.SeriesPointDTO;
+import com.vittor.pennyapi.dto.TransactionBreakdownDTO;
+import com.vittor.pennyapi.dto.TransactionSeriesDTO;
+import com.vittor.pennyapi.dto.TransactionSummaryDTO;
+import com.vittor.pennyapi.entity.Category;
+import com.vittor.pennyapi.entity.Transaction;
+import com.vittor.pennyapi.enums.SeriesGranularity;
+import com.vittor.pennyapi.exception.ResourceNotFoundException;
+import com.vittor.pennyapi.ledger.LedgerBreakdown;
+import com.vittor.pennyapi.ledger.LedgerEntry;
+import com.vittor.pennyapi.ledger.LedgerSeries;
+import com.vittor.pennyapi.ledger.LedgerTotals;
+import com.vittor.pennyapi.ledger.UserLedger;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.CategoryRepository;
+import com.vittor.pennyapi.repository.SummaryPeriod;
+import com.vittor.pennyapi.repository.TransactionLedgerRepository;
+import com.vittor.pennyapi.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Optional in-memory engine for the analytics endpoints, enabled with
+ * {@code api.ledger.enabled}. A user's transactions are loaded into a {@link UserLedger} on the
+ * first analytical request and kept up to date from the writes of {@link TransactionService}
+ * and {@link TransactionBatchWriter}, applied once their transaction commits. Ledgers are
+ * weighed by their estimated size and evicted least recently used beyond
+ * {@code api.ledger.max-bytes}; metrics are published under
+ * {@code cache=penny.transactions.ledger}.
+ * <p>
+ * A write committing while the same user's ledger is loading waits for the load to finish and
+ * is then applied on top of it. Changes replace rows by id, so one that the load already read
+ * is not counted twice. Changes that are not per row, like archiving a month, drop all ledgers
+ * instead.
+ */
+@Component
+public class TransactionLedger {
+
+    private final boolean enabled;
+    private final Cache<UUID, UserLedger> ledgers;
+    private final TransactionLedgerRepository transactionLedgerRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicLong generation = new AtomicLong();
+
+    public TransactionLedger(@Value("${api.ledger.enabled}") boolean enabled,
+                             @Value("${api.ledger.max-bytes}") long maxBytes,
+                             TransactionLedgerRepository transactionLedgerRepository,
+                             UserRepository userRepository,
+                             CategoryRepository categoryRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.transactionLedgerRepository = transactionLedgerRepository;
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ledgers = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((UUID userId, UserLedger ledger) -> (int) Math.min(Integer.MAX_VALUE, ledger.estimatedBytes()))
+                .recordStats()
+                .build();
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, ledgers, "penny.transactions.ledger");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TransactionSummaryDTO summary(UUID userId, SummaryPeriod period) {
+        LedgerTotals totals = ledger(userId).totals(period.start(), period.end());
+        return new TransactionSummaryDTO(totals.income(), totals.expense(), period.start(), period.end());
+    }
+
+    /**
+     * Totals come from the ledger; only the names and colors of the categories involved are read
+     * from the database.
+     */
+    public TransactionBreakdownDTO breakdown(UUID userId, SummaryPeriod period) {
+        LedgerBreakdown breakdown = ledger(userId).breakdown(period.start(), period.end());
+
+        Map<UUID, Category> categoriesById = breakdown.categories().isEmpty() ? Map.of()
+                : categoryRepository.findAllById(breakdown.categories().keySet()).stream()
+                        .collect(Collectors.toMap(Category::getId, Function.identity()));
+        // Mesma ordem da consulta SQL: nome e, no empate, id
+        List<CategoryBreakdownDTO> categories = breakdown.categories().entrySet().stream()
+                .filter(entry -> categoriesById.containsKey(entry.getKey()))
+                .map(entry -> {
+                    Category category = categoriesById.get(entry.getKey());
+                    LedgerTotals totals = entry.getValue();
+                    return new CategoryBreakdownDTO(category.getId(), category.getName(), category.getColor(),
+                            totals.income(), totals.expense(), totals.count());
+                })
+                .sorted(Comparator.comparing(CategoryBreakdownDTO::categoryName)
+                        .thenComparing(category -> category.categoryId().toString()))
+                .toList();
+        List<MonthBreakdownDTO> months = breakdown.months().entrySet().stream()
+                .map(entry -> new MonthBreakdownDTO(entry.getKey(), entry.getValue().income(),
+                        entry.getValue().expense(), entry.getValue().count()))
+                .toList();
+
+        LedgerTotals total = breakdown.total();
+        return new TransactionBreakdownDTO(
+                new TransactionSummaryDTO(total.income(), total.expense(), period.start(), period.end()),
+                categories, months);
+    }
+
+    public TransactionSeriesDTO series(UUID userId, SummaryPeriod period, SeriesGranularity granularity) {
+        LedgerSeries series = ledger(userId).series(period.start(), period.end(), granularity);
+
+        List<SeriesPointDTO> points = new ArrayList<>(series.bucketStarts().size());
+        Money openingBalance = Money.ofCents(series.openingBalanceCents());
+        Money balance = openingBalance;
+        for (int i = 0; i < series.bucketStarts().size(); i++) {
+            Money income = Money.ofCents(series.incomeCents()[i]);
+            Money expense = Money.ofCents(series.expenseCents()[i]);
+            balance = balance.plus(income).minus(expense);
+            points.add(new SeriesPointDTO(series.bucketStarts().get(i), income, expense, balance));
+        }
+        return new TransactionSeriesDTO(granularity, period.start(), period.end(), openingBalance, points);
+    }
+
+    /**
+     * Adds or replaces {@code transactions} in the user's ledger, if loaded, after the current
+     * transaction commits.
+     */
+    public void upsertAfterCommit(UUID userId, Collection<Transaction> transactions) {
+        if (!enabled || transactions.isEmpty()) {
+            return;
+        }
+        // Copia as colunas agora: as entidades podem estar desanexadas quando o commit terminar
+        upsertEntriesAfterCommit(userId, transactions.stream().map(LedgerEntry::of).toList());
+    }
+
+    /**
+     * Same as {@link #upsertAfterCommit}, for writers that create rows without entities.
+     */
+    public void upsertEntriesAfterCommit(UUID userId, List<LedgerEntry> entries) {
+        if (!enabled || entries.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(AfterCommit.LEDGER, () -> ledgers.asMap().computeIfPresent(userId, (id, ledger) -> ledger.with(List.of(), entries)));
+    }
+
+    public void removeAfterCommit(UUID userId, UUID transactionId) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(AfterCommit.LEDGER, () -> ledgers.asMap().computeIfPresent(userId, (id, ledger) -> ledger.with(List.of(transactionId), List.of())));
+    }
+
+    /**
+     * Drops every loaded ledger after the current transaction commits, so they are reloaded
+     * from {@code transactions} on the next analytical request.
+     */
+    public void invalidateAllAfterCommit() {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(AfterCommit.LEDGER, () -> {
+            generation.incrementAndGet();
+            ledgers.invalidateAll();
+        });
+    }
+
+    long weightedBytes() {
+        ledgers.cleanUp();
+        return ledgers.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    boolean isLoaded(UUID userId) {
+        return ledgers.asMap().containsKey(userId);
+    }
+
+    private UserLedger ledger(UUID userId) {
+        long loadedGeneration = generation.get();
+        UserLedger ledger = ledgers.get(userId, id -> readOnlyTransaction.execute(status -> {
+            if (!userRepository.existsById(id)) {
+                throw new ResourceNotFoundException("User not found");
+            }
+            return transactionLedgerRepository.load(id);
+        }));
+        // invalidateAll não descarta cargas em andamento: uma que leu antes do commit sai aqui
+        if (generation.get() != loadedGeneration) {
+            ledgers.asMap().remove(userId, ledger);
+        }
+        return ledger;
+    }
+}
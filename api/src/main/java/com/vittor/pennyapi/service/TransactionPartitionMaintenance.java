@@ -0,0 +1,141 @@
+package com.vittor.pennyapi.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} (see migration V3) in shape: creates the
+ * upcoming months ahead of time, carves months that hold rows out of {@code transactions_history}
+ * (imports of old statements) so queries can prune them, and, when a retention is configured,
+ * detaches the oldest months into the {@code transactions_archive} schema. Rows of
+ * {@code transactions_history} older than the retention have no monthly partition, so they are
+ * moved to {@code transactions_archive.transactions_history} (migration V10). Archiving also
+ * removes those months from {@code transaction_monthly_aggregates} (migrations V9 and V10) and,
+ * once committed, drops the cached summaries and ledgers that still count them.
+ * <p>
+ * Monthly partitions are always contiguous, so months are created outward from the existing
+ * range and archived from its start. Runs at startup and then periodically, in one transaction
+ * guarded by a Postgres advisory lock so concurrent nodes do not do the same work twice.
+ */
+@Component
+public class TransactionPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionMaintenance.class);
+
+    private static final long ADVISORY_LOCK_KEY = 0x7065_6e6e_7970_6172L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionSummaryCache transactionSummaryCache;
+    private final TransactionLedger transactionLedger;
+    private final int monthsAhead;
+    private final int historyMonths;
+    private final int retentionMonths;
+
+    public TransactionPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                           TransactionSummaryCache transactionSummaryCache,
+                                           TransactionLedger transactionLedger,
+                                           @Value("${api.partitions.months-ahead}") int monthsAhead,
+                                           @Value("${api.partitions.history-months}") int historyMonths,
+                                           @Value("${api.partitions.retention-months}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionSummaryCache = transactionSummaryCache;
+        this.transactionLedger = transactionLedger;
+        this.monthsAhead = monthsAhead;
+        this.historyMonths = historyMonths;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${api.partitions.maintenance-interval}")
+    @Transactional
+    public void maintain() {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Partition maintenance already running on another node");
+            return;
+        }
+        // Criar e desanexar partições exige lock exclusivo na tabela pai; melhor tentar de novo
+        // na próxima execução do que enfileirar as consultas atrás de uma transação longa
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+
+        YearMonth current = YearMonth.now();
+        int created = createUpcoming(current) + createFromHistory(current);
+        int archived = 0;
+        long archivedHistoryRows = 0;
+        if (retentionMonths > 0) {
+            YearMonth cutoff = current.minusMonths(retentionMonths - 1);
+            archived = archiveBefore(cutoff);
+            archivedHistoryRows = jdbcTemplate.queryForObject(
+                    "SELECT archive_transactions_history(?)", Long.class, cutoff.atDay(1));
+        }
+        if (archived > 0 || archivedHistoryRows > 0) {
+            transactionLedger.invalidateAllAfterCommit();
+            transactionSummaryCache.invalidateAllAfterCommit();
+        }
+
+        if (created > 0 || archived > 0 || archivedHistoryRows > 0) {
+            log.info("Transaction partitions: {} created, {} archived, {} history rows archived",
+                    created, archived, archivedHistoryRows);
+        }
+    }
+
+    private int createUpcoming(YearMonth current) {
+        YearMonth last = partitionMonths().getLast();
+        int created = 0;
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            created += createPartition(month);
+        }
+        return created;
+    }
+
+    private int createFromHistory(YearMonth current) {
+        int window = retentionMonths > 0 ? Math.min(historyMonths, retentionMonths) : historyMonths;
+        LocalDate oldestRow = jdbcTemplate.queryForObject(
+                "SELECT MIN(date) FROM transactions_history WHERE date >= ?",
+                LocalDate.class, current.minusMonths(window - 1).atDay(1));
+        if (oldestRow == null) {
+            return 0;
+        }
+
+        YearMonth first = partitionMonths().getFirst();
+        int created = 0;
+        for (YearMonth month = first.minusMonths(1); !month.isBefore(YearMonth.from(oldestRow)); month = month.minusMonths(1)) {
+            created += createPartition(month);
+        }
+        return created;
+    }
+
+    private int archiveBefore(YearMonth cutoff) {
+        int archived = 0;
+        for (YearMonth month : partitionMonths()) {
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT archive_transactions_partition(?)", Boolean.class, month.atDay(1)))) {
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    private int createPartition(YearMonth month) {
+        Boolean created = jdbcTemplate.queryForObject("SELECT create_transactions_partition(?)", Boolean.class, month.atDay(1));
+        return Boolean.TRUE.equals(created) ? 1 : 0;
+    }
+
+    private List<YearMonth> partitionMonths() {
+        return jdbcTemplate.queryForList("SELECT month FROM transactions_partition_months() month", LocalDate.class)
+                .stream()
+                .map(YearMonth::from)
+                .toList();
+    }
+}
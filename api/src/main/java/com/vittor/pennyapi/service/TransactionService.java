@@ -1,30 +1,64 @@
 package com.vittor.pennyapi.service;
 
 import com.vittor.pennyapi.dto.CreateTransactionDTO;
+import com.vittor.pennyapi.dto.CursorPageDTO;
+import com.vittor.pennyapi.dto.FieldErrorDTO;
+import com.vittor.pennyapi.dto.SummaryPeriodDTO;
+import com.vittor.pennyapi.dto.TransactionBatchItemErrorDTO;
+import com.vittor.pennyapi.dto.TransactionBatchResultDTO;
+import com.vittor.pennyapi.dto.TransactionBreakdownDTO;
 import com.vittor.pennyapi.dto.TransactionResponseDTO;
+import com.vittor.pennyapi.dto.TransactionSeriesDTO;
+import com.vittor.pennyapi.dto.TransactionFilterDTO;
 import com.vittor.pennyapi.dto.TransactionSummaryDTO;
 import com.vittor.pennyapi.dto.UpdateTransactionDTO;
 import com.vittor.pennyapi.entity.Category;
 import com.vittor.pennyapi.entity.Transaction;
 import com.vittor.pennyapi.entity.User;
+import com.vittor.pennyapi.enums.SeriesGranularity;
 import com.vittor.pennyapi.exception.BusinessRuleException;
 import com.vittor.pennyapi.exception.ResourceNotFoundException;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.CategoryBudgetRepository;
 import com.vittor.pennyapi.repository.CategoryRepository;
+import com.vittor.pennyapi.repository.SummaryPeriod;
+import com.vittor.pennyapi.repository.TransactionAggregateDelta;
+import com.vittor.pennyapi.repository.TransactionAggregateRepository;
 import com.vittor.pennyapi.repository.TransactionRepository;
+import com.vittor.pennyapi.repository.TransactionSpecifications;
+import com.vittor.pennyapi.repository.TransactionTotals;
 import com.vittor.pennyapi.repository.UserRepository;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
 
+    public static final int MAX_CURSOR_PAGE_SIZE = 200;
+
+    // Alguns anos de pontos diários; acima disso o gráfico pede granularidade maior
+    private static final int MAX_SERIES_BUCKETS = 1000;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
@@ -34,6 +68,27 @@ public class TransactionService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private TransactionAggregateRepository transactionAggregateRepository;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Autowired
+    private TransactionSummaryCache transactionSummaryCache;
+
+    @Autowired
+    private TransactionLedger transactionLedger;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
     @Transactional
     public TransactionResponseDTO create(CreateTransactionDTO dto, UUID userId) {
         User user = userRepository.findById(userId)
@@ -44,112 +99,316 @@ public class TransactionService {
 
         Transaction transaction = new Transaction();
         transaction.setDescription(dto.description());
-        transaction.setAmount(dto.amount());
+        transaction.setAmount(Money.of(dto.amount()));
         transaction.setType(dto.type());
         transaction.setDate(dto.date());
         transaction.setCategory(category);
         transaction.setUser(user);
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        TransactionAggregateDelta delta = new TransactionAggregateDelta().add(savedTransaction);
+        transactionAggregateRepository.apply(userId, delta);
+        // Só categorias com orçamento podem cruzar um limite; a categoria já está carregada
+        if (category.getMonthlyBudget() != null) {
+            categoryBudgetRepository.recordCrossings(userId, delta);
+        }
+        transactionLedger.upsertAfterCommit(userId, List.of(savedTransaction));
+        transactionSummaryCache.evictAfterCommit(userId, List.of(savedTransaction.getDate()));
 
         return new TransactionResponseDTO(savedTransaction);
     }
 
+    /**
+     * Creates every valid item and reports the invalid ones by index. Category ownership
+     * is checked with a single query for the whole batch.
+     */
+    @Transactional
+    public TransactionBatchResultDTO createBatch(List<CreateTransactionDTO> items, UUID userId) {
+        Set<UUID> requestedCategoryIds = items.stream()
+                .filter(Objects::nonNull)
+                .map(CreateTransactionDTO::categoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<UUID> ownedCategoryIds = requestedCategoryIds.isEmpty()
+                ? Set.of()
+                : categoryRepository.findIdsByUserIdAndIdIn(userId, requestedCategoryIds);
+
+        List<CreateTransactionDTO> validItems = new ArrayList<>(items.size());
+        List<TransactionBatchItemErrorDTO> errors = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            List<FieldErrorDTO> itemErrors = validateBatchItem(items.get(i), ownedCategoryIds);
+            if (itemErrors.isEmpty()) {
+                validItems.add(items.get(i));
+            } else {
+                errors.add(new TransactionBatchItemErrorDTO(i, itemErrors));
+            }
+        }
+
+        List<UUID> createdIds = validItems.isEmpty()
+                ? List.of()
+                : transactionBatchWriter.insert(userId, validItems);
+
+        return new TransactionBatchResultDTO(items.size(), createdIds.size(), createdIds, errors);
+    }
+
+    private List<FieldErrorDTO> validateBatchItem(CreateTransactionDTO dto, Set<UUID> ownedCategoryIds) {
+        if (dto == null) {
+            return List.of(new FieldErrorDTO("transaction", "Transaction is required", null));
+        }
+
+        List<FieldErrorDTO> itemErrors = validator.validate(dto).stream()
+                .map(violation -> new FieldErrorDTO(
+                        violation.getPropertyPath().toString(),
+                        violation.getMessage(),
+                        violation.getInvalidValue()
+                ))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (dto.categoryId() != null && !ownedCategoryIds.contains(dto.categoryId())) {
+            itemErrors.add(new FieldErrorDTO("categoryId", "Category not found or does not belong to user", dto.categoryId()));
+        }
+
+        return itemErrors;
+    }
+
     @Transactional(readOnly = true)
-    public Page<TransactionResponseDTO> findAll(UUID userId, Pageable pageable) {
-        Page<Transaction> transactions = transactionRepository.findByUserId(userId, pageable);
+    public Page<TransactionResponseDTO> findAll(UUID userId, TransactionFilterDTO filter, Pageable pageable) {
+        if (filter.startDate() != null && filter.endDate() != null && filter.startDate().isAfter(filter.endDate())) {
+            throw new BusinessRuleException("Start date cannot be after end date");
+        }
+        if (filter.minAmount() != null && filter.maxAmount() != null && filter.minAmount().compareTo(filter.maxAmount()) > 0) {
+            throw new BusinessRuleException("Minimum amount cannot be greater than maximum amount");
+        }
 
-        return transactions.map(TransactionResponseDTO::new);
+        return transactionRepository.findResponses(TransactionSpecifications.matching(userId, filter), pageable);
+    }
+
+    /**
+     * Keyset page ordered by {@code (date DESC, id DESC)}: each page is an index seek from the
+     * previous cursor, with no OFFSET and no COUNT, so its cost does not depend on how deep
+     * the page is or how many transactions the user has.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TransactionResponseDTO> findPage(UUID userId, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TransactionResponseDTO> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findFirstKeysetPage(userId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findKeysetPageAfter(userId, position.date(), position.id(), limit);
+        }
+
+        boolean hasNext = transactions.size() > pageSize;
+        List<TransactionResponseDTO> content = hasNext ? transactions.subList(0, pageSize) : transactions;
+
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionResponseDTO last = content.get(content.size() - 1);
+            nextCursor = new TransactionCursor(last.date(), last.id()).encode();
+        }
+
+        return new CursorPageDTO<>(content, content.size(), nextCursor, hasNext);
     }
 
     @Transactional(readOnly = true)
     public TransactionResponseDTO findById(UUID id, UUID userId) {
-        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
+        return transactionRepository.findResponseByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found or does not belong to user"));
-
-        return new TransactionResponseDTO(transaction);
     }
 
     @Transactional
     public TransactionResponseDTO update(UUID id, UpdateTransactionDTO dto, UUID userId) {
-        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
+        Transaction transaction = transactionRepository.findForUpdateByIdAndUserId(id, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found or does not belong to user"));
 
         Category category = categoryRepository.findByIdAndUserId(dto.categoryId(), userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found or does not belong to user"));
 
+        TransactionAggregateDelta delta = new TransactionAggregateDelta().subtract(transaction);
+        LocalDate previousDate = transaction.getDate();
         transaction.setDescription(dto.description());
-        transaction.setAmount(dto.amount());
+        transaction.setAmount(Money.of(dto.amount()));
         transaction.setType(dto.type());
         transaction.setDate(dto.date());
         transaction.setCategory(category);
 
         Transaction updatedTransaction = transactionRepository.save(transaction);
+        transactionAggregateRepository.apply(userId, delta.add(updatedTransaction));
+        // O gasto só aumenta na categoria de destino; a de origem, se diferente, só diminui
+        if (category.getMonthlyBudget() != null) {
+            categoryBudgetRepository.recordCrossings(userId, delta);
+        }
+        transactionLedger.upsertAfterCommit(userId, List.of(updatedTransaction));
+        transactionSummaryCache.evictAfterCommit(userId, List.of(previousDate, updatedTransaction.getDate()));
 
         return new TransactionResponseDTO(updatedTransaction);
     }
 
     @Transactional
     public void delete(UUID id, UUID userId) {
-        if (!transactionRepository.existsByIdAndUserId(id, userId)) {
-            throw new ResourceNotFoundException("Transaction not found or does not belong to user");
-        }
+        Transaction transaction = transactionRepository.findForUpdateByIdAndUserId(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found or does not belong to user"));
 
-        transactionRepository.deleteByIdAndUserId(id, userId);
+        transactionRepository.delete(transaction);
+        transactionAggregateRepository.apply(userId, new TransactionAggregateDelta().subtract(transaction));
+        transactionLedger.removeAfterCommit(userId, transaction.getId());
+        transactionSummaryCache.evictAfterCommit(userId, List.of(transaction.getDate()));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link TransactionSummaryCache}; a miss is answered by the {@link TransactionLedger}
+     * when enabled, otherwise it opens a transaction and reads the database.
+     */
     public TransactionSummaryDTO getFinancialSummary(UUID userId, LocalDate startDate, LocalDate endDate) {
-        // Valida que usuário existe (padrão existente)
-        User user = userRepository.findById(userId)
+        SummaryPeriod range = resolveSummaryRange(startDate, endDate);
+
+        return transactionSummaryCache.get(userId, range.start(), range.end(), () -> transactionLedger.isEnabled()
+                ? transactionLedger.summary(userId, range)
+                : readOnlyTransaction().execute(status -> {
+            // Valida que usuário existe (padrão existente)
+            userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+            TransactionTotals totals = sumRange(userId, range);
+
+            // Retorna DTO (balance calculado no constructor)
+            return new TransactionSummaryDTO(totals.income(), totals.expense(), range.start(), range.end());
+        }));
+    }
+
+    /**
+     * Summaries of several periods, each resolved with the rules of {@link #getFinancialSummary}
+     * and returned in the order requested. Periods not yet cached are summed together in a
+     * single query.
+     */
+    public List<TransactionSummaryDTO> getFinancialSummaries(UUID userId, List<SummaryPeriodDTO> periods) {
+        List<SummaryPeriod> ranges = periods.stream()
+                .map(period -> resolveSummaryRange(period.startDate(), period.endDate()))
+                .toList();
+
+        return transactionSummaryCache.getAll(userId, ranges, missing -> transactionLedger.isEnabled()
+                ? missing.stream().map(range -> transactionLedger.summary(userId, range)).toList()
+                : readOnlyTransaction().execute(status -> {
+            userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+            List<TransactionTotals> totals = transactionAggregateRepository.sumPeriods(userId, missing);
+            List<TransactionSummaryDTO> summaries = new ArrayList<>(missing.size());
+            for (int i = 0; i < missing.size(); i++) {
+                SummaryPeriod range = missing.get(i);
+                summaries.add(new TransactionSummaryDTO(totals.get(i).income(), totals.get(i).expense(), range.start(), range.end()));
+            }
+            return summaries;
+        }));
+    }
+
+    /**
+     * Same period rules as {@link #getFinancialSummary}, with the totals also split per category
+     * and per month, all from a single grouped query.
+     */
+    @Transactional(readOnly = true)
+    public TransactionBreakdownDTO getBreakdown(UUID userId, LocalDate startDate, LocalDate endDate) {
+        userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // Determina range de datas (default = mês atual)
-        LocalDate effectiveStartDate;
-        LocalDate effectiveEndDate;
+        SummaryPeriod range = resolveSummaryRange(startDate, endDate);
+        if (transactionLedger.isEnabled()) {
+            return transactionLedger.breakdown(userId, range);
+        }
+        return transactionAggregateRepository.breakdown(userId, range);
+    }
 
+    /**
+     * Per-bucket income, expense and running balance over the same period rules as
+     * {@link #getFinancialSummary}. Empty buckets are returned with zero totals.
+     */
+    @Transactional(readOnly = true)
+    public TransactionSeriesDTO getSeries(UUID userId, SeriesGranularity granularity, LocalDate startDate, LocalDate endDate) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        SummaryPeriod range = resolveSummaryRange(startDate, endDate);
+        if (bucketCount(granularity, range) > MAX_SERIES_BUCKETS) {
+            throw new BusinessRuleException("A series cannot have more than " + MAX_SERIES_BUCKETS
+                    + " buckets; use a shorter period or a coarser granularity");
+        }
+        if (transactionLedger.isEnabled()) {
+            return transactionLedger.series(userId, range, granularity);
+        }
+        return transactionAggregateRepository.series(userId, range.start(), range.end(), granularity);
+    }
+
+    private static long bucketCount(SeriesGranularity granularity, SummaryPeriod range) {
+        return switch (granularity) {
+            case DAY -> ChronoUnit.DAYS.between(range.start(), range.end()) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(range.start().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)), range.end()) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(range.start().withDayOfMonth(1), range.end()) + 1;
+        };
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static SummaryPeriod resolveSummaryRange(LocalDate startDate, LocalDate endDate) {
+        // Determina range de datas (default = mês atual)
         if (startDate == null && endDate == null) {
             // Default: mês atual
             LocalDate today = LocalDate.now();
-            effectiveStartDate = today.withDayOfMonth(1);
-            effectiveEndDate = today.withDayOfMonth(today.lengthOfMonth());
-        } else if (startDate == null) {
+            return new SummaryPeriod(today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()));
+        }
+        if (startDate == null) {
             // Apenas endDate fornecido: usa início daquele mês
-            effectiveStartDate = endDate.withDayOfMonth(1);
-            effectiveEndDate = endDate;
-        } else if (endDate == null) {
+            return new SummaryPeriod(endDate.withDayOfMonth(1), endDate);
+        }
+        if (endDate == null) {
             // Apenas startDate fornecido: usa fim daquele mês
-            effectiveStartDate = startDate;
-            effectiveEndDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-        } else {
-            // Ambos fornecidos: valida
-            if (startDate.isAfter(endDate)) {
-                throw new BusinessRuleException("Start date cannot be after end date");
-            }
-            effectiveStartDate = startDate;
-            effectiveEndDate = endDate;
+            return new SummaryPeriod(startDate, startDate.withDayOfMonth(startDate.lengthOfMonth()));
+        }
+        // Ambos fornecidos: valida
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessRuleException("Start date cannot be after end date");
         }
+        return new SummaryPeriod(startDate, endDate);
+    }
 
-        // Executa query
-        java.util.List<Object[]> resultList = transactionRepository.calculateFinancialSummary(
-                userId,
-                effectiveStartDate,
-                effectiveEndDate
-        );
+    /**
+     * Whole months come from the monthly aggregates, one row per category and type, so the cost
+     * grows with the number of months rather than of transactions. Only the partial months at
+     * either end of the range are summed from the transactions themselves.
+     */
+    private TransactionTotals sumRange(UUID userId, SummaryPeriod period) {
+        if (!period.hasFullMonths()) {
+            return sumTransactions(userId, period.start(), period.end());
+        }
 
-        if (resultList.isEmpty()) {
-             // Should not happen with aggregate query unless something is very wrong, 
-             // but handle gracefully
-             return new TransactionSummaryDTO(BigDecimal.ZERO, BigDecimal.ZERO, effectiveStartDate, effectiveEndDate);
+        YearMonth firstFullMonth = period.firstFullMonth();
+        YearMonth lastFullMonth = period.lastFullMonth();
+        TransactionTotals totals = transactionAggregateRepository.sumMonths(userId, firstFullMonth, lastFullMonth);
+        if (period.start().isBefore(firstFullMonth.atDay(1))) {
+            totals = totals.plus(sumTransactions(userId, period.start(), firstFullMonth.atDay(1).minusDays(1)));
+        }
+        if (period.end().isAfter(lastFullMonth.atEndOfMonth())) {
+            totals = totals.plus(sumTransactions(userId, lastFullMonth.plusMonths(1).atDay(1), period.end()));
         }
+        return totals;
+    }
 
-        Object[] result = resultList.get(0);
+    private TransactionTotals sumTransactions(UUID userId, LocalDate start, LocalDate end) {
+        List<Object[]> resultList = transactionRepository.calculateFinancialSummary(userId, start, end);
 
-        // Extrai e converte resultados
-        BigDecimal totalIncome = (BigDecimal) result[0];
-        BigDecimal totalExpense = (BigDecimal) result[1];
+        if (resultList.isEmpty()) {
+            // Não deveria acontecer com uma query de agregação, mas trata de forma segura
+            return TransactionTotals.ZERO;
+        }
 
-        // Retorna DTO (balance calculado no constructor)
-        return new TransactionSummaryDTO(totalIncome, totalExpense, effectiveStartDate, effectiveEndDate);
+        Object[] result = resultList.get(0);
+        return new TransactionTotals(Money.of((BigDecimal) result[0]), Money.of((BigDecimal) result[1]));
     }
 }
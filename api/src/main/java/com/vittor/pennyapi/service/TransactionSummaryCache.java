@@ -0,0 +1,217 @@
+package com.vittor.pennyapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.vittor.pennyapi.dto.TransactionSummaryDTO;
+import com.vittor.pennyapi.repository.SummaryPeriod;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caches financial summaries per user and date range, bounded by
+ * {@code api.summary-cache.max-size} and expired {@code api.summary-cache.ttl} milliseconds
+ * after being loaded. Concurrent misses for the same range share a single load.
+ * <p>
+ * Writes evict, once their transaction commits, only the user's ranges that contain one of the
+ * changed dates, found through a per-user index of the cached ranges, so an eviction costs the
+ * number of ranges the user has cached, not the size of the cache. A load that overlaps such a
+ * commit may have read the old rows, so it is served to its caller but not kept. Hits, misses
+ * and evictions are published under {@code cache=penny.transactions.summary}.
+ */
+@Component
+public class TransactionSummaryCache {
+
+    private static final int GENERATION_STRIPES = 256;
+
+    private record Key(UUID userId, LocalDate start, LocalDate end) {
+    }
+
+    private final Cache<Key, TransactionSummaryDTO> cache;
+    // Faixas em cache por usuário. Alterado dentro das operações atômicas do cache sobre a
+    // mesma chave, então toda chave em cache está no índice (o contrário pode sobrar e é
+    // inofensivo)
+    private final ConcurrentMap<UUID, Set<Key>> keysByUser = new ConcurrentHashMap<>();
+    // Contador de commits por faixa de usuários, usado para descartar cargas concorrentes a uma
+    // escrita
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public TransactionSummaryCache(@Value("${api.summary-cache.max-size}") long maxSize,
+                                   @Value("${api.summary-cache.ttl}") long ttlMillis,
+                                   MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .evictionListener((Key key, TransactionSummaryDTO summary, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "penny.transactions.summary");
+    }
+
+    public TransactionSummaryDTO get(UUID userId, LocalDate start, LocalDate end, Supplier<TransactionSummaryDTO> loader) {
+        Key key = new Key(userId, start, end);
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+
+        TransactionSummaryDTO summary = cache.get(key, loading -> {
+            index(loading);
+            return loader.get();
+        });
+        // Uma escrita do mesmo usuário commitou durante a carga: o valor pode ser anterior a ela
+        if (generations.get(stripe) != generation) {
+            remove(key, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * Returns the summaries of {@code periods} in the order given, passing only the periods that
+     * are not cached to {@code loader} in a single call. The loader must answer in the order it
+     * received them.
+     */
+    public List<TransactionSummaryDTO> getAll(UUID userId, List<SummaryPeriod> periods,
+                                              Function<List<SummaryPeriod>, List<TransactionSummaryDTO>> loader) {
+        List<Key> keys = periods.stream().map(period -> new Key(userId, period.start(), period.end())).toList();
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+
+        Map<Key, TransactionSummaryDTO> summaries = cache.getAll(keys, missing -> {
+            List<Key> missingKeys = List.copyOf(missing);
+            missingKeys.forEach(this::index);
+            List<TransactionSummaryDTO> loaded = loader.apply(missingKeys.stream()
+                    .map(key -> new SummaryPeriod(key.start(), key.end()))
+                    .toList());
+            Map<Key, TransactionSummaryDTO> byKey = new HashMap<>();
+            for (int i = 0; i < missingKeys.size(); i++) {
+                byKey.put(missingKeys.get(i), loaded.get(i));
+            }
+            return byKey;
+        });
+        // A carga em lote não é atômica por chave: uma eviction por tamanho entre indexar e
+        // inserir tiraria a chave do índice, então indexa de novo (uma chave que sobrar no índice
+        // é inofensiva)
+        keys.forEach(this::index);
+        if (generations.get(stripe) != generation) {
+            summaries.forEach(this::remove);
+        }
+        return keys.stream().map(summaries::get).toList();
+    }
+
+    /**
+     * Evicts the user's cached ranges containing any of {@code dates} after the current
+     * transaction commits, or right away when there is no transaction.
+     */
+    public void evictAfterCommit(UUID userId, Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        NavigableSet<LocalDate> changed = new TreeSet<>(dates);
+        AfterCommit.run(AfterCommit.SUMMARY_CACHE, () -> {
+            generations.incrementAndGet(stripe(userId));
+            evict(userId, changed);
+        });
+    }
+
+    /**
+     * Same as {@link #evictAfterCommit} for several users at once.
+     */
+    public void evictAfterCommit(Map<UUID, ? extends Collection<LocalDate>> datesByUser) {
+        if (datesByUser.isEmpty()) {
+            return;
+        }
+        Map<UUID, NavigableSet<LocalDate>> changed = new HashMap<>();
+        datesByUser.forEach((userId, dates) -> changed.put(userId, new TreeSet<>(dates)));
+        AfterCommit.run(AfterCommit.SUMMARY_CACHE, () -> {
+            changed.keySet().forEach(userId -> generations.incrementAndGet(stripe(userId)));
+            changed.forEach(this::evict);
+        });
+    }
+
+    public void invalidateAllAfterCommit() {
+        AfterCommit.run(AfterCommit.SUMMARY_CACHE, () -> {
+            for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+                generations.incrementAndGet(stripe);
+            }
+            cache.asMap().keySet().forEach(key -> remove(key, null));
+        });
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    int indexedKeys() {
+        return keysByUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void evict(UUID userId, NavigableSet<LocalDate> dates) {
+        Set<Key> keys = keysByUser.get(userId);
+        if (keys == null) {
+            return;
+        }
+        for (Key key : List.copyOf(keys)) {
+            // Chaves ainda carregando não aparecem aqui e são descartadas pela geração, sem
+            // esperar a carga
+            if (overlaps(key, dates) && cache.asMap().containsKey(key)) {
+                remove(key, null);
+            }
+        }
+    }
+
+    /**
+     * Removes {@code key} from the cache and the index, only if it still maps to
+     * {@code expected} when that is not null.
+     */
+    private void remove(Key key, TransactionSummaryDTO expected) {
+        cache.asMap().compute(key, (ignored, current) -> {
+            if (current != null && expected != null && current != expected) {
+                return current;
+            }
+            unindex(key);
+            return null;
+        });
+    }
+
+    private void index(Key key) {
+        keysByUser.compute(key.userId(), (userId, keys) -> {
+            Set<Key> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            indexed.add(key);
+            return indexed;
+        });
+    }
+
+    private void unindex(Key key) {
+        keysByUser.computeIfPresent(key.userId(), (userId, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static boolean overlaps(Key key, NavigableSet<LocalDate> dates) {
+        LocalDate first = dates.ceiling(key.start());
+        return first != null && !first.isAfter(key.end());
+    }
+
+    private static int stripe(UUID userId) {
+        return userId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+}
@@ -0,0 +1,28 @@
+-- Linhas de transactions_history mais antigas que a retenção não têm partição mensal própria
+-- para desanexar (TransactionPartitionMaintenance só recorta meses dentro da retenção). Esta
+-- função as move para transactions_archive.transactions_history e remove os agregados mensais
+-- desses meses, na mesma transação. Retorna o número de linhas movidas.
+CREATE FUNCTION archive_transactions_history(p_before DATE) RETURNS BIGINT
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_before DATE := date_trunc('month', p_before)::date;
+    v_moved  BIGINT;
+BEGIN
+    -- Bloqueia escritas em datas antigas durante a cópia; leituras continuam
+    LOCK TABLE transactions_history IN EXCLUSIVE MODE;
+
+    CREATE SCHEMA IF NOT EXISTS transactions_archive;
+    CREATE TABLE IF NOT EXISTS transactions_archive.transactions_history
+        (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+    WITH moved AS (DELETE FROM transactions_history WHERE date < v_before RETURNING *)
+    INSERT INTO transactions_archive.transactions_history SELECT * FROM moved;
+    GET DIAGNOSTICS v_moved = ROW_COUNT;
+
+    -- Meses anteriores a v_before só tinham linhas em transactions_history ou em partições já
+    -- arquivadas, cujos agregados saíram junto com elas
+    IF v_moved > 0 THEN
+        DELETE FROM transaction_monthly_aggregates WHERE month < v_before;
+    END IF;
+    RETURN v_moved;
+END
+$$;
@@ -0,0 +1,50 @@
+-- Schema inicial, equivalente ao que o Hibernate gerava com ddl-auto=update.
+-- Bancos já existentes recebem baseline nesta versão (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    id         UUID         NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE categories (
+    id         UUID         NOT NULL,
+    name       VARCHAR(50)  NOT NULL,
+    icon       VARCHAR(50)  NOT NULL,
+    color      VARCHAR(7)   NOT NULL,
+    user_id    UUID         NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_categories PRIMARY KEY (id),
+    CONSTRAINT fk_categories_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE transactions (
+    id          UUID           NOT NULL,
+    description VARCHAR(255)   NOT NULL,
+    amount      NUMERIC(19, 2) NOT NULL,
+    type        VARCHAR(10)    NOT NULL,
+    date        DATE           NOT NULL,
+    category_id UUID           NOT NULL,
+    user_id     UUID           NOT NULL,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_transactions PRIMARY KEY (id),
+    CONSTRAINT ck_transactions_type CHECK (type IN ('INCOME', 'EXPENSE')),
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE token_revocations (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    token_id   VARCHAR(36),
+    user_id    UUID                        NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_token_revocations PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations (revoked_at);
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations (expires_at);
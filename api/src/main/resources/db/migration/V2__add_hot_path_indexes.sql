@@ -0,0 +1,16 @@
+-- Índices dos predicados quentes. CONCURRENTLY evita bloquear escritas em tabelas grandes
+-- (o Flyway executa esta migration fora de transação).
+
+-- Listagens, keyset (date DESC, id DESC) e resumo financeiro: o INCLUDE permite
+-- index-only scan em calculateFinancialSummary
+DROP INDEX CONCURRENTLY IF EXISTS idx_transactions_user_date_id;
+CREATE INDEX CONCURRENTLY idx_transactions_user_date_id
+    ON transactions (user_id, date, id) INCLUDE (type, amount);
+
+-- existsByCategoryId e filtros por categoria do usuário; também atende a FK category_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_category_user
+    ON transactions (category_id, user_id);
+
+-- findByUserId e findByIdAndUserId de categorias
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_user_id
+    ON categories (user_id) INCLUDE (name);
@@ -0,0 +1,144 @@
+-- Particiona transactions por intervalo mensal de date. Consultas que filtram por date
+-- (resumo financeiro, keyset) passam a ler apenas as partições do período (partition pruning).
+-- Chaves únicas de tabelas particionadas precisam conter a chave de partição, por isso a PK
+-- passa a ser (id, date); o Hibernate continua mapeando apenas id como identificador.
+--
+-- Layout: transactions_history (MINVALUE até o primeiro mês), uma partição por mês
+-- (transactions_pYYYYMM) e transactions_future (após o último mês até MAXVALUE). Não há
+-- partição DEFAULT: com ela o planner não consegue usar Append ordenado, e o keyset
+-- (ORDER BY date DESC ... LIMIT) teria de abrir o índice de todas as partições.
+
+ALTER TABLE transactions RENAME TO transactions_legacy;
+
+CREATE TABLE transactions (
+    id          UUID           NOT NULL,
+    description VARCHAR(255)   NOT NULL,
+    amount      NUMERIC(19, 2) NOT NULL,
+    type        VARCHAR(10)    NOT NULL,
+    date        DATE           NOT NULL,
+    category_id UUID           NOT NULL,
+    user_id     UUID           NOT NULL,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT ck_transactions_type CHECK (type IN ('INCOME', 'EXPENSE')),
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (id)
+) PARTITION BY RANGE (date);
+
+-- Partições mensais dos últimos 10 anos com dados até 3 meses à frente; o restante é
+-- mantido em dia pelo TransactionPartitionMaintenance
+DO $$
+DECLARE
+    v_first DATE := date_trunc('month', GREATEST(
+            COALESCE((SELECT MIN(date) FROM transactions_legacy), current_date),
+            current_date - INTERVAL '119 months'))::date;
+    v_last  DATE := (date_trunc('month', current_date) + INTERVAL '3 months')::date;
+    v_month DATE := v_first;
+BEGIN
+    EXECUTE format('CREATE TABLE transactions_history PARTITION OF transactions FOR VALUES FROM (MINVALUE) TO (%L)',
+                   v_first);
+    WHILE v_month <= v_last LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_p' || to_char(v_month, 'YYYYMM'), v_month, v_month + INTERVAL '1 month');
+        v_month := v_month + INTERVAL '1 month';
+    END LOOP;
+    EXECUTE format('CREATE TABLE transactions_future PARTITION OF transactions FOR VALUES FROM (%L) TO (MAXVALUE)',
+                   v_month);
+END
+$$;
+
+INSERT INTO transactions (id, description, amount, type, date, category_id, user_id, created_at)
+SELECT id, description, amount, type, date, category_id, user_id, created_at
+FROM transactions_legacy;
+
+DROP TABLE transactions_legacy;
+
+-- Criados na tabela pai, são propagados para todas as partições (atuais e futuras)
+ALTER TABLE transactions ADD CONSTRAINT pk_transactions PRIMARY KEY (id, date);
+
+CREATE INDEX idx_transactions_user_date_id
+    ON transactions (user_id, date, id) INCLUDE (type, amount);
+
+CREATE INDEX idx_transactions_category_user
+    ON transactions (category_id, user_id);
+
+-- Meses que têm partição própria, em ordem
+CREATE FUNCTION transactions_partition_months() RETURNS SETOF DATE
+LANGUAGE sql STABLE AS $$
+    SELECT to_date(substr(c.relname, length('transactions_p') + 1), 'YYYYMM')
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'transactions'::regclass
+      AND c.relname ~ '^transactions_p[0-9]{6}$'
+    ORDER BY 1
+$$;
+
+-- Cria a partição do mês de p_month. O mês precisa ser vizinho das partições mensais
+-- existentes: ele é recortado de transactions_future (mês seguinte ao último) ou de
+-- transactions_history (mês anterior ao primeiro), levando junto as linhas desse mês.
+-- Retorna false se a partição já existe.
+CREATE FUNCTION create_transactions_partition(p_month DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_start  DATE := date_trunc('month', p_month)::date;
+    v_end    DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name   TEXT := 'transactions_p' || to_char(p_month, 'YYYYMM');
+    v_first  DATE;
+    v_last   DATE;
+    v_source TEXT;
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    SELECT MIN(m), MAX(m) INTO v_first, v_last FROM transactions_partition_months() m;
+    IF v_start = v_last + INTERVAL '1 month' THEN
+        v_source := 'transactions_future';
+    ELSIF v_end = v_first THEN
+        v_source := 'transactions_history';
+    ELSE
+        RAISE EXCEPTION 'Partition for % is not adjacent to the monthly partitions (% to %)', v_start, v_first, v_last;
+    END IF;
+
+    EXECUTE format('ALTER TABLE transactions DETACH PARTITION %I', v_source);
+    EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE date >= %L AND date < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', v_source, v_start, v_end, v_name);
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   v_name, v_start, v_end);
+
+    IF v_source = 'transactions_future' THEN
+        EXECUTE format('ALTER TABLE transactions ATTACH PARTITION transactions_future FOR VALUES FROM (%L) TO (MAXVALUE)',
+                       v_end);
+    ELSE
+        EXECUTE format('ALTER TABLE transactions ATTACH PARTITION transactions_history FOR VALUES FROM (MINVALUE) TO (%L)',
+                       v_start);
+    END IF;
+    RETURN TRUE;
+END
+$$;
+
+-- Desanexa a partição mensal mais antiga (p_month), move-a para o schema
+-- transactions_archive e estende transactions_history até o fim desse mês.
+-- Retorna false se p_month não é a partição mensal mais antiga.
+CREATE FUNCTION archive_transactions_partition(p_month DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::date;
+    v_end   DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name  TEXT := 'transactions_p' || to_char(p_month, 'YYYYMM');
+BEGIN
+    IF v_start IS DISTINCT FROM (SELECT MIN(m) FROM transactions_partition_months() m) THEN
+        RETURN FALSE;
+    END IF;
+
+    CREATE SCHEMA IF NOT EXISTS transactions_archive;
+    EXECUTE format('ALTER TABLE transactions DETACH PARTITION %I', v_name);
+    EXECUTE format('ALTER TABLE %I SET SCHEMA transactions_archive', v_name);
+    ALTER TABLE transactions DETACH PARTITION transactions_history;
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION transactions_history FOR VALUES FROM (MINVALUE) TO (%L)',
+                   v_end);
+    RETURN TRUE;
+END
+$$;
+
+ANALYZE transactions;
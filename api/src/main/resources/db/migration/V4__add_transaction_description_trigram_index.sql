@@ -0,0 +1,7 @@
+-- Busca por trecho da descrição (ILIKE '%texto%') em GET /api/transactions. Índices
+-- btree não atendem padrões com curinga no início; o GIN de trigramas atende.
+-- Em tabela particionada o índice não pode ser criado com CONCURRENTLY.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_description_trgm
+    ON transactions USING gin (description gin_trgm_ops);
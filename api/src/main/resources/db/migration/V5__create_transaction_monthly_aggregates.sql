@@ -0,0 +1,18 @@
+-- Totais por usuário, mês, categoria e tipo, mantidos na mesma transação das escritas em
+-- transactions (TransactionAggregateRepository). O resumo financeiro lê um registro por
+-- mês/categoria/tipo em vez de somar as transações. Tabela derivada: sem FKs, pode ser
+-- reconstruída a partir de transactions (TransactionAggregateRepair).
+CREATE TABLE transaction_monthly_aggregates (
+    user_id           UUID           NOT NULL,
+    month             DATE           NOT NULL,
+    category_id       UUID           NOT NULL,
+    type              VARCHAR(10)    NOT NULL,
+    total             NUMERIC(19, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    CONSTRAINT pk_transaction_monthly_aggregates PRIMARY KEY (user_id, month, category_id, type)
+);
+
+INSERT INTO transaction_monthly_aggregates (user_id, month, category_id, type, total, transaction_count)
+SELECT user_id, date_trunc('month', date)::date, category_id, type, SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,40 @@
+-- Regras de transações recorrentes (aluguel, salário). O RecurringTransactionMaterializer cria
+-- as ocorrências vencidas em transactions e avança next_occurrence; NULL indica regra encerrada.
+CREATE TABLE recurring_transactions (
+    id              UUID           NOT NULL,
+    description     VARCHAR(255)   NOT NULL,
+    amount          NUMERIC(19, 2) NOT NULL,
+    type            VARCHAR(10)    NOT NULL,
+    frequency       VARCHAR(10)    NOT NULL,
+    interval_count  INTEGER        NOT NULL,
+    cron_expression VARCHAR(100),
+    start_date      DATE           NOT NULL,
+    end_date        DATE,
+    next_occurrence DATE,
+    category_id     UUID           NOT NULL,
+    user_id         UUID           NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT pk_recurring_transactions PRIMARY KEY (id),
+    CONSTRAINT ck_recurring_transactions_type CHECK (type IN ('INCOME', 'EXPENSE')),
+    CONSTRAINT ck_recurring_transactions_frequency CHECK (frequency IN ('WEEKLY', 'MONTHLY', 'CRON')),
+    CONSTRAINT fk_recurring_transactions_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_recurring_transactions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Listagem por usuário e varredura do materializador em blocos de usuários (keyset por
+-- user_id), lendo next_occurrence direto do índice
+CREATE INDEX idx_recurring_transactions_user_next
+    ON recurring_transactions (user_id, next_occurrence);
+
+CREATE INDEX idx_recurring_transactions_category
+    ON recurring_transactions (category_id);
+
+-- Ocorrência materializada: a própria transação, marcada com a regra de origem. Sem FK para
+-- manter os inserts em transactions baratos; excluir a regra preserva as transações criadas.
+ALTER TABLE transactions ADD COLUMN recurring_transaction_id UUID;
+
+-- Uma transação por regra e data, mesmo que uma janela seja processada duas vezes. Parcial para
+-- não pesar nos inserts comuns; contém date, a chave de partição, como exige a tabela particionada.
+CREATE UNIQUE INDEX uq_transactions_recurring_occurrence
+    ON transactions (recurring_transaction_id, date)
+    WHERE recurring_transaction_id IS NOT NULL;
@@ -0,0 +1,30 @@
+-- Orçamento mensal de despesas por categoria (NULL = sem orçamento). O gasto do mês não tem
+-- contador próprio: é o total EXPENSE de transaction_monthly_aggregates, já mantido na mesma
+-- transação de cada escrita.
+ALTER TABLE categories ADD COLUMN monthly_budget NUMERIC(19, 2);
+
+ALTER TABLE categories ADD CONSTRAINT ck_categories_monthly_budget CHECK (monthly_budget > 0);
+
+-- Outbox dos alertas de orçamento: gravado na mesma transação da escrita que cruzou 80% ou 100%
+-- do orçamento, e publicado depois por quem consumir a tabela (published_at). Sem FKs: o evento
+-- sobrevive à exclusão da categoria até ser publicado.
+CREATE TABLE budget_alert_events (
+    id             UUID           NOT NULL,
+    user_id        UUID           NOT NULL,
+    category_id    UUID           NOT NULL,
+    month          DATE           NOT NULL,
+    threshold      INTEGER        NOT NULL,
+    monthly_budget NUMERIC(19, 2) NOT NULL,
+    spent          NUMERIC(19, 2) NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    published_at   TIMESTAMP(6),
+    CONSTRAINT pk_budget_alert_events PRIMARY KEY (id),
+    CONSTRAINT ck_budget_alert_events_threshold CHECK (threshold IN (80, 100)),
+    -- Um alerta por limite e mês, mesmo que o gasto oscile em torno dele
+    CONSTRAINT uk_budget_alert_events_category_month_threshold UNIQUE (category_id, month, threshold)
+);
+
+-- Fila do publicador: apenas eventos pendentes
+CREATE INDEX idx_budget_alert_events_pending
+    ON budget_alert_events (created_at)
+    WHERE published_at IS NULL;
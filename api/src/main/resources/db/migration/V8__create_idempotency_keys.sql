@@ -0,0 +1,17 @@
+-- Chaves de idempotência das escritas de transações (header Idempotency-Key), por usuário.
+-- A linha é inserida no início da transação da escrita e recebe a resposta antes do commit:
+-- uma requisição repetida em outro nó espera o commit no índice único e devolve a resposta
+-- gravada. request_hash é o SHA-256 da operação e do corpo, para recusar a mesma chave com
+-- outra requisição. Linhas expiradas são reaproveitadas e removidas periodicamente.
+CREATE TABLE idempotency_keys (
+    user_id         UUID          NOT NULL,
+    idempotency_key VARCHAR(255)  NOT NULL,
+    request_hash    BYTEA         NOT NULL,
+    status_code     INTEGER,
+    response_body   TEXT,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    expires_at      TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,25 @@
+-- As linhas de uma partição arquivada saem de transactions, então os agregados mensais desse
+-- mês (V5) também saem, na mesma transação do DETACH. Sem isso o resumo continuaria somando
+-- transações que a listagem e a exportação já não mostram.
+CREATE OR REPLACE FUNCTION archive_transactions_partition(p_month DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::date;
+    v_end   DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name  TEXT := 'transactions_p' || to_char(p_month, 'YYYYMM');
+BEGIN
+    IF v_start IS DISTINCT FROM (SELECT MIN(m) FROM transactions_partition_months() m) THEN
+        RETURN FALSE;
+    END IF;
+
+    CREATE SCHEMA IF NOT EXISTS transactions_archive;
+    EXECUTE format('ALTER TABLE transactions DETACH PARTITION %I', v_name);
+    EXECUTE format('ALTER TABLE %I SET SCHEMA transactions_archive', v_name);
+    ALTER TABLE transactions DETACH PARTITION transactions_history;
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION transactions_history FOR VALUES FROM (MINVALUE) TO (%L)',
+                   v_end);
+    -- transactions_history termina antes de v_start: o mês arquivado só tinha linhas na partição
+    DELETE FROM transaction_monthly_aggregates WHERE month = v_start;
+    RETURN TRUE;
+END
+$$;
@@ -0,0 +1,81 @@
+package com.vittor.pennyapi.importer;
+
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvStatementParserTest {
+
+    private static CsvStatementParser parser(String content) throws Exception {
+        return new CsvStatementParser(new BufferedReader(new StringReader(content)));
+    }
+
+    @Test
+    @DisplayName("Should parse entries using the sign of the amount as direction")
+    void next_SignedAmounts_MapsType() throws Exception {
+        CsvStatementParser parser = parser("""
+                date,description,amount,category
+                2024-01-05,"Supermarket, downtown",-123.45,Food
+                2024-01-06,Salary,5000.00,
+                """);
+
+        StatementEntry expense = parser.next();
+        StatementEntry income = parser.next();
+
+        assertEquals(LocalDate.of(2024, 1, 5), expense.date());
+        assertEquals("Supermarket, downtown", expense.description());
+        assertEquals(new BigDecimal("123.45"), expense.amount());
+        assertEquals(TransactionType.EXPENSE, expense.type());
+        assertEquals("Food", expense.category());
+        assertEquals(2, expense.lineNumber());
+
+        assertEquals(TransactionType.INCOME, income.type());
+        assertNull(income.category());
+        assertNull(parser.next());
+    }
+
+    @Test
+    @DisplayName("Should parse Brazilian exports with semicolons, decimal commas and a type column")
+    void next_BrazilianFormat_IsParsed() throws Exception {
+        CsvStatementParser parser = parser("""
+                Data;Descrição;Valor;Tipo
+                05/01/2024;Padaria;1.234,56;Despesa
+                """);
+
+        StatementEntry entry = parser.next();
+
+        assertEquals(LocalDate.of(2024, 1, 5), entry.date());
+        assertEquals(new BigDecimal("1234.56"), entry.amount());
+        assertEquals(TransactionType.EXPENSE, entry.type());
+    }
+
+    @Test
+    @DisplayName("Should report a malformed line and keep parsing the next ones")
+    void next_MalformedLine_ThrowsAndContinues() throws Exception {
+        CsvStatementParser parser = parser("""
+                date,description,amount
+                not-a-date,Broken,10.00
+                2024-02-01,Valid,10.00
+                """);
+
+        StatementParseException exception = assertThrows(StatementParseException.class, parser::next);
+        assertEquals(2, exception.getLineNumber());
+
+        StatementEntry entry = parser.next();
+        assertEquals("Valid", entry.description());
+        assertEquals(3, entry.lineNumber());
+    }
+
+    @Test
+    @DisplayName("Should reject a header without the required columns")
+    void constructor_MissingColumns_Throws() {
+        assertThrows(StatementParseException.class, () -> parser("date,amount\n2024-01-01,10\n"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.vittor.pennyapi.importer;
+
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfxStatementParserTest {
+
+    @Test
+    @DisplayName("Should parse SGML OFX transactions without closing leaf tags")
+    void next_SgmlOfx_IsParsed() throws Exception {
+        OfxStatementParser parser = new OfxStatementParser(new StringReader("""
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX>
+                <BANKMSGSRSV1><STMTTRNRS><STMTRS>
+                <BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240105120000[-3:BRT]
+                <TRNAMT>-42,50
+                <FITID>1
+                <MEMO>Coffee &amp; bakery
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>CREDIT
+                <DTPOSTED>20240106
+                <TRNAMT>1000.00
+                <NAME>Transfer
+                </STMTTRN>
+                </BANKTRANLIST>
+                </STMTRS></STMTTRNRS></BANKMSGSRSV1>
+                </OFX>
+                """));
+
+        StatementEntry debit = parser.next();
+        StatementEntry credit = parser.next();
+
+        assertEquals(LocalDate.of(2024, 1, 5), debit.date());
+        assertEquals(new BigDecimal("42.50"), debit.amount());
+        assertEquals(TransactionType.EXPENSE, debit.type());
+        assertEquals("Coffee & bakery", debit.description());
+
+        assertEquals(TransactionType.INCOME, credit.type());
+        assertEquals("Transfer", credit.description());
+        assertNull(parser.next());
+    }
+
+    @Test
+    @DisplayName("Should parse XML OFX transactions with closing tags")
+    void next_XmlOfx_IsParsed() throws Exception {
+        OfxStatementParser parser = new OfxStatementParser(new StringReader("""
+                <?xml version="1.0"?>
+                <OFX><STMTTRN><TRNTYPE>DEBIT</TRNTYPE><DTPOSTED>20240301</DTPOSTED><TRNAMT>-10.00</TRNAMT><MEMO>Bus</MEMO></STMTTRN></OFX>
+                """));
+
+        StatementEntry entry = parser.next();
+
+        assertEquals(LocalDate.of(2024, 3, 1), entry.date());
+        assertEquals(new BigDecimal("10.00"), entry.amount());
+        assertEquals("Bus", entry.description());
+        assertNull(parser.next());
+    }
+
+    @Test
+    @DisplayName("Should report a transaction without amount and continue with the next one")
+    void next_MissingAmount_ThrowsAndContinues() throws Exception {
+        OfxStatementParser parser = new OfxStatementParser(new StringReader(
+                "<OFX><STMTTRN><DTPOSTED>20240301</STMTTRN><STMTTRN><DTPOSTED>20240302<TRNAMT>5<MEMO>Ok</STMTTRN></OFX>"));
+
+        assertThrows(StatementParseException.class, parser::next);
+        assertEquals("Ok", parser.next().description());
+    }
+}
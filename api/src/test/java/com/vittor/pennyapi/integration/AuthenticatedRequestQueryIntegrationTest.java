@@ -0,0 +1,141 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.CategoryResponseDTO;
+import com.vittor.pennyapi.dto.CreateCategoryDTO;
+import com.vittor.pennyapi.dto.CreateTransactionBatchDTO;
+import com.vittor.pennyapi.dto.CreateTransactionDTO;
+import com.vittor.pennyapi.dto.LoginDTO;
+import com.vittor.pennyapi.dto.LoginResponseDTO;
+import com.vittor.pennyapi.dto.RegisterDTO;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Authenticated Request Query Integration Tests")
+class AuthenticatedRequestQueryIntegrationTest extends BaseIntegrationTest {
+
+    private String authToken;
+    private String transactionId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        RegisterDTO registerDTO = new RegisterDTO(
+                "Query Count User",
+                "query.count@example.com",
+                "password123"
+        );
+
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(registerDTO)));
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO("query.count@example.com", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Groceries", "cart", "#00FF00"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+
+        // Mais de uma página de transações, para expor um eventual N+1 por linha
+        List<CreateTransactionDTO> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            items.add(new CreateTransactionDTO(
+                    "Query " + i, BigDecimal.ONE, TransactionType.EXPENSE, LocalDate.now().minusDays(i), categoryId));
+        }
+        MvcResult batchResult = mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(items))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        transactionId = objectMapper.readTree(batchResult.getResponse().getContentAsString())
+                .get("createdIds").get(0).asText();
+    }
+
+    @Test
+    @DisplayName("Should authenticate from token claims without querying users")
+    void authenticatedGetRunsOnlyItsOwnQuery() throws Exception {
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/categories")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Groceries"));
+
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(1, statements.size(), () -> "Unexpected statements: " + statements);
+        assertTrue(statements.get(0).toLowerCase().contains("from categories"));
+        assertTrue(statements.stream().noneMatch(sql -> sql.toLowerCase().contains("from users")));
+    }
+
+    @Test
+    @DisplayName("Should list a transaction page with one joined query plus the count")
+    void transactionPageRunsProjectionAndCount() throws Exception {
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/transactions")
+                .param("page", "0")
+                .param("size", "20")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20))
+                .andExpect(jsonPath("$.content[0].category.name").value("Groceries"));
+
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(2, statements.size(), () -> "Unexpected statements: " + statements);
+        assertTrue(statements.get(0).toLowerCase().contains("join categories"));
+        assertTrue(statements.get(1).toLowerCase().startsWith("select count("));
+    }
+
+    @Test
+    @DisplayName("Should fetch a transaction by id with a single joined query")
+    void transactionLookupRunsOneQuery() throws Exception {
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/transactions/" + transactionId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category.name").value("Groceries"));
+
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(1, statements.size(), () -> "Unexpected statements: " + statements);
+        assertTrue(statements.get(0).toLowerCase().contains("join categories"));
+    }
+
+    @Test
+    @DisplayName("Should fetch a cursor page with a single joined query")
+    void transactionCursorPageRunsOneQuery() throws Exception {
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/transactions/cursor")
+                .param("size", "20")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20));
+
+        List<String> statements = SqlStatementCounter.statements();
+        assertEquals(1, statements.size(), () -> "Unexpected statements: " + statements);
+    }
+}
@@ -1,17 +1,29 @@
 package com.vittor.pennyapi.integration;
 
+import com.auth0.jwt.JWT;
 import com.vittor.pennyapi.dto.LoginDTO;
+import com.vittor.pennyapi.dto.LoginResponseDTO;
 import com.vittor.pennyapi.dto.RegisterDTO;
+import com.vittor.pennyapi.entity.User;
+import com.vittor.pennyapi.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @DisplayName("Authentication Integration Tests")
 class AuthenticationIntegrationTest extends BaseIntegrationTest {
 
+    @Autowired
+    private UserRepository userRepository;
+
     @Test
     @DisplayName("Should reject duplicate email registration")
     void shouldRejectDuplicateEmail() throws Exception {
@@ -67,4 +79,113 @@ class AuthenticationIntegrationTest extends BaseIntegrationTest {
                 .header("Authorization", "Bearer " + invalidToken))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @DisplayName("Should rehash a stronger password hash down to the calibrated strength on login")
+    void shouldDowngradePasswordOnLogin() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Rehash User", "rehash@example.com", "password123"))))
+                .andExpect(status().isCreated());
+
+        // Simula um hash gerado por um nó calibrado com custo maior
+        User user = userRepository.findByEmail("rehash@example.com").orElseThrow();
+        user.setPassword(new BCryptPasswordEncoder(5).encode("password123"));
+        userRepository.save(user);
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO("rehash@example.com", "password123"))))
+                .andExpect(status().isOk());
+
+        String storedHash = userRepository.findByEmail("rehash@example.com").orElseThrow().getPassword();
+        assertTrue(storedHash.startsWith("$2a$04$"), storedHash);
+    }
+
+    @Test
+    @DisplayName("Should reject a token after logout while other sessions stay valid")
+    void shouldRevokeTokenOnLogout() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Logout User", "logout@example.com", "password123"))))
+                .andExpect(status().isCreated());
+
+        String firstToken = login("logout@example.com", "password123");
+        String secondToken = login("logout@example.com", "password123");
+
+        mockMvc.perform(post("/api/auth/logout")
+                .header("Authorization", "Bearer " + firstToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/categories")
+                .header("Authorization", "Bearer " + firstToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/categories")
+                .header("Authorization", "Bearer " + secondToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject every existing token after logout-all")
+    void shouldRevokeAllSessions() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Logout All User", "logout.all@example.com", "password123"))))
+                .andExpect(status().isCreated());
+
+        String firstToken = login("logout.all@example.com", "password123");
+        String secondToken = login("logout.all@example.com", "password123");
+
+        mockMvc.perform(post("/api/auth/logout-all")
+                .header("Authorization", "Bearer " + firstToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/categories")
+                .header("Authorization", "Bearer " + firstToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/categories")
+                .header("Authorization", "Bearer " + secondToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should accept a login made right after logout-all, within the same second")
+    void shouldAcceptLoginRightAfterLogoutAll() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Relogin User", "relogin@example.com", "password123"))))
+                .andExpect(status().isCreated());
+        String oldToken = login("relogin@example.com", "password123");
+
+        // Repete até o logout-all e o novo login caírem no mesmo segundo
+        String newToken;
+        Instant loggedOutAt;
+        do {
+            loggedOutAt = Instant.now();
+            mockMvc.perform(post("/api/auth/logout-all")
+                    .header("Authorization", "Bearer " + login("relogin@example.com", "password123")))
+                    .andExpect(status().isNoContent());
+            newToken = login("relogin@example.com", "password123");
+        } while (JWT.decode(newToken).getIssuedAtAsInstant().getEpochSecond() != loggedOutAt.getEpochSecond());
+
+        mockMvc.perform(get("/api/categories")
+                .header("Authorization", "Bearer " + newToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/categories")
+                .header("Authorization", "Bearer " + oldToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private String login(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, password))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return fromJson(response, LoginResponseDTO.class).token();
+    }
 }
@@ -0,0 +1,190 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.RecurrenceFrequency;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.service.RecurringTransactionMaterializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Category Budget Integration Tests")
+class CategoryBudgetIntegrationTest extends BaseIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final YearMonth MONTH = YearMonth.from(TODAY);
+
+    @Autowired
+    private RecurringTransactionMaterializer materializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String authToken;
+    private UUID groceriesId;
+    private UUID salaryId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "budget." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Budget User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+        groceriesId = createCategory(new CreateCategoryDTO("Groceries", "cart", "#00AA00", new BigDecimal("100.00")));
+        salaryId = createCategory(new CreateCategoryDTO("Salary", "cash", "#0000AA"));
+    }
+
+    @Test
+    @DisplayName("Should list categories with budget and current month spend when requested")
+    void shouldIncludeBudgetAndSpend() throws Exception {
+        createTransaction("Market", "42.50", TransactionType.EXPENSE, TODAY, groceriesId);
+        createTransaction("Refund", "5.00", TransactionType.INCOME, TODAY, groceriesId);
+        // Mês anterior não entra no gasto do mês corrente
+        createTransaction("Market", "30.00", TransactionType.EXPENSE, MONTH.minusMonths(1).atDay(10), groceriesId);
+
+        mockMvc.perform(get("/api/categories")
+                .param("includeBudget", "true")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Groceries"))
+                .andExpect(jsonPath("$[0].monthlyBudget").value(100.00))
+                .andExpect(jsonPath("$[0].spending.month").value(MONTH.toString()))
+                .andExpect(jsonPath("$[0].spending.spent").value(42.50))
+                .andExpect(jsonPath("$[0].spending.remaining").value(57.50))
+                .andExpect(jsonPath("$[0].spending.percentUsed").value(42))
+                .andExpect(jsonPath("$[1].name").value("Salary"))
+                .andExpect(jsonPath("$[1].monthlyBudget").doesNotExist())
+                .andExpect(jsonPath("$[1].spending.spent").value(0.00))
+                .andExpect(jsonPath("$[1].spending.remaining").isEmpty());
+
+        mockMvc.perform(get("/api/categories")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'Groceries')].monthlyBudget").value(100.00))
+                .andExpect(jsonPath("$[0].spending").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should emit one outbox event per threshold crossed by creates and updates")
+    void shouldEmitThresholdEvents() throws Exception {
+        createTransaction("Market", "50.00", TransactionType.EXPENSE, TODAY, groceriesId);
+        assertEquals(List.of(), events());
+
+        UUID second = createTransaction("Market", "30.00", TransactionType.EXPENSE, TODAY, groceriesId);
+        assertEquals(List.of(80), thresholds());
+        assertEquals(0, new BigDecimal("80.00").compareTo((BigDecimal) events().getFirst().get("spent")));
+
+        // Sobe de 80,00 para 105,00 pela atualização: cruza só o limite de 100%
+        mockMvc.perform(put("/api/transactions/" + second)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new UpdateTransactionDTO("Market", new BigDecimal("55.00"), TransactionType.EXPENSE, TODAY, groceriesId))))
+                .andExpect(status().isOk());
+        assertEquals(List.of(80, 100), thresholds());
+
+        // Volta abaixo e cruza de novo: sem eventos repetidos no mesmo mês
+        mockMvc.perform(delete("/api/transactions/" + second)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        createTransaction("Market", "60.00", TransactionType.EXPENSE, TODAY, groceriesId);
+        assertEquals(List.of(80, 100), thresholds());
+
+        // Receitas e categorias sem orçamento não geram eventos
+        createTransaction("Pay", "5000.00", TransactionType.INCOME, TODAY, groceriesId);
+        createTransaction("Pay", "5000.00", TransactionType.EXPENSE, TODAY, salaryId);
+        assertEquals(2, events().size());
+    }
+
+    @Test
+    @DisplayName("Should emit events for crossings from batch creates and recurring transactions")
+    void shouldEmitEventsFromBatchAndRecurring() throws Exception {
+        LocalDate lastMonth = MONTH.minusMonths(1).atDay(1);
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(List.of(
+                        new CreateTransactionDTO("A", new BigDecimal("45.00"), TransactionType.EXPENSE, lastMonth, groceriesId),
+                        new CreateTransactionDTO("B", new BigDecimal("45.00"), TransactionType.EXPENSE, lastMonth.plusDays(1), groceriesId))))))
+                .andExpect(status().isCreated());
+
+        assertEquals(1, events().size());
+        assertEquals(lastMonth, ((Date) events().getFirst().get("month")).toLocalDate());
+        assertEquals(80, events().getFirst().get("threshold"));
+
+        mockMvc.perform(post("/api/recurring-transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateRecurringTransactionDTO("Delivery", new BigDecimal("120.00"), TransactionType.EXPENSE,
+                        groceriesId, RecurrenceFrequency.MONTHLY, 1, null, TODAY, null))))
+                .andExpect(status().isCreated());
+        materializer.materialize(TODAY);
+
+        assertEquals(List.of(80, 80, 100), thresholds());
+    }
+
+    @Test
+    @DisplayName("Should reject a budget that is not positive")
+    void shouldRejectInvalidBudget() throws Exception {
+        mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Fun", "star", "#AA0000", new BigDecimal("0.00")))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Map<String, Object>> events() {
+        return jdbcTemplate.queryForList(
+                "SELECT e.month, e.threshold, e.monthly_budget, e.spent FROM budget_alert_events e " +
+                "JOIN categories c ON c.id = e.category_id WHERE c.id IN (?, ?) ORDER BY e.month, e.threshold",
+                groceriesId, salaryId);
+    }
+
+    private List<Integer> thresholds() {
+        return events().stream().map(event -> (Integer) event.get("threshold")).toList();
+    }
+
+    private UUID createTransaction(String description, String amount, TransactionType type, LocalDate date, UUID categoryId) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionDTO(description, new BigDecimal(amount), type, date, categoryId))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), TransactionResponseDTO.class).id();
+    }
+
+    private UUID createCategory(CreateCategoryDTO dto) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(dto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+}
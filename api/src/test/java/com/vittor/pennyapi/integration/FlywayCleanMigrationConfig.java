@@ -0,0 +1,20 @@
+package com.vittor.pennyapi.integration;
+
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Starts every test context from an empty schema, as ddl-auto=create-drop used to.
+ */
+@TestConfiguration
+public class FlywayCleanMigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
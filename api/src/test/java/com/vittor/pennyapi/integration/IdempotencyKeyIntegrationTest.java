@@ -0,0 +1,227 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Idempotency Key Integration Tests")
+class IdempotencyKeyIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String authToken;
+    private UUID categoryId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "idempotency." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Idempotency User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Idempotency", "key", "#123456"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+
+    @Test
+    @DisplayName("Should create once and replay the stored response for a retried key")
+    void shouldReplayRetriedCreate() throws Exception {
+        CreateTransactionDTO dto = new CreateTransactionDTO("Coffee", new BigDecimal("7.50"), TransactionType.EXPENSE,
+                LocalDate.now(), categoryId);
+
+        MvcResult first = create("create-1", dto)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        MvcResult retry = create("create-1", dto)
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn();
+
+        TransactionResponseDTO created = fromJson(first.getResponse().getContentAsString(), TransactionResponseDTO.class);
+        TransactionResponseDTO replayed = fromJson(retry.getResponse().getContentAsString(), TransactionResponseDTO.class);
+        assertEquals(created, replayed);
+        assertEquals(1, countTransactions());
+
+        // Sem chave, cada requisição cria uma transação
+        mockMvc.perform(post("/api/transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(dto)))
+                .andExpect(status().isCreated());
+        assertEquals(2, countTransactions());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void shouldRejectKeyReusedWithDifferentRequest() throws Exception {
+        create("reused", new CreateTransactionDTO("Coffee", new BigDecimal("7.50"), TransactionType.EXPENSE,
+                LocalDate.now(), categoryId))
+                .andExpect(status().isCreated());
+
+        create("reused", new CreateTransactionDTO("Coffee", new BigDecimal("8.50"), TransactionType.EXPENSE,
+                LocalDate.now(), categoryId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key was already used for a different request"));
+
+        mockMvc.perform(put("/api/transactions/" + UUID.randomUUID())
+                .header("Authorization", "Bearer " + authToken)
+                .header("Idempotency-Key", "reused")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new UpdateTransactionDTO("Coffee", new BigDecimal("7.50"), TransactionType.EXPENSE,
+                        LocalDate.now(), categoryId))))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(1, countTransactions());
+    }
+
+    @Test
+    @DisplayName("Should not consume the key when the write fails")
+    void shouldReleaseKeyOnFailure() throws Exception {
+        create("retry-after-error", new CreateTransactionDTO("Coffee", new BigDecimal("7.50"), TransactionType.EXPENSE,
+                LocalDate.now(), UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+
+        create("retry-after-error", new CreateTransactionDTO("Coffee", new BigDecimal("7.50"), TransactionType.EXPENSE,
+                LocalDate.now(), categoryId))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        assertEquals(1, countTransactions());
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates once and give all of them the same response")
+    void shouldRunConcurrentDuplicatesOnce() throws Exception {
+        int requests = 8;
+        CreateTransactionDTO dto = new CreateTransactionDTO("Rent", new BigDecimal("1200.00"), TransactionType.EXPENSE,
+                LocalDate.now(), categoryId);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<MvcResult>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(requests)) {
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return create("concurrent", dto).andReturn();
+                }));
+            }
+            start.countDown();
+        }
+
+        Set<UUID> ids = new HashSet<>();
+        int replayed = 0;
+        for (Future<MvcResult> result : results) {
+            MvcResult response = result.get();
+            assertEquals(201, response.getResponse().getStatus());
+            ids.add(fromJson(response.getResponse().getContentAsString(), TransactionResponseDTO.class).id());
+            if ("true".equals(response.getResponse().getHeader("Idempotent-Replayed"))) {
+                replayed++;
+            }
+        }
+
+        assertEquals(1, ids.size());
+        assertEquals(requests - 1, replayed);
+        assertEquals(1, countTransactions());
+    }
+
+    @Test
+    @DisplayName("Should replay batch creates and updates")
+    void shouldReplayBatchAndUpdate() throws Exception {
+        CreateTransactionBatchDTO batch = new CreateTransactionBatchDTO(List.of(
+                new CreateTransactionDTO("A", new BigDecimal("10.00"), TransactionType.EXPENSE, LocalDate.now(), categoryId),
+                new CreateTransactionDTO("B", new BigDecimal("20.00"), TransactionType.INCOME, LocalDate.now(), categoryId)));
+
+        MvcResult first = batch("batch-1", batch).andExpect(status().isCreated()).andReturn();
+        batch("batch-1", batch)
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().json(first.getResponse().getContentAsString()));
+        assertEquals(2, countTransactions());
+
+        UUID id = fromJson(first.getResponse().getContentAsString(), TransactionBatchResultDTO.class).createdIds().getFirst();
+        UpdateTransactionDTO update = new UpdateTransactionDTO("A", new BigDecimal("15.00"), TransactionType.EXPENSE,
+                LocalDate.now(), categoryId);
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(put("/api/transactions/" + id)
+                    .header("Authorization", "Bearer " + authToken)
+                    .header("Idempotency-Key", "update-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(toJson(update)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.amount").value(15.00));
+        }
+
+        // Uma linha por chave: o lote, a atualização e nenhuma para a requisição repetida
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM idempotency_keys k JOIN categories c ON c.user_id = k.user_id WHERE c.id = ?",
+                Integer.class, categoryId));
+    }
+
+    @Test
+    @DisplayName("Should reject a key that is too long")
+    void shouldRejectInvalidKey() throws Exception {
+        create("k".repeat(256), new CreateTransactionDTO("Coffee", new BigDecimal("7.50"), TransactionType.EXPENSE,
+                LocalDate.now(), categoryId))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions create(String key, CreateTransactionDTO dto) throws Exception {
+        return mockMvc.perform(post("/api/transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(dto)));
+    }
+
+    private ResultActions batch(String key, CreateTransactionBatchDTO dto) throws Exception {
+        return mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(dto)));
+    }
+
+    private int countTransactions() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE category_id = ?", Integer.class, categoryId);
+    }
+}
@@ -0,0 +1,120 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.enums.SeriesGranularity;
+import com.vittor.pennyapi.ledger.UserLedger;
+import com.vittor.pennyapi.repository.SummaryPeriod;
+import com.vittor.pennyapi.repository.TransactionAggregateRepository;
+import com.vittor.pennyapi.repository.TransactionLedgerRepository;
+import com.vittor.pennyapi.service.TransactionAggregateRepair;
+import com.vittor.pennyapi.service.TransactionPartitionMaintenance;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Times the summary, breakdown and series queries on the SQL path (aggregates plus raw edge
+ * days) and on an in-memory {@link UserLedger} of the same user, for users with 1k, 10k and
+ * 100k transactions over six years. The periods match {@code UserLedgerBenchmark} (JMH), which
+ * measures the ledger loops in isolation; this test adds the SQL side and the ledger load.
+ * <p>
+ * Excluded from {@code test}; run with {@code gradle benchmarkTest}.
+ */
+@Tag("benchmark")
+@DisplayName("Ledger Benchmark")
+class LedgerBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int YEARS = 6;
+    private static final int WARMUP_RUNS = 100;
+    private static final int MEASURED_RUNS = 300;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionPartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private TransactionAggregateRepository transactionAggregateRepository;
+
+    @Autowired
+    private TransactionAggregateRepair transactionAggregateRepair;
+
+    @Autowired
+    private TransactionLedgerRepository transactionLedgerRepository;
+
+    @Test
+    @DisplayName("SQL path vs in-memory ledger")
+    void compareSqlAndLedger() {
+        LocalDate today = LocalDate.now();
+        SummaryPeriod yearToDate = new SummaryPeriod(today.withDayOfYear(1), today);
+        SummaryPeriod twelveMonths = new SummaryPeriod(today.minusMonths(12).plusDays(1), today);
+        SummaryPeriod ninetyDays = new SummaryPeriod(today.minusDays(89), today);
+
+        System.out.printf("%n%-10s %-26s %12s %12s%n", "rows", "query", "p50 (us)", "p95 (us)");
+        for (int transactions : List.of(1_000, 10_000, 100_000)) {
+            UUID userId = seed(transactions);
+
+            long loadStartedAt = System.nanoTime();
+            UserLedger ledger = transactionLedgerRepository.load(userId);
+            long loadMicros = (System.nanoTime() - loadStartedAt) / 1_000;
+            assertEquals(transactions, ledger.size());
+            assertEquals(0, transactionAggregateRepository.sumPeriods(userId, List.of(yearToDate)).getFirst().expense()
+                    .compareTo(ledger.totals(yearToDate.start(), yearToDate.end()).expense()));
+
+            report(transactions, "summary YTD / sql", () -> transactionAggregateRepository.sumPeriods(userId, List.of(yearToDate)));
+            report(transactions, "summary YTD / ledger", () -> ledger.totals(yearToDate.start(), yearToDate.end()));
+            report(transactions, "breakdown 12m / sql", () -> transactionAggregateRepository.breakdown(userId, twelveMonths));
+            report(transactions, "breakdown 12m / ledger", () -> ledger.breakdown(twelveMonths.start(), twelveMonths.end()));
+            report(transactions, "series 90d daily / sql", () -> transactionAggregateRepository.series(userId,
+                    ninetyDays.start(), ninetyDays.end(), SeriesGranularity.DAY));
+            report(transactions, "series 90d daily / ledger", () -> ledger.series(ninetyDays.start(), ninetyDays.end(), SeriesGranularity.DAY));
+            System.out.printf("%-10d %-26s %12d %12s%n", transactions, "ledger load", loadMicros, "-");
+        }
+    }
+
+    private UUID seed(int transactions) {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, created_at) VALUES (?, 'Ledger Bench', ?, 'x', now())",
+                userId, "ledger.bench." + userId + "@example.com");
+        jdbcTemplate.update(
+                "INSERT INTO categories (id, name, icon, color, user_id, created_at) " +
+                "SELECT gen_random_uuid(), 'Bench ' || g, 'icon', '#000000', ?, now() FROM generate_series(1, 8) g", userId);
+        jdbcTemplate.update(
+                "INSERT INTO transactions (id, description, amount, type, date, category_id, user_id, created_at) " +
+                "SELECT gen_random_uuid(), 'Bench ' || g, round((random() * 500)::numeric, 2) + 0.01, " +
+                "CASE WHEN g % 4 = 0 THEN 'INCOME' ELSE 'EXPENSE' END, " +
+                "current_date - (random() * ?)::int, " +
+                "(SELECT c.id FROM categories c WHERE c.user_id = ? AND c.name = 'Bench ' || (1 + g % 8)), ?, now() " +
+                "FROM generate_series(1, ?) g",
+                YEARS * 365, userId, userId, transactions);
+        partitionMaintenance.maintain();
+        transactionAggregateRepair.rebuild();
+        jdbcTemplate.execute("VACUUM ANALYZE transactions");
+        jdbcTemplate.execute("VACUUM ANALYZE transaction_monthly_aggregates");
+        return userId;
+    }
+
+    private static void report(int transactions, String label, Runnable query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.run();
+        }
+        long[] micros = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            query.run();
+            micros[i] = (System.nanoTime() - startedAt) / 1_000;
+        }
+        Arrays.sort(micros);
+        System.out.printf("%-10d %-26s %12d %12d%n", transactions, label,
+                micros[MEASURED_RUNS / 2], micros[MEASURED_RUNS * 95 / 100]);
+    }
+}
@@ -0,0 +1,203 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.service.TransactionPartitionMaintenance;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the hot transaction queries on the partitioned {@code transactions} table against an
+ * unpartitioned copy with the same indexes, over a multi-year dataset. Reports latency, planning
+ * and execution time, shared buffers touched and relations scanned per query; only the pruning
+ * itself is asserted, timings are printed.
+ * <p>
+ * The by-id reads and writes (GET, PUT and DELETE of one transaction) filter on {@code id} only,
+ * which is not the partition key, so they cannot prune and probe the primary key of every
+ * partition; they are measured to keep that cost visible.
+ * <p>
+ * Excluded from {@code test}; run with {@code gradle benchmarkTest}.
+ */
+@Tag("benchmark")
+@DisplayName("Partition Pruning Benchmark")
+class PartitionPruningBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int USERS = 300;
+    private static final int YEARS = 6;
+    private static final int TRANSACTIONS_PER_MONTH = 25;
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 1000;
+
+    private static final String SUMMARY_SQL =
+            "SELECT COALESCE(SUM(CASE WHEN type = 'INCOME' THEN amount ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN type = 'EXPENSE' THEN amount ELSE 0 END), 0) " +
+            "FROM %s WHERE user_id = ? AND date >= ? AND date <= ?";
+
+    private static final String KEYSET_SQL =
+            "SELECT id, description, amount, type, date FROM %s " +
+            "WHERE user_id = ? AND date <= ? AND (date, id) < (?, ?) " +
+            "ORDER BY date DESC, id DESC FETCH FIRST 21 ROWS ONLY";
+
+    // Mesmos filtros de findResponseByIdAndUserId, findForUpdateByIdAndUserId e do UPDATE do Hibernate
+    private static final String BY_ID_SQL =
+            "SELECT id, description, amount, type, date FROM %s WHERE id = ? AND user_id = ?";
+
+    private static final String BY_ID_FOR_UPDATE_SQL = BY_ID_SQL + " FOR UPDATE";
+
+    private static final String UPDATE_BY_ID_SQL =
+            "UPDATE %s SET description = description WHERE id = ? AND user_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionPartitionMaintenance partitionMaintenance;
+
+    @AfterEach
+    void dropCopy() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS transactions_unpartitioned");
+    }
+
+    @Test
+    @DisplayName("Recent-month queries on partitioned vs unpartitioned transactions")
+    void compareRecentMonthQueries() {
+        List<UUID> users = seed();
+        YearMonth current = YearMonth.now();
+        LocalDate start = current.atDay(1);
+        LocalDate end = current.atEndOfMonth();
+        UUID maxId = new UUID(-1L, -1L);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN " + SUMMARY_SQL.formatted("transactions"), String.class, users.getFirst(), start, end));
+        assertEquals(1, plan.lines().filter(line -> line.contains("on transactions_p")).count(), plan);
+
+        System.out.printf("%nPartition pruning benchmark: %d users, %d years, %,d transactions%n",
+                USERS, YEARS, USERS * YEARS * 12 * TRANSACTIONS_PER_MONTH);
+        System.out.printf("%-46s %10s %10s %10s %12s %12s %14s %6s%n",
+                "query", "p50 (us)", "p95 (us)", "p99 (us)", "planning", "execution", "buffers", "scans");
+        for (String table : List.of("transactions", "transactions_unpartitioned")) {
+            report("summary / " + table, SUMMARY_SQL.formatted(table), users,
+                    user -> new Object[]{user, start, end});
+            report("keyset / " + table, KEYSET_SQL.formatted(table), users,
+                    user -> new Object[]{user, end, end, maxId});
+        }
+    }
+
+    @Test
+    @DisplayName("By-id reads and writes on partitioned vs unpartitioned transactions")
+    void compareByIdQueries() {
+        List<UUID> users = seed();
+        // Uma transação qualquer por usuário, de qualquer mês
+        Map<UUID, UUID> idByUser = jdbcTemplate.query(
+                "SELECT DISTINCT ON (t.user_id) t.user_id, t.id FROM transactions t " +
+                "JOIN categories c ON c.id = t.category_id WHERE c.name = 'Bench' ORDER BY t.user_id, random()",
+                (ResultSet rs) -> {
+                    Map<UUID, UUID> ids = new HashMap<>();
+                    while (rs.next()) {
+                        ids.put(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class));
+                    }
+                    return ids;
+                });
+
+        System.out.printf("%nBy-id benchmark: %d users, %d years, %d partitions%n",
+                USERS, YEARS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions_partition_months()", Integer.class));
+        System.out.printf("%-46s %10s %10s %10s %12s %12s %14s %6s%n",
+                "query", "p50 (us)", "p95 (us)", "p99 (us)", "planning", "execution", "buffers", "scans");
+        for (String table : List.of("transactions", "transactions_unpartitioned")) {
+            report("by id / " + table, BY_ID_SQL.formatted(table), users,
+                    user -> new Object[]{idByUser.get(user), user});
+            report("by id for update / " + table, BY_ID_FOR_UPDATE_SQL.formatted(table), users,
+                    user -> new Object[]{idByUser.get(user), user});
+            report("update by id / " + table, UPDATE_BY_ID_SQL.formatted(table), users,
+                    user -> new Object[]{idByUser.get(user), user});
+        }
+    }
+
+    private List<UUID> seed() {
+        YearMonth current = YearMonth.now();
+        LocalDate from = current.minusYears(YEARS).plusMonths(1).atDay(1);
+
+        jdbcTemplate.update(
+                "INSERT INTO users (id, name, email, password, created_at) " +
+                "SELECT gen_random_uuid(), 'Bench ' || g, 'bench.' || g || '.' || gen_random_uuid() || '@example.com', 'x', now() " +
+                "FROM generate_series(1, ?) g", USERS);
+        jdbcTemplate.update(
+                "INSERT INTO categories (id, name, icon, color, user_id, created_at) " +
+                "SELECT gen_random_uuid(), 'Bench', 'icon', '#000000', u.id, now() FROM users u WHERE u.name LIKE 'Bench %'");
+        // Linhas espalhadas por todos os meses; a manutenção cria as partições e drena a default
+        jdbcTemplate.update(
+                "INSERT INTO transactions (id, description, amount, type, date, category_id, user_id, created_at) " +
+                "SELECT gen_random_uuid(), 'Bench ' || g, round((random() * 100)::numeric, 2) + 0.01, " +
+                "CASE WHEN g % 4 = 0 THEN 'INCOME' ELSE 'EXPENSE' END, " +
+                "m::date + (random() * 27)::int, c.id, c.user_id, now() " +
+                "FROM categories c " +
+                "CROSS JOIN generate_series(?::date, ?::date, INTERVAL '1 month') m " +
+                "CROSS JOIN generate_series(1, ?) g " +
+                "WHERE c.name = 'Bench'",
+                from, current.atDay(1), TRANSACTIONS_PER_MONTH);
+        partitionMaintenance.maintain();
+
+        jdbcTemplate.execute("CREATE TABLE transactions_unpartitioned AS SELECT * FROM transactions");
+        jdbcTemplate.execute("ALTER TABLE transactions_unpartitioned ADD PRIMARY KEY (id)");
+        jdbcTemplate.execute("CREATE INDEX ON transactions_unpartitioned (user_id, date, id) INCLUDE (type, amount)");
+        jdbcTemplate.execute("VACUUM ANALYZE transactions");
+        jdbcTemplate.execute("VACUUM ANALYZE transactions_unpartitioned");
+
+        return jdbcTemplate.queryForList("SELECT user_id FROM categories WHERE name = 'Bench'", UUID.class);
+    }
+
+    private void report(String label, String sql, List<UUID> users, Function<UUID, Object[]> params) {
+        Random random = new Random(42);
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            execute(sql, params.apply(users.get(random.nextInt(users.size()))));
+        }
+
+        long[] micros = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            Object[] args = params.apply(users.get(random.nextInt(users.size())));
+            long startedAt = System.nanoTime();
+            execute(sql, args);
+            micros[i] = (System.nanoTime() - startedAt) / 1_000;
+        }
+        Arrays.sort(micros);
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class,
+                params.apply(users.getFirst()));
+
+        System.out.printf("%-46s %10d %10d %10d %12s %12s %14s %6d%n", label,
+                micros[MEASURED_RUNS / 2], micros[MEASURED_RUNS * 95 / 100], micros[MEASURED_RUNS * 99 / 100],
+                planValue(plan, "Planning Time:"), planValue(plan, "Execution Time:"), planValue(plan, "Buffers:"),
+                plan.stream().filter(line -> line.contains("Scan") && line.contains(" on ")).count());
+    }
+
+    private void execute(String sql, Object[] args) {
+        if (sql.startsWith("UPDATE")) {
+            jdbcTemplate.update(sql, args);
+        } else {
+            jdbcTemplate.queryForList(sql, args);
+        }
+    }
+
+    private static String planValue(List<String> plan, String label) {
+        return plan.stream()
+                .filter(line -> line.contains(label))
+                .findFirst()
+                .map(line -> line.substring(line.indexOf(label) + label.length()).trim())
+                .orElse("-");
+    }
+}
@@ -0,0 +1,204 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.TransactionFilterDTO;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.repository.CategoryRepository;
+import com.vittor.pennyapi.repository.TransactionRepository;
+import com.vittor.pennyapi.repository.TransactionSpecifications;
+import com.vittor.pennyapi.repository.UserRepository;
+import com.vittor.pennyapi.service.TransactionPartitionMaintenance;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each repository query against a seeded dataset, captures the SQL Hibernate sends and
+ * checks its generic plan ({@code EXPLAIN (GENERIC_PLAN)}, Postgres 16+) for sequential scans.
+ */
+@DisplayName("Query Plan Integration Tests")
+class QueryPlanIntegrationTest extends BaseIntegrationTest {
+
+    private static final int USERS = 2000;
+    private static final int CATEGORIES_PER_USER = 5;
+    private static final int TRANSACTIONS_PER_CATEGORY = 10;
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    private static boolean seeded;
+    private static UUID userId;
+    private static UUID categoryId;
+    private static UUID transactionId;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private TransactionPartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+
+        jdbcTemplate.update(
+                "INSERT INTO users (id, name, email, password, created_at) " +
+                "SELECT gen_random_uuid(), 'Plan ' || g, 'plan.' || g || '@example.com', 'x', now() " +
+                "FROM generate_series(1, ?) g", USERS);
+        jdbcTemplate.update(
+                "INSERT INTO categories (id, name, icon, color, user_id, created_at) " +
+                "SELECT gen_random_uuid(), 'Plan category ' || c, 'icon', '#000000', u.id, now() " +
+                "FROM users u CROSS JOIN generate_series(1, ?) c WHERE u.email LIKE 'plan.%'", CATEGORIES_PER_USER);
+        jdbcTemplate.update(
+                "INSERT INTO transactions (id, description, amount, type, date, category_id, user_id, created_at) " +
+                "SELECT gen_random_uuid(), 'Plan ' || g, round((random() * 100)::numeric, 2) + 0.01, " +
+                "CASE WHEN g % 3 = 0 THEN 'INCOME' ELSE 'EXPENSE' END, current_date - (g * 37 % 365), c.id, c.user_id, now() " +
+                "FROM categories c CROSS JOIN generate_series(1, ?) g WHERE c.name LIKE 'Plan category %'", TRANSACTIONS_PER_CATEGORY);
+        partitionMaintenance.maintain();
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE categories");
+        jdbcTemplate.execute("ANALYZE transactions");
+
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'plan.1@example.com'", UUID.class);
+        categoryId = jdbcTemplate.queryForObject("SELECT id FROM categories WHERE user_id = ? LIMIT 1", UUID.class, userId);
+        transactionId = jdbcTemplate.queryForObject("SELECT id FROM transactions WHERE user_id = ? LIMIT 1", UUID.class, userId);
+        seeded = true;
+    }
+
+    @Test
+    @DisplayName("Transaction repository queries should not scan tables sequentially")
+    void transactionQueriesUseIndexes() {
+        LocalDate today = LocalDate.now();
+
+        assertNoSequentialScan(() -> transactionRepository.findResponses(
+                TransactionSpecifications.ownedBy(userId), PageRequest.of(0, 20)));
+        assertNoSequentialScan(() -> transactionRepository.findResponseByIdAndUserId(transactionId, userId));
+        // O lock pessimista exige uma transação aberta
+        assertNoSequentialScan(() -> transactionTemplate.executeWithoutResult(
+                status -> transactionRepository.findForUpdateByIdAndUserId(transactionId, userId)));
+        assertNoSequentialScan(() -> transactionRepository.findFirstKeysetPage(userId, Limit.of(21)));
+        assertNoSequentialScan(() -> transactionRepository.findKeysetPageAfter(userId, today, transactionId, Limit.of(21)));
+        assertNoSequentialScan(() -> transactionRepository.existsByIdAndUserId(transactionId, userId));
+        assertNoSequentialScan(() -> transactionRepository.existsByCategoryId(categoryId));
+        assertNoSequentialScan(() -> transactionRepository.calculateFinancialSummary(userId, today.withDayOfMonth(1), today));
+        assertNoSequentialScan(() -> {
+            try (var stream = transactionRepository.streamAllByUserId(userId)) {
+                stream.count();
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Every transaction filter shape should be served by an index")
+    void transactionFiltersUseIndexes() {
+        LocalDate today = LocalDate.now();
+        PageRequest page = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "date", "id"));
+
+        List<TransactionFilterDTO> filters = List.of(
+                new TransactionFilterDTO(today.minusMonths(3), today, null, null, null, null, null),
+                new TransactionFilterDTO(null, null, TransactionType.INCOME, null, null, null, null),
+                new TransactionFilterDTO(null, null, null, List.of(categoryId), null, null, null),
+                new TransactionFilterDTO(null, null, null, null, new BigDecimal("10.00"), new BigDecimal("50.00"), null),
+                new TransactionFilterDTO(null, null, null, null, null, null, "Plan 1"),
+                new TransactionFilterDTO(today.minusMonths(1), today, TransactionType.EXPENSE, List.of(categoryId),
+                        new BigDecimal("1.00"), null, "plan"));
+
+        for (TransactionFilterDTO filter : filters) {
+            assertNoSequentialScan(() -> transactionRepository.findResponses(
+                    TransactionSpecifications.matching(userId, filter), page));
+        }
+    }
+
+    @Test
+    @DisplayName("Category and user repository queries should not scan tables sequentially")
+    void categoryAndUserQueriesUseIndexes() {
+        assertNoSequentialScan(() -> categoryRepository.findByUserId(userId));
+        assertNoSequentialScan(() -> categoryRepository.findByIdAndUserId(categoryId, userId));
+        assertNoSequentialScan(() -> categoryRepository.existsByIdAndUserId(categoryId, userId));
+        assertNoSequentialScan(() -> categoryRepository.findIdsByUserIdAndIdIn(userId, Set.of(categoryId)));
+        assertNoSequentialScan(() -> userRepository.findByEmail("plan.1@example.com"));
+        assertNoSequentialScan(() -> userRepository.existsByEmail("plan.1@example.com"));
+    }
+
+    private void assertNoSequentialScan(Runnable query) {
+        SqlStatementCounter.reset();
+        query.run();
+
+        List<String> statements = SqlStatementCounter.statements().stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .toList();
+        assertFalse(statements.isEmpty(), "Query did not reach the database");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            // Partições ainda vazias (meses futuros) não têm páginas e são lidas sequencialmente de graça
+            boolean scansData = SEQ_SCAN.matcher(plan).results()
+                    .anyMatch(scan -> jdbcTemplate.queryForObject(
+                            "SELECT relpages FROM pg_class WHERE relname = ?", Integer.class, scan.group(1)) > 0);
+            assertFalse(scansData, () -> "Sequential scan in plan for:\n" + sql + "\n\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length());
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+
+        // $n só é aceito sem bind de parâmetros, então o EXPLAIN usa o protocolo simples
+        String url = dataSource.getJdbcUrl() + (dataSource.getJdbcUrl().contains("?") ? "&" : "?") + "preferQueryMode=simple";
+        try (Connection connection = DriverManager.getConnection(url, dataSource.getUsername(), dataSource.getPassword());
+             Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numbered)) {
+            StringJoiner lines = new StringJoiner("\n");
+            while (plan.next()) {
+                lines.add(plan.getString(1));
+            }
+            return lines.toString();
+        } catch (SQLException exception) {
+            throw new IllegalStateException("Could not explain:\n" + numbered, exception);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.LoginDTO;
+import com.vittor.pennyapi.dto.LoginResponseDTO;
+import com.vittor.pennyapi.dto.RegisterDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Rate Limit Integration Tests")
+class RateLimitIntegrationTest extends BaseIntegrationTest {
+
+    private String authToken;
+
+    @BeforeEach
+    void setup() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Rate Limit User", "rate.limit@example.com", "password123"))));
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO("rate.limit@example.com", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once the analytics bucket is exhausted")
+    void analyticsBurstIsThrottled() throws Exception {
+        MvcResult throttled = null;
+        for (int i = 0; i < 100 && throttled == null; i++) {
+            MvcResult result = mockMvc.perform(get("/api/transactions/summary")
+                    .header("Authorization", "Bearer " + authToken))
+                    .andReturn();
+            if (result.getResponse().getStatus() == 429) {
+                throttled = result;
+            } else {
+                assertEquals(200, result.getResponse().getStatus());
+            }
+        }
+
+        assertNotNull(throttled, "Expected the analytics limit to be reached");
+        assertTrue(Long.parseLong(throttled.getResponse().getHeader("Retry-After")) >= 1);
+        assertTrue(throttled.getResponse().getContentAsString().contains("\"status\":429"));
+
+        // Outras classes de endpoint têm seu próprio bucket
+        mockMvc.perform(get("/api/categories")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,66 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.service.RecurringTransactionMaterializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Times one materialization run over 100k users with two monthly rules each, both due today,
+ * and a second run over the same window (nothing left to create). Reports throughput so the
+ * run time for larger user counts can be extrapolated; only the row counts are asserted.
+ * <p>
+ * Excluded from {@code test}; run with {@code gradle benchmarkTest}.
+ */
+@Tag("benchmark")
+@DisplayName("Recurring Materialization Benchmark")
+class RecurringMaterializationBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int USERS = 100_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecurringTransactionMaterializer materializer;
+
+    @Test
+    @DisplayName("Materialize 200k due occurrences")
+    void materializeDueOccurrences() {
+        LocalDate today = LocalDate.now();
+        seed(today);
+
+        long startedAt = System.nanoTime();
+        int created = materializer.materialize(today);
+        long millis = (System.nanoTime() - startedAt) / 1_000_000;
+        System.out.printf("%nrows created: %d in %d ms (%d users/s)%n", created, millis, USERS * 1_000L / Math.max(1, millis));
+        assertEquals(2 * USERS, created);
+
+        jdbcTemplate.update("UPDATE recurring_transactions SET next_occurrence = ? WHERE description LIKE 'Bench %'", today);
+        startedAt = System.nanoTime();
+        int repeated = materializer.materialize(today);
+        System.out.printf("rows created on rerun: %d in %d ms%n", repeated, (System.nanoTime() - startedAt) / 1_000_000);
+        assertEquals(0, repeated);
+    }
+
+    private void seed(LocalDate today) {
+        jdbcTemplate.execute("CREATE TEMP TABLE bench_users AS " +
+                "SELECT gen_random_uuid() AS user_id, gen_random_uuid() AS category_id FROM generate_series(1, " + USERS + ")");
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, created_at) " +
+                "SELECT user_id, 'Recurring Bench', 'recurring.bench.' || user_id || '@example.com', 'x', now() FROM bench_users");
+        jdbcTemplate.update("INSERT INTO categories (id, name, icon, color, user_id, created_at) " +
+                "SELECT category_id, 'Bench', 'icon', '#000000', user_id, now() FROM bench_users");
+        jdbcTemplate.update("INSERT INTO recurring_transactions (id, description, amount, type, frequency, interval_count, " +
+                "start_date, next_occurrence, category_id, user_id, created_at) " +
+                "SELECT gen_random_uuid(), 'Bench ' || kind, 100.00, kind, 'MONTHLY', 1, ?, ?, category_id, user_id, now() " +
+                "FROM bench_users CROSS JOIN (VALUES ('INCOME'), ('EXPENSE')) kinds(kind)", today, today);
+        jdbcTemplate.execute("DROP TABLE bench_users");
+        jdbcTemplate.execute("ANALYZE recurring_transactions");
+    }
+}
@@ -0,0 +1,287 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.RecurrenceFrequency;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.service.RecurringTransactionMaterializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Blocos pequenos para exercitar o keyset entre usuários
+@TestPropertySource(properties = "api.recurring.chunk-size=2")
+@DisplayName("Recurring Transaction Integration Tests")
+class RecurringTransactionIntegrationTest extends BaseIntegrationTest {
+
+    // Mesmo valor de RecurringTransactionMaterializer.ADVISORY_LOCK_KEY
+    private static final long ADVISORY_LOCK_KEY = 0x7065_6e6e_7972_6563L;
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private RecurringTransactionMaterializer materializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private String authToken;
+    private UUID userId;
+    private UUID rentId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "recurring." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Recurring User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", UUID.class, email);
+        rentId = createCategory("Rent");
+    }
+
+    @Test
+    @DisplayName("Should create, list, fetch and delete recurring transactions")
+    void shouldManageRules() throws Exception {
+        LocalDate start = TODAY.plusDays(3);
+        RecurringTransactionResponseDTO created = createRule(new CreateRecurringTransactionDTO("Rent", new BigDecimal("1500.00"),
+                TransactionType.EXPENSE, rentId, RecurrenceFrequency.MONTHLY, null, null, start, null));
+
+        assertEquals(1, created.interval());
+        assertEquals(start, created.nextOccurrence());
+        assertEquals(Money.ofCents(1500_00), created.amount());
+
+        mockMvc.perform(get("/api/recurring-transactions")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].category.name").value("Rent"));
+
+        mockMvc.perform(delete("/api/categories/" + rentId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cannot delete category with existing recurring transactions"));
+
+        mockMvc.perform(delete("/api/recurring-transactions/" + created.id())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/recurring-transactions/" + created.id())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should reject rules without a valid schedule")
+    void shouldRejectInvalidSchedules() throws Exception {
+        postRule(new CreateRecurringTransactionDTO("Gym", new BigDecimal("90.00"), TransactionType.EXPENSE, rentId,
+                RecurrenceFrequency.CRON, 1, null, TODAY, null))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cron expression is required for CRON rules"));
+        postRule(new CreateRecurringTransactionDTO("Gym", new BigDecimal("90.00"), TransactionType.EXPENSE, rentId,
+                RecurrenceFrequency.CRON, 1, "31 2 *", TODAY, null))
+                .andExpect(status().isBadRequest());
+        postRule(new CreateRecurringTransactionDTO("Gym", new BigDecimal("90.00"), TransactionType.EXPENSE, rentId,
+                RecurrenceFrequency.WEEKLY, 1, null, TODAY, TODAY.minusDays(1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("End date cannot be before start date"));
+        postRule(new CreateRecurringTransactionDTO("Gym", new BigDecimal("90.00"), TransactionType.EXPENSE, rentId,
+                RecurrenceFrequency.WEEKLY, 1, null, TODAY.minusYears(2), null))
+                .andExpect(status().isBadRequest());
+        postRule(new CreateRecurringTransactionDTO("Gym", new BigDecimal("90.00"), TransactionType.EXPENSE, UUID.randomUUID(),
+                RecurrenceFrequency.WEEKLY, 1, null, TODAY, null))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should materialize due occurrences once, with aggregates and summary in step")
+    void shouldMaterializeDueOccurrencesOnce() throws Exception {
+        LocalDate start = TODAY.minusMonths(3);
+        RecurringTransactionResponseDTO rent = createRule(new CreateRecurringTransactionDTO("Rent", new BigDecimal("1500.00"),
+                TransactionType.EXPENSE, rentId, RecurrenceFrequency.MONTHLY, 1, null, start, null));
+        // Resumo em cache antes da materialização: precisa ser invalidado por ela
+        assertEquals(Money.ZERO, summary(start, TODAY).totalExpense());
+
+        materializer.materialize(TODAY);
+
+        assertEquals(List.of(start, start.plusMonths(1), start.plusMonths(2), start.plusMonths(3)), occurrenceDates(rent.id()));
+        assertEquals(start.plusMonths(4), fetchRule(rent.id()).nextOccurrence());
+        assertEquals(Money.ofCents(4 * 1500_00), summary(start, TODAY).totalExpense());
+        assertAggregatesMatchTransactions();
+
+        // Reprocessa a mesma janela, como após uma falha entre o insert e o avanço da regra
+        jdbcTemplate.update("UPDATE recurring_transactions SET next_occurrence = ? WHERE id = ?", start, rent.id());
+        materializer.materialize(TODAY);
+
+        assertEquals(4, occurrenceDates(rent.id()).size());
+        assertEquals(start.plusMonths(4), fetchRule(rent.id()).nextOccurrence());
+        assertAggregatesMatchTransactions();
+    }
+
+    @Test
+    @DisplayName("Should stop at the end date and finish the rule")
+    void shouldStopAtEndDate() throws Exception {
+        LocalDate start = TODAY.minusWeeks(5);
+        RecurringTransactionResponseDTO gym = createRule(new CreateRecurringTransactionDTO("Gym", new BigDecimal("20.00"),
+                TransactionType.EXPENSE, rentId, RecurrenceFrequency.WEEKLY, 1, null, start, TODAY.minusWeeks(2)));
+
+        materializer.materialize(TODAY);
+
+        assertEquals(List.of(start, start.plusWeeks(1), start.plusWeeks(2), start.plusWeeks(3)), occurrenceDates(gym.id()));
+        assertNull(fetchRule(gym.id()).nextOccurrence());
+    }
+
+    @Test
+    @DisplayName("Should materialize every user across chunks")
+    void shouldMaterializeAcrossChunks() {
+        List<UUID> ruleIds = List.of(seedRule(), seedRule(), seedRule(), seedRule(), seedRule());
+
+        materializer.materialize(TODAY);
+
+        for (UUID ruleId : ruleIds) {
+            assertEquals(List.of(TODAY.minusDays(14), TODAY.minusDays(7), TODAY), occurrenceDates(ruleId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should materialize the other users of a chunk when one rule fails")
+    void shouldSkipOnlyTheUserOfAFailingRule() {
+        List<UUID> ruleIds = List.of(seedRule(), seedRule(), seedRule(), seedRule());
+        // Expressão que o banco aceita mas RecurrenceSchedule rejeita
+        UUID brokenId = seedRule("CRON", "not a cron");
+
+        materializer.materialize(TODAY);
+
+        for (UUID ruleId : ruleIds) {
+            assertEquals(List.of(TODAY.minusDays(14), TODAY.minusDays(7), TODAY), occurrenceDates(ruleId));
+        }
+        assertEquals(List.of(), occurrenceDates(brokenId));
+        assertEquals(TODAY.minusDays(14), jdbcTemplate.queryForObject(
+                "SELECT next_occurrence FROM recurring_transactions WHERE id = ?", LocalDate.class, brokenId));
+    }
+
+    @Test
+    @DisplayName("Should skip the run while another node holds the lock")
+    void shouldSkipWhenLocked() throws Exception {
+        RecurringTransactionResponseDTO rent = createRule(new CreateRecurringTransactionDTO("Rent", new BigDecimal("1500.00"),
+                TransactionType.EXPENSE, rentId, RecurrenceFrequency.MONTHLY, 1, null, TODAY, null));
+
+        try (Connection otherNode = dataSource.getConnection(); Statement statement = otherNode.createStatement()) {
+            statement.execute("SELECT pg_advisory_lock(" + ADVISORY_LOCK_KEY + ")");
+            try {
+                assertEquals(-1, materializer.materialize(TODAY));
+            } finally {
+                statement.execute("SELECT pg_advisory_unlock(" + ADVISORY_LOCK_KEY + ")");
+            }
+        }
+        assertEquals(List.of(), occurrenceDates(rent.id()));
+
+        materializer.materialize(TODAY);
+        assertEquals(List.of(TODAY), occurrenceDates(rent.id()));
+    }
+
+    private UUID seedRule() {
+        return seedRule("WEEKLY", null);
+    }
+
+    private UUID seedRule(String frequency, String cronExpression) {
+        UUID seededUserId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, created_at) VALUES (?, 'Seeded', ?, 'x', now())",
+                seededUserId, "recurring.seed." + seededUserId + "@example.com");
+        UUID categoryId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO categories (id, name, icon, color, user_id, created_at) VALUES (?, 'Gym', 'tag', '#000000', ?, now())",
+                categoryId, seededUserId);
+        UUID ruleId = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO recurring_transactions (id, description, amount, type, frequency, interval_count, cron_expression, " +
+                "start_date, next_occurrence, category_id, user_id, created_at) VALUES (?, 'Gym', 20.00, 'EXPENSE', ?, 1, ?, ?, ?, ?, ?, now())",
+                ruleId, frequency, cronExpression, TODAY.minusDays(14), TODAY.minusDays(14), categoryId, seededUserId);
+        return ruleId;
+    }
+
+    private List<LocalDate> occurrenceDates(UUID ruleId) {
+        return jdbcTemplate.queryForList("SELECT date FROM transactions WHERE recurring_transaction_id = ? ORDER BY date",
+                LocalDate.class, ruleId);
+    }
+
+    private void assertAggregatesMatchTransactions() {
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(
+                "SELECT date_trunc('month', date)::date AS month, category_id, type, SUM(amount) AS total, COUNT(*) AS transaction_count " +
+                "FROM transactions WHERE user_id = ? GROUP BY 1, 2, 3 ORDER BY 1, 2, 3", userId);
+        List<Map<String, Object>> actual = jdbcTemplate.queryForList(
+                "SELECT month, category_id, type, total, transaction_count FROM transaction_monthly_aggregates " +
+                "WHERE user_id = ? AND transaction_count > 0 ORDER BY 1, 2, 3", userId);
+        assertEquals(expected, actual);
+    }
+
+    private TransactionSummaryDTO summary(LocalDate start, LocalDate end) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/transactions/summary")
+                .param("startDate", start.toString())
+                .param("endDate", end.toString())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), TransactionSummaryDTO.class);
+    }
+
+    private RecurringTransactionResponseDTO fetchRule(UUID id) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/recurring-transactions/" + id)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), RecurringTransactionResponseDTO.class);
+    }
+
+    private RecurringTransactionResponseDTO createRule(CreateRecurringTransactionDTO dto) throws Exception {
+        MvcResult result = postRule(dto)
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), RecurringTransactionResponseDTO.class);
+    }
+
+    private ResultActions postRule(CreateRecurringTransactionDTO dto) throws Exception {
+        return mockMvc.perform(post("/api/recurring-transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(dto)));
+    }
+
+    private UUID createCategory(String name) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO(name, "tag", "#666666"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+}
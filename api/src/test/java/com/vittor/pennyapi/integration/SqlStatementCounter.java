@@ -0,0 +1,43 @@
+package com.vittor.pennyapi.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares so integration tests can assert how many
+ * queries an endpoint issues. Registered through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ * <p>
+ * After {@link #reset()} only statements from the resetting thread are recorded, so
+ * scheduled jobs running in the background do not leak into the count.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    private static volatile Thread recordingThread;
+
+    @Override
+    public String inspect(String sql) {
+        Thread owner = recordingThread;
+        if (owner == null || owner == Thread.currentThread()) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        recordingThread = Thread.currentThread();
+        statements.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    public static long count() {
+        return statements.size();
+    }
+}
@@ -0,0 +1,130 @@
+package com.vittor.pennyapi.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vittor.pennyapi.dto.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Statement Import Integration Tests")
+class StatementImportIntegrationTest extends BaseIntegrationTest {
+
+    private String authToken;
+    private String categoryName;
+    private UUID categoryId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Import User", "import.user@example.com", "password123"))));
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO("import.user@example.com", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+
+        categoryName = "Import " + UUID.randomUUID();
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO(categoryName, "import", "#654321"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+
+    @Test
+    @DisplayName("Should import a CSV statement in the background and report line errors")
+    void shouldImportCsvStatement() throws Exception {
+        StringBuilder csv = new StringBuilder("date,description,amount,category\n");
+        LocalDate date = LocalDate.now().minusDays(1);
+        for (int i = 0; i < 1200; i++) {
+            csv.append(date).append(",Purchase ").append(i).append(",-").append(i + 1).append(".50,").append(categoryName).append('\n');
+        }
+        csv.append("bad-date,Broken,-1.00,").append(categoryName).append('\n');
+        csv.append(date).append(",Unknown category,-1.00,Nope\n");
+        csv.append(date).append(",Default category,2.00,\n");
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "statement.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        MvcResult startResult = mockMvc.perform(multipart("/api/imports")
+                .file(file)
+                .param("defaultCategoryId", categoryId.toString())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.format").value("CSV"))
+                .andReturn();
+
+        String jobId = objectMapper.readTree(startResult.getResponse().getContentAsString()).get("id").asText();
+        JsonNode job = awaitCompletion(jobId);
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(100, job.get("progressPercent").asInt());
+        assertEquals(1203, job.get("entriesRead").asLong());
+        assertEquals(1201, job.get("imported").asLong());
+        assertEquals(2, job.get("failed").asLong());
+        assertEquals(1202, job.get("errors").get(0).get("line").asLong());
+        assertEquals("category", job.get("errors").get(1).get("errors").get(0).get("field").asText());
+
+        mockMvc.perform(get("/api/transactions")
+                .param("size", "1")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(org.hamcrest.Matchers.greaterThanOrEqualTo(1201)));
+    }
+
+    @Test
+    @DisplayName("Should reject a file whose format cannot be detected")
+    void shouldRejectUnknownFormat() throws Exception {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "statement.txt", "text/plain", "whatever".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/imports")
+                .file(file)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should not expose an unknown import job")
+    void shouldReturnNotFoundForUnknownJob() throws Exception {
+        mockMvc.perform(get("/api/imports/" + UUID.randomUUID())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitCompletion(String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            MvcResult result = mockMvc.perform(get("/api/imports/" + jobId)
+                    .header("Authorization", "Bearer " + authToken))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode job = objectMapper.readTree(result.getResponse().getContentAsString());
+            String status = job.get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED")) {
+                return job;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "Import did not finish in time");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.repository.TransactionAggregateRepository;
+import com.vittor.pennyapi.service.TransactionAggregateRepair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Aggregate Integration Tests")
+class TransactionAggregateIntegrationTest extends BaseIntegrationTest {
+
+    private static final YearMonth LAST_MONTH = YearMonth.now().minusMonths(1);
+
+    @Autowired
+    private TransactionAggregateRepair aggregateRepair;
+
+    @Autowired
+    private TransactionAggregateRepository transactionAggregateRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String authToken;
+    private UUID userId;
+    private UUID groceriesId;
+    private UUID salaryId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "aggregate." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Aggregate User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", UUID.class, email);
+        groceriesId = createCategory("Groceries");
+        salaryId = createCategory("Salary");
+    }
+
+    @Test
+    @DisplayName("Should keep aggregates in step with creates, updates and deletes")
+    void shouldMaintainAggregatesOnWrites() throws Exception {
+        UUID lunch = createTransaction(new CreateTransactionDTO("Lunch", new BigDecimal("25.50"), TransactionType.EXPENSE, LAST_MONTH.atDay(3), groceriesId));
+        createTransaction(new CreateTransactionDTO("Dinner", new BigDecimal("40.00"), TransactionType.EXPENSE, LAST_MONTH.atDay(4), groceriesId));
+        UUID salary = createTransaction(new CreateTransactionDTO("Salary", new BigDecimal("3000.00"), TransactionType.INCOME, LAST_MONTH.atDay(5), salaryId));
+
+        assertEquals(new BigDecimal("65.50"), aggregateTotal(LAST_MONTH, groceriesId, TransactionType.EXPENSE));
+        assertEquals(2L, aggregateCount(LAST_MONTH, groceriesId, TransactionType.EXPENSE));
+
+        // Muda mês, categoria, tipo e valor de uma vez
+        mockMvc.perform(put("/api/transactions/" + lunch)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new UpdateTransactionDTO("Refund", new BigDecimal("10.00"), TransactionType.INCOME,
+                        LAST_MONTH.minusMonths(1).atDay(20), salaryId))))
+                .andExpect(status().isOk());
+
+        assertEquals(new BigDecimal("40.00"), aggregateTotal(LAST_MONTH, groceriesId, TransactionType.EXPENSE));
+        assertEquals(1L, aggregateCount(LAST_MONTH, groceriesId, TransactionType.EXPENSE));
+        assertEquals(new BigDecimal("10.00"), aggregateTotal(LAST_MONTH.minusMonths(1), salaryId, TransactionType.INCOME));
+
+        mockMvc.perform(delete("/api/transactions/" + salary)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        assertEquals(new BigDecimal("0.00"), aggregateTotal(LAST_MONTH, salaryId, TransactionType.INCOME));
+        assertEquals(0L, aggregateCount(LAST_MONTH, salaryId, TransactionType.INCOME));
+        assertAggregatesMatchTransactions();
+    }
+
+    @Test
+    @DisplayName("Should apply batch inserts to the aggregates once per month, category and type")
+    void shouldMaintainAggregatesOnBatch() throws Exception {
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(List.of(
+                        new CreateTransactionDTO("A", new BigDecimal("1.10"), TransactionType.EXPENSE, LAST_MONTH.atDay(1), groceriesId),
+                        new CreateTransactionDTO("B", new BigDecimal("2.20"), TransactionType.EXPENSE, LAST_MONTH.atDay(2), groceriesId),
+                        new CreateTransactionDTO("C", new BigDecimal("500.00"), TransactionType.INCOME, LAST_MONTH.atDay(2), salaryId),
+                        new CreateTransactionDTO("D", new BigDecimal("3.30"), TransactionType.EXPENSE, LAST_MONTH.plusMonths(1).atDay(1), groceriesId))))))
+                .andExpect(status().isCreated());
+
+        assertEquals(new BigDecimal("3.30"), aggregateTotal(LAST_MONTH, groceriesId, TransactionType.EXPENSE));
+        assertEquals(2L, aggregateCount(LAST_MONTH, groceriesId, TransactionType.EXPENSE));
+        assertEquals(new BigDecimal("3.30"), aggregateTotal(LAST_MONTH.plusMonths(1), groceriesId, TransactionType.EXPENSE));
+        assertAggregatesMatchTransactions();
+    }
+
+    @Test
+    @DisplayName("Summary over whole and partial months should match the raw transaction totals")
+    void summaryShouldMatchTransactions() throws Exception {
+        YearMonth first = YearMonth.now().minusMonths(4);
+        for (int i = 0; i < 4; i++) {
+            YearMonth month = first.plusMonths(i);
+            createTransaction(new CreateTransactionDTO("Early", new BigDecimal("10.00"), TransactionType.EXPENSE, month.atDay(2), groceriesId));
+            createTransaction(new CreateTransactionDTO("Late", new BigDecimal("7.25"), TransactionType.EXPENSE, month.atDay(25), groceriesId));
+            createTransaction(new CreateTransactionDTO("Pay", new BigDecimal("100.00"), TransactionType.INCOME, month.atDay(15), salaryId));
+        }
+
+        // Primeiro e último mês parciais: ficam de fora o dia 2 do primeiro e os dias 15 e 25 do último
+        LocalDate start = first.atDay(10);
+        LocalDate end = first.plusMonths(3).atDay(10);
+        mockMvc.perform(get("/api/transactions/summary")
+                .param("startDate", start.toString())
+                .param("endDate", end.toString())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalIncome").value(300.00))
+                .andExpect(jsonPath("$.totalExpense").value(51.75));
+
+        mockMvc.perform(get("/api/transactions/summary")
+                .param("startDate", first.plusMonths(1).atDay(1).toString())
+                .param("endDate", first.plusMonths(2).atEndOfMonth().toString())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalIncome").value(200.00))
+                .andExpect(jsonPath("$.totalExpense").value(34.50));
+    }
+
+    @Test
+    @DisplayName("Should write amounts with the scale of the request and of the SQL sums")
+    void amountsShouldKeepTheirScale() throws Exception {
+        mockMvc.perform(post("/api/transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionDTO("Coffee", new BigDecimal("7.5"), TransactionType.EXPENSE,
+                        LAST_MONTH.atDay(3), groceriesId))))
+                .andExpect(status().isCreated())
+                .andExpect(content().string(containsString("\"amount\":7.5,")));
+
+        // Sem receitas no período a soma vem do COALESCE, sem casas decimais
+        mockMvc.perform(get("/api/transactions/summary")
+                .param("startDate", LAST_MONTH.atDay(1).toString())
+                .param("endDate", LAST_MONTH.atEndOfMonth().toString())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"totalIncome\":0,\"totalExpense\":7.50,\"balance\":-7.50,")));
+
+        mockMvc.perform(get("/api/transactions/summary")
+                .param("startDate", LAST_MONTH.minusMonths(1).atDay(1).toString())
+                .param("endDate", LAST_MONTH.minusMonths(1).atEndOfMonth().toString())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"totalIncome\":0,\"totalExpense\":0,\"balance\":0,")));
+    }
+
+    @Test
+    @DisplayName("Repair should rebuild aggregates that drifted from the transactions")
+    void repairShouldRebuildDriftedAggregates() throws Exception {
+        createTransaction(new CreateTransactionDTO("Lunch", new BigDecimal("25.00"), TransactionType.EXPENSE, LAST_MONTH.atDay(3), groceriesId));
+        // Escrita por fora da aplicação, sem atualizar os agregados
+        jdbcTemplate.update("UPDATE transactions SET amount = 30.00 WHERE user_id = ?", userId);
+
+        aggregateRepair.rebuild();
+
+        assertEquals(new BigDecimal("30.00"), aggregateTotal(LAST_MONTH, groceriesId, TransactionType.EXPENSE));
+        assertAggregatesMatchTransactions();
+    }
+
+    @Test
+    @DisplayName("Rebuilding one user's aggregates should not block writes of other users")
+    void repairShouldNotBlockOtherUsers() throws Exception {
+        UUID otherUserId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (id, name, email, password, created_at) " +
+                "VALUES (gen_random_uuid(), 'Other', ?, 'x', now()) RETURNING id",
+                UUID.class, "aggregate.other." + UUID.randomUUID() + "@example.com");
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            // Rebuild do outro usuário aberto, segurando o lock dele até o fim do teste
+            Future<?> rebuild = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                transactionAggregateRepository.rebuildUser(otherUserId);
+                rebuilding.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            try {
+                assertTrue(rebuilding.await(10, TimeUnit.SECONDS));
+                Future<UUID> write = executor.submit(() -> createTransaction(new CreateTransactionDTO(
+                        "Lunch", new BigDecimal("12.00"), TransactionType.EXPENSE, LAST_MONTH.atDay(3), groceriesId)));
+                write.get(10, TimeUnit.SECONDS);
+            } finally {
+                release.countDown();
+            }
+            rebuild.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(new BigDecimal("12.00"), aggregateTotal(LAST_MONTH, groceriesId, TransactionType.EXPENSE));
+    }
+
+    private void assertAggregatesMatchTransactions() {
+        List<Map<String, Object>> expected = jdbcTemplate.queryForList(
+                "SELECT date_trunc('month', date)::date AS month, category_id, type, SUM(amount) AS total, COUNT(*) AS transaction_count " +
+                "FROM transactions WHERE user_id = ? GROUP BY 1, 2, 3 ORDER BY 1, 2, 3", userId);
+        List<Map<String, Object>> actual = jdbcTemplate.queryForList(
+                "SELECT month, category_id, type, total, transaction_count FROM transaction_monthly_aggregates " +
+                "WHERE user_id = ? AND transaction_count > 0 ORDER BY 1, 2, 3", userId);
+        assertEquals(expected, actual);
+    }
+
+    private BigDecimal aggregateTotal(YearMonth month, UUID categoryId, TransactionType type) {
+        return jdbcTemplate.queryForObject(
+                "SELECT total FROM transaction_monthly_aggregates WHERE user_id = ? AND month = ? AND category_id = ? AND type = ?",
+                BigDecimal.class, userId, month.atDay(1), categoryId, type.name());
+    }
+
+    private Long aggregateCount(YearMonth month, UUID categoryId, TransactionType type) {
+        return jdbcTemplate.queryForObject(
+                "SELECT transaction_count FROM transaction_monthly_aggregates WHERE user_id = ? AND month = ? AND category_id = ? AND type = ?",
+                Long.class, userId, month.atDay(1), categoryId, type.name());
+    }
+
+    private UUID createTransaction(CreateTransactionDTO dto) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(dto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), TransactionResponseDTO.class).id();
+    }
+
+    private UUID createCategory(String name) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO(name, "tag", "#555555"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+}
@@ -0,0 +1,115 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Batch Integration Tests")
+class TransactionBatchIntegrationTest extends BaseIntegrationTest {
+
+    private String authToken;
+    private UUID categoryId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Batch User", "batch.user@example.com", "password123"))));
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO("batch.user@example.com", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Batch " + UUID.randomUUID(), "batch", "#123456"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+
+    @Test
+    @DisplayName("Should insert a large batch in JDBC batches and report invalid items")
+    void shouldCreateBatchAndReportInvalidItems() throws Exception {
+        List<CreateTransactionDTO> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(new CreateTransactionDTO(
+                    "Imported " + i, BigDecimal.valueOf(10 + i), TransactionType.EXPENSE, LocalDate.now().minusDays(i % 300), categoryId
+            ));
+        }
+        items.add(new CreateTransactionDTO("Bad amount", BigDecimal.ZERO, TransactionType.EXPENSE, LocalDate.now(), categoryId));
+        items.add(new CreateTransactionDTO("Foreign category", BigDecimal.TEN, TransactionType.EXPENSE, LocalDate.now(), UUID.randomUUID()));
+
+        SqlStatementCounter.reset();
+
+        MvcResult result = mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(items))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.received").value(122))
+                .andExpect(jsonPath("$.created").value(120))
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(120))
+                .andExpect(jsonPath("$.errors[0].errors[0].field").value("amount"))
+                .andExpect(jsonPath("$.errors[1].index").value(121))
+                .andExpect(jsonPath("$.errors[1].errors[0].field").value("categoryId"))
+                .andReturn();
+
+        // Uma consulta de categorias e um insert preparado por lote de 50
+        List<String> statements = SqlStatementCounter.statements();
+        long categoryQueries = statements.stream().filter(sql -> sql.toLowerCase().contains("from categories")).count();
+        long inserts = statements.stream().filter(sql -> sql.toLowerCase().startsWith("insert into transactions")).count();
+        assertEquals(1, categoryQueries, () -> "Unexpected statements: " + statements);
+        assertTrue(inserts <= 3, () -> "Unexpected statements: " + statements);
+        assertTrue(statements.stream().noneMatch(sql -> sql.toLowerCase().contains("from users")));
+
+        assertTrue(result.getResponse().getContentAsString().contains("createdIds"));
+    }
+
+    @Test
+    @DisplayName("Should answer 400 when no batch item is valid")
+    void shouldRejectBatchWithoutValidItems() throws Exception {
+        List<CreateTransactionDTO> items = List.of(
+                new CreateTransactionDTO("", BigDecimal.TEN, TransactionType.EXPENSE, LocalDate.now(), categoryId)
+        );
+
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(items))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.created").value(0))
+                .andExpect(jsonPath("$.errors[0].index").value(0));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch")
+    void shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+}
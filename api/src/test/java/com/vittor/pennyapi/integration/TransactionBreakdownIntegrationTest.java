@@ -0,0 +1,135 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Breakdown Integration Tests")
+class TransactionBreakdownIntegrationTest extends BaseIntegrationTest {
+
+    private static final YearMonth FIRST = YearMonth.now().minusMonths(3);
+    private static final YearMonth SECOND = FIRST.plusMonths(1);
+
+    private String authToken;
+    private UUID groceriesId;
+    private UUID salaryId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "breakdown." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Breakdown User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+        groceriesId = createCategory("Groceries");
+        salaryId = createCategory("Salary");
+
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(List.of(
+                        new CreateTransactionDTO("Market", new BigDecimal("80.00"), TransactionType.EXPENSE, FIRST.atDay(3), groceriesId),
+                        new CreateTransactionDTO("Bakery", new BigDecimal("20.00"), TransactionType.EXPENSE, FIRST.atDay(20), groceriesId),
+                        new CreateTransactionDTO("Salary", new BigDecimal("1000.00"), TransactionType.INCOME, FIRST.atDay(5), salaryId),
+                        new CreateTransactionDTO("Market", new BigDecimal("45.50"), TransactionType.EXPENSE, SECOND.atDay(2), groceriesId),
+                        new CreateTransactionDTO("Salary", new BigDecimal("1000.00"), TransactionType.INCOME, SECOND.atDay(5), salaryId),
+                        new CreateTransactionDTO("Refund", new BigDecimal("15.00"), TransactionType.INCOME, SECOND.atDay(25), groceriesId))))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should group totals by category and by month over whole months")
+    void shouldBreakDownWholeMonths() throws Exception {
+        mockMvc.perform(breakdown(FIRST.atDay(1).toString(), SECOND.atEndOfMonth().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.totalIncome").value(2015.00))
+                .andExpect(jsonPath("$.summary.totalExpense").value(145.50))
+                .andExpect(jsonPath("$.summary.balance").value(1869.50))
+                .andExpect(jsonPath("$.categories.length()").value(2))
+                .andExpect(jsonPath("$.categories[0].categoryName").value("Groceries"))
+                .andExpect(jsonPath("$.categories[0].totalIncome").value(15.00))
+                .andExpect(jsonPath("$.categories[0].totalExpense").value(145.50))
+                .andExpect(jsonPath("$.categories[0].transactionCount").value(4))
+                .andExpect(jsonPath("$.categories[1].categoryName").value("Salary"))
+                .andExpect(jsonPath("$.categories[1].totalIncome").value(2000.00))
+                .andExpect(jsonPath("$.categories[1].transactionCount").value(2))
+                .andExpect(jsonPath("$.months.length()").value(2))
+                .andExpect(jsonPath("$.months[0].month").value(FIRST.toString()))
+                .andExpect(jsonPath("$.months[0].totalIncome").value(1000.00))
+                .andExpect(jsonPath("$.months[0].totalExpense").value(100.00))
+                .andExpect(jsonPath("$.months[0].balance").value(900.00))
+                .andExpect(jsonPath("$.months[1].month").value(SECOND.toString()))
+                .andExpect(jsonPath("$.months[1].totalExpense").value(45.50))
+                .andExpect(jsonPath("$.months[1].transactionCount").value(3));
+    }
+
+    @Test
+    @DisplayName("Should only count the days of partial months that fall inside the range")
+    void shouldBreakDownPartialMonths() throws Exception {
+        mockMvc.perform(breakdown(FIRST.atDay(4).toString(), SECOND.atDay(10).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.totalIncome").value(2000.00))
+                .andExpect(jsonPath("$.summary.totalExpense").value(65.50))
+                .andExpect(jsonPath("$.months[0].transactionCount").value(2))
+                .andExpect(jsonPath("$.months[1].transactionCount").value(2))
+                .andExpect(jsonPath("$.categories[0].transactionCount").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return zero totals and empty groups for a period without transactions")
+    void shouldReturnEmptyBreakdown() throws Exception {
+        YearMonth empty = FIRST.minusMonths(6);
+        mockMvc.perform(breakdown(empty.atDay(1).toString(), empty.atEndOfMonth().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary.totalIncome").value(0))
+                .andExpect(jsonPath("$.summary.totalExpense").value(0))
+                .andExpect(jsonPath("$.categories.length()").value(0))
+                .andExpect(jsonPath("$.months.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted date range")
+    void shouldRejectInvertedRange() throws Exception {
+        mockMvc.perform(breakdown(SECOND.atDay(1).toString(), FIRST.atDay(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Start date cannot be after end date"));
+    }
+
+    private MockHttpServletRequestBuilder breakdown(String startDate, String endDate) {
+        return get("/api/transactions/summary/breakdown")
+                .param("startDate", startDate)
+                .param("endDate", endDate)
+                .header("Authorization", "Bearer " + authToken);
+    }
+
+    private UUID createCategory(String name) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO(name, "tag", "#666666"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+}
@@ -0,0 +1,118 @@
+package com.vittor.pennyapi.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Cursor Pagination Integration Tests")
+class TransactionCursorIntegrationTest extends BaseIntegrationTest {
+
+    private static final int TRANSACTIONS = 45;
+
+    private String authToken;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "cursor." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Cursor User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Cursor", "cursor", "#222222"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+
+        // Várias transações por dia, para que o desempate por id seja exercitado
+        List<CreateTransactionDTO> items = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            items.add(new CreateTransactionDTO(
+                    "Row " + i, BigDecimal.ONE, TransactionType.EXPENSE, LocalDate.now().minusDays(i / 4), categoryId));
+        }
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(items))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should walk every transaction once in date order with one query per page")
+    void shouldWalkAllPagesWithoutDuplicates() throws Exception {
+        Set<String> seen = new HashSet<>();
+        LocalDate previousDate = LocalDate.MAX;
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            SqlStatementCounter.reset();
+            var request = get("/api/transactions/cursor")
+                    .param("size", "10")
+                    .header("Authorization", "Bearer " + authToken);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            List<String> statements = SqlStatementCounter.statements();
+            assertEquals(1, statements.size(), () -> "Unexpected statements: " + statements);
+            assertFalse(statements.get(0).toLowerCase().contains("offset"));
+
+            JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+            for (JsonNode item : page.get("content")) {
+                assertTrue(seen.add(item.get("id").asText()), "Duplicate transaction across pages");
+                LocalDate date = LocalDate.parse(item.get("date").asText());
+                assertFalse(date.isAfter(previousDate));
+                previousDate = date;
+            }
+
+            cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(TRANSACTIONS, seen.size());
+        assertEquals(5, pages);
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered cursor")
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/transactions/cursor")
+                .param("cursor", "garbage")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+    }
+}
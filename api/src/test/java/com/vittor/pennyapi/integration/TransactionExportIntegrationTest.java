@@ -0,0 +1,109 @@
+package com.vittor.pennyapi.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Export Integration Tests")
+class TransactionExportIntegrationTest extends BaseIntegrationTest {
+
+    private static final int TRANSACTIONS = 250;
+
+    private String authToken;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "export." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Export User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Export, \"quoted\"", "export", "#111111"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        UUID categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+
+        List<CreateTransactionDTO> items = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            items.add(new CreateTransactionDTO(
+                    "Row " + i, BigDecimal.valueOf(i + 1), TransactionType.EXPENSE, LocalDate.now().minusDays(i), categoryId));
+        }
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(items))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should stream every transaction as CSV ordered by date")
+    void shouldExportCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/transactions/export")
+                .param("format", "csv")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(TRANSACTIONS + 1, lines.length);
+        assertTrue(lines[0].startsWith("id,date,type,amount"));
+        assertTrue(lines[1].contains(",Row " + (TRANSACTIONS - 1) + ","));
+        assertTrue(lines[1].contains("\"Export, \"\"quoted\"\"\""));
+    }
+
+    @Test
+    @DisplayName("Should stream every transaction as NDJSON")
+    void shouldExportNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/transactions/export")
+                .param("format", "ndjson")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(TRANSACTIONS, lines.length);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Row " + (TRANSACTIONS - 1), first.get("description").asText());
+        assertEquals("Export, \"quoted\"", first.get("category").get("name").asText());
+        assertFalse(first.get("userId").isNull());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown export format")
+    void shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/transactions/export")
+                .param("format", "xml")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+    }
+}
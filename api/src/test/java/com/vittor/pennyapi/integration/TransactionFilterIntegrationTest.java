@@ -0,0 +1,182 @@
+package com.vittor.pennyapi.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Filter Integration Tests")
+class TransactionFilterIntegrationTest extends BaseIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private String authToken;
+    private UUID groceriesId;
+    private UUID salaryId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "filter." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Filter User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+        groceriesId = createCategory("Groceries");
+        salaryId = createCategory("Salary");
+
+        List<CreateTransactionDTO> items = new ArrayList<>();
+        items.add(new CreateTransactionDTO("Supermarket weekly", new BigDecimal("85.40"), TransactionType.EXPENSE, TODAY, groceriesId));
+        items.add(new CreateTransactionDTO("Bakery", new BigDecimal("12.00"), TransactionType.EXPENSE, TODAY.minusDays(3), groceriesId));
+        items.add(new CreateTransactionDTO("SUPERMARKET monthly", new BigDecimal("310.00"), TransactionType.EXPENSE, TODAY.minusMonths(2), groceriesId));
+        items.add(new CreateTransactionDTO("Salary", new BigDecimal("5000.00"), TransactionType.INCOME, TODAY.minusDays(1), salaryId));
+        items.add(new CreateTransactionDTO("Bonus 50% off", new BigDecimal("250.00"), TransactionType.INCOME, TODAY.minusMonths(1), salaryId));
+        items.add(new CreateTransactionDTO("Bonus 50 off", new BigDecimal("40.00"), TransactionType.INCOME, TODAY.minusMonths(1), salaryId));
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(items))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should return every transaction when no filter is given")
+    void shouldListAllWithoutFilters() throws Exception {
+        assertEquals(List.of("Supermarket weekly", "Salary", "Bakery", "Bonus 50% off", "Bonus 50 off", "SUPERMARKET monthly"),
+                descriptions(list()));
+    }
+
+    @Test
+    @DisplayName("Should filter by date range")
+    void shouldFilterByDateRange() throws Exception {
+        List<String> result = descriptions(list()
+                .param("startDate", TODAY.minusDays(3).toString())
+                .param("endDate", TODAY.minusDays(1).toString()));
+
+        assertEquals(List.of("Salary", "Bakery"), result);
+    }
+
+    @Test
+    @DisplayName("Should filter by type")
+    void shouldFilterByType() throws Exception {
+        List<String> result = descriptions(list().param("type", "INCOME"));
+
+        assertEquals(List.of("Salary", "Bonus 50% off", "Bonus 50 off"), result);
+    }
+
+    @Test
+    @DisplayName("Should filter by a comma-separated list of category IDs")
+    void shouldFilterByCategories() throws Exception {
+        assertEquals(3, descriptions(list().param("categoryIds", groceriesId.toString())).size());
+        assertEquals(6, descriptions(list().param("categoryIds", groceriesId + "," + salaryId)).size());
+        assertEquals(0, descriptions(list().param("categoryIds", UUID.randomUUID().toString())).size());
+    }
+
+    @Test
+    @DisplayName("Should filter by amount range inclusively")
+    void shouldFilterByAmountRange() throws Exception {
+        List<String> result = descriptions(list()
+                .param("minAmount", "40.00")
+                .param("maxAmount", "310.00"));
+
+        assertEquals(List.of("Supermarket weekly", "Bonus 50% off", "Bonus 50 off", "SUPERMARKET monthly"), result);
+    }
+
+    @Test
+    @DisplayName("Should match description substrings case-insensitively")
+    void shouldFilterByDescription() throws Exception {
+        assertEquals(List.of("Supermarket weekly", "SUPERMARKET monthly"), descriptions(list().param("description", "market")));
+    }
+
+    @Test
+    @DisplayName("Should treat LIKE wildcards in the description filter literally")
+    void shouldEscapeWildcardsInDescription() throws Exception {
+        assertEquals(List.of("Bonus 50% off"), descriptions(list().param("description", "50%")));
+        assertEquals(List.of(), descriptions(list().param("description", "_akery")));
+    }
+
+    @Test
+    @DisplayName("Should combine filters and report the filtered total")
+    void shouldCombineFilters() throws Exception {
+        MvcResult result = mockMvc.perform(list()
+                        .param("type", "EXPENSE")
+                        .param("categoryIds", groceriesId.toString())
+                        .param("startDate", TODAY.minusMonths(1).toString())
+                        .param("minAmount", "10.00")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andReturn();
+
+        assertEquals(List.of("Supermarket weekly"), descriptions(result));
+    }
+
+    @Test
+    @DisplayName("Should reject inverted ranges and oversized filters")
+    void shouldRejectInvalidFilters() throws Exception {
+        mockMvc.perform(list()
+                        .param("startDate", TODAY.toString())
+                        .param("endDate", TODAY.minusDays(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Start date cannot be after end date"));
+
+        mockMvc.perform(list()
+                        .param("minAmount", "100")
+                        .param("maxAmount", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Minimum amount cannot be greater than maximum amount"));
+
+        mockMvc.perform(list().param("description", "x".repeat(101)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder list() {
+        return get("/api/transactions")
+                .param("sort", "date,desc")
+                .param("sort", "amount,desc")
+                .header("Authorization", "Bearer " + authToken);
+    }
+
+    private List<String> descriptions(MockHttpServletRequestBuilder request) throws Exception {
+        return descriptions(mockMvc.perform(request).andExpect(status().isOk()).andReturn());
+    }
+
+    private List<String> descriptions(MvcResult result) throws Exception {
+        JsonNode content = objectMapper.readTree(result.getResponse().getContentAsString()).get("content");
+        List<String> descriptions = new ArrayList<>();
+        content.forEach(node -> descriptions.add(node.get("description").asText()));
+        return descriptions;
+    }
+
+    private UUID createCategory(String name) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO(name, "tag", "#444444"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+}
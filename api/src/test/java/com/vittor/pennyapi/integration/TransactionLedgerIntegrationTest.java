@@ -0,0 +1,195 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.SeriesGranularity;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.SummaryPeriod;
+import com.vittor.pennyapi.repository.TransactionAggregateRepository;
+import com.vittor.pennyapi.repository.TransactionTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = "api.ledger.enabled=true")
+@DisplayName("Transaction Ledger Integration Tests")
+class TransactionLedgerIntegrationTest extends BaseIntegrationTest {
+
+    private static final YearMonth FIRST = YearMonth.now().minusMonths(6);
+    private static final YearMonth LAST = FIRST.plusMonths(4);
+
+    @Autowired
+    private TransactionAggregateRepository transactionAggregateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String authToken;
+    private UUID userId;
+    private UUID foodId;
+    private List<UUID> transactionIds;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "ledger." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Ledger User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", UUID.class, email);
+        foodId = createCategory("Food");
+        UUID salaryId = createCategory("Salary");
+
+        List<CreateTransactionDTO> items = new ArrayList<>();
+        for (int month = 0; month <= 4; month++) {
+            YearMonth current = FIRST.plusMonths(month);
+            items.add(new CreateTransactionDTO("Salary", new BigDecimal("3000.00"), TransactionType.INCOME, current.atDay(5), salaryId));
+            for (int day = 1; day <= 28; day += 3) {
+                items.add(new CreateTransactionDTO("Market", new BigDecimal(day + 10 + "." + month + "5"), TransactionType.EXPENSE,
+                        current.atDay(day), foodId));
+            }
+        }
+        MvcResult batchResult = mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(items))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        transactionIds = fromJson(batchResult.getResponse().getContentAsString(), TransactionBatchResultDTO.class).createdIds();
+    }
+
+    @Test
+    @DisplayName("Summary, breakdown and series from the ledger should match the SQL path")
+    void ledgerShouldMatchSql() throws Exception {
+        List<SummaryPeriod> periods = List.of(
+                new SummaryPeriod(FIRST.atDay(1), LAST.atEndOfMonth()),
+                new SummaryPeriod(FIRST.atDay(10), LAST.atDay(4)),
+                new SummaryPeriod(FIRST.plusMonths(2).atDay(3), FIRST.plusMonths(2).atDay(17)),
+                new SummaryPeriod(FIRST.minusYears(1).atDay(1), FIRST.minusMonths(1).atEndOfMonth()));
+
+        MvcResult batch = mockMvc.perform(post("/api/transactions/summary/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new SummaryBatchRequestDTO(periods.stream()
+                        .map(period -> new SummaryPeriodDTO(period.start(), period.end()))
+                        .toList()))))
+                .andExpect(status().isOk())
+                .andReturn();
+        TransactionSummaryDTO[] summaries = fromJson(batch.getResponse().getContentAsString(), TransactionSummaryDTO[].class);
+        List<TransactionTotals> expected = transactionAggregateRepository.sumPeriods(userId, periods);
+        for (int i = 0; i < periods.size(); i++) {
+            assertEquals(expected.get(i).income(), summaries[i].totalIncome());
+            assertEquals(expected.get(i).expense(), summaries[i].totalExpense());
+        }
+
+        SummaryPeriod partial = periods.get(1);
+        TransactionBreakdownDTO breakdown = fromJson(fetch("/api/transactions/summary/breakdown", partial, null), TransactionBreakdownDTO.class);
+        TransactionBreakdownDTO expectedBreakdown = transactionAggregateRepository.breakdown(userId, partial);
+        assertEquals(expectedBreakdown.summary().balance(), breakdown.summary().balance());
+        assertEquals(expectedBreakdown.categories().size(), breakdown.categories().size());
+        for (int i = 0; i < breakdown.categories().size(); i++) {
+            assertEquals(expectedBreakdown.categories().get(i).categoryName(), breakdown.categories().get(i).categoryName());
+            assertEquals(expectedBreakdown.categories().get(i).totalExpense(), breakdown.categories().get(i).totalExpense());
+            assertEquals(expectedBreakdown.categories().get(i).transactionCount(), breakdown.categories().get(i).transactionCount());
+        }
+        assertEquals(expectedBreakdown.months().stream().map(MonthBreakdownDTO::month).toList(),
+                breakdown.months().stream().map(MonthBreakdownDTO::month).toList());
+        for (int i = 0; i < breakdown.months().size(); i++) {
+            assertEquals(expectedBreakdown.months().get(i).balance(), breakdown.months().get(i).balance());
+            assertEquals(expectedBreakdown.months().get(i).transactionCount(), breakdown.months().get(i).transactionCount());
+        }
+
+        for (SeriesGranularity granularity : SeriesGranularity.values()) {
+            SummaryPeriod period = new SummaryPeriod(FIRST.plusMonths(1).atDay(9), LAST.atDay(12));
+            TransactionSeriesDTO series = fromJson(fetch("/api/transactions/series", period, granularity), TransactionSeriesDTO.class);
+            TransactionSeriesDTO expectedSeries = transactionAggregateRepository.series(userId, period.start(), period.end(), granularity);
+            assertEquals(expectedSeries.openingBalance(), series.openingBalance());
+            assertEquals(expectedSeries.points().size(), series.points().size(), granularity.name());
+            for (int i = 0; i < series.points().size(); i++) {
+                assertEquals(expectedSeries.points().get(i).bucketStart(), series.points().get(i).bucketStart());
+                assertEquals(expectedSeries.points().get(i).totalExpense(), series.points().get(i).totalExpense());
+                assertEquals(expectedSeries.points().get(i).balance(), series.points().get(i).balance());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Writes should be applied to a loaded ledger without reloading it")
+    void writesShouldUpdateLoadedLedger() throws Exception {
+        SummaryPeriod period = new SummaryPeriod(FIRST.atDay(1), LAST.atEndOfMonth());
+        TransactionSummaryDTO before = fromJson(fetch("/api/transactions/summary", period, null), TransactionSummaryDTO.class);
+
+        mockMvc.perform(post("/api/transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionDTO("Bonus", new BigDecimal("500.00"), TransactionType.INCOME, FIRST.atDay(20), foodId))))
+                .andExpect(status().isCreated());
+        // Move uma despesa para fora do período e remove outra
+        mockMvc.perform(put("/api/transactions/" + transactionIds.get(1))
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new UpdateTransactionDTO("Moved", new BigDecimal("11.05"), TransactionType.EXPENSE,
+                        FIRST.minusMonths(1).atDay(1), foodId))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/transactions/" + transactionIds.get(2))
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        SqlStatementCounter.reset();
+        TransactionSummaryDTO after = fromJson(fetch("/api/transactions/summary", period, null), TransactionSummaryDTO.class);
+        assertEquals(0, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+
+        assertEquals(before.totalIncome().plus(Money.ofCents(500_00)), after.totalIncome());
+        assertEquals(before.totalExpense().minus(Money.ofCents(11_05)).minus(Money.ofCents(14_05)), after.totalExpense());
+        TransactionTotals expected = transactionAggregateRepository.sumPeriods(userId, List.of(period)).getFirst();
+        assertEquals(expected.income(), after.totalIncome());
+        assertEquals(expected.expense(), after.totalExpense());
+    }
+
+    private String fetch(String path, SummaryPeriod period, SeriesGranularity granularity) throws Exception {
+        MockHttpServletRequestBuilder request = get(path)
+                .param("startDate", period.start().toString())
+                .param("endDate", period.end().toString())
+                .header("Authorization", "Bearer " + authToken);
+        if (granularity != null) {
+            request.param("granularity", granularity.name().toLowerCase());
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private UUID createCategory(String name) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO(name, "tag", "#444444"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+}
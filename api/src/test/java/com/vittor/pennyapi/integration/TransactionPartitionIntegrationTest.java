@@ -0,0 +1,223 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import com.vittor.pennyapi.repository.TransactionRepository;
+import com.vittor.pennyapi.service.TransactionLedger;
+import com.vittor.pennyapi.service.TransactionPartitionMaintenance;
+import com.vittor.pennyapi.service.TransactionSummaryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Partition Integration Tests")
+class TransactionPartitionIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TransactionPartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionSummaryCache transactionSummaryCache;
+
+    @Autowired
+    private TransactionLedger transactionLedger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String authToken;
+    private UUID userId;
+    private UUID categoryId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "partition." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Partition User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", UUID.class, email);
+
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Partition", "partition", "#333333"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+
+    @Test
+    @DisplayName("Should keep partitions for the upcoming months")
+    void shouldCreateUpcomingPartitions() {
+        partitionMaintenance.maintain();
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= 3; i++) {
+            assertTrue(partitionExists(partitionName(current.plusMonths(i))), "Missing partition for " + current.plusMonths(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should move an old month out of the history partition into its own partition")
+    void shouldGiveOldMonthsTheirOwnPartition() throws Exception {
+        YearMonth month = YearMonth.now().minusYears(7);
+        UUID transactionId = createTransaction(month.atDay(10), new BigDecimal("42.00"));
+
+        partitionMaintenance.maintain();
+
+        String partition = partitionName(month);
+        assertTrue(partitionExists(partition));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + partition + " WHERE id = ?", Integer.class, transactionId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transactions_history WHERE date >= ? AND date <= ?",
+                Integer.class, month.atDay(1), month.atEndOfMonth()));
+
+        mockMvc.perform(get("/api/transactions/summary")
+                .param("startDate", month.atDay(1).toString())
+                .param("endDate", month.atEndOfMonth().toString())
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalExpense").value(42.00));
+    }
+
+    @Test
+    @DisplayName("Financial summary should only read the partition of the requested month")
+    void summaryShouldPrunePartitions() throws Exception {
+        partitionMaintenance.maintain();
+        YearMonth current = YearMonth.now();
+        createTransaction(current.atDay(1), BigDecimal.TEN);
+
+        SqlStatementCounter.reset();
+        transactionRepository.calculateFinancialSummary(userId, current.atDay(1), current.atEndOfMonth());
+        String plan = explain(SqlStatementCounter.statements().getLast(), userId, current.atDay(1), current.atEndOfMonth());
+
+        assertTrue(plan.contains(partitionName(current)), plan);
+        assertFalse(plan.contains(partitionName(current.minusMonths(1))), plan);
+        assertFalse(plan.contains(partitionName(current.plusMonths(1))), plan);
+        assertFalse(plan.contains("transactions_history"), plan);
+        assertFalse(plan.contains("transactions_future"), plan);
+    }
+
+    @Test
+    @DisplayName("Keyset pages should skip partitions after the cursor date")
+    void keysetShouldPrunePartitionsAfterCursor() throws Exception {
+        partitionMaintenance.maintain();
+        YearMonth current = YearMonth.now();
+        LocalDate cursorDate = current.atDay(1);
+        UUID cursorId = createTransaction(cursorDate, BigDecimal.ONE);
+
+        SqlStatementCounter.reset();
+        transactionRepository.findKeysetPageAfter(userId, cursorDate, cursorId, Limit.of(21));
+        String plan = explain(SqlStatementCounter.statements().getLast(), userId, cursorDate, cursorDate, cursorId, 21);
+
+        assertTrue(plan.contains(partitionName(current)), plan);
+        assertFalse(plan.contains(partitionName(current.plusMonths(1))), plan);
+        // Partições lidas em ordem, parando no LIMIT, em vez de um merge de todos os meses
+        assertFalse(plan.contains("Merge Append"), plan);
+    }
+
+    @Test
+    @DisplayName("Should archive partitions older than the retention along with their aggregates")
+    void shouldArchiveOldPartitions() throws Exception {
+        YearMonth old = YearMonth.now().minusMonths(110);
+        // Fora da janela de history-months: fica em transactions_history, sem partição própria
+        YearMonth ancient = YearMonth.now().minusMonths(130);
+        createTransaction(old.atDay(5), BigDecimal.ONE);
+        UUID ancientId = createTransaction(ancient.atDay(5), BigDecimal.TEN);
+        partitionMaintenance.maintain();
+        assertTrue(partitionExists(partitionName(old)));
+        assertFalse(partitionExists(partitionName(ancient)));
+        // Deixa o resumo do mês em cache antes de arquivar
+        mockMvc.perform(summary(old)).andExpect(jsonPath("$.totalExpense").value(1.00));
+
+        try {
+            new TransactionPartitionMaintenance(jdbcTemplate, transactionSummaryCache, transactionLedger, 0, 120, 100)
+                    .maintain();
+
+            assertFalse(partitionExists(partitionName(old)));
+            assertFalse(partitionExists(partitionName(YearMonth.now().minusMonths(100))));
+            assertTrue(partitionExists(partitionName(YearMonth.now().minusMonths(99))));
+            assertNotNull(jdbcTemplate.queryForObject(
+                    "SELECT to_regclass(?)::text", String.class, "transactions_archive." + partitionName(old)));
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM transaction_monthly_aggregates WHERE user_id = ? AND month = ?",
+                    Integer.class, userId, old.atDay(1)));
+            mockMvc.perform(summary(old)).andExpect(jsonPath("$.totalExpense").value(0));
+
+            // Linhas antigas de transactions_history também são arquivadas, com seus agregados
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM transactions WHERE user_id = ?", Integer.class, userId));
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM transactions_archive.transactions_history WHERE id = ?", Integer.class, ancientId));
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM transaction_monthly_aggregates WHERE user_id = ?", Integer.class, userId));
+
+            // Datas de meses arquivados voltam a ser aceitas pela partição de histórico
+            createTransaction(old.atDay(6), BigDecimal.ONE);
+        } finally {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS transactions_archive CASCADE");
+        }
+    }
+
+    private MockHttpServletRequestBuilder summary(YearMonth month) {
+        return get("/api/transactions/summary")
+                .param("startDate", month.atDay(1).toString())
+                .param("endDate", month.atEndOfMonth().toString())
+                .header("Authorization", "Bearer " + authToken);
+    }
+
+    private UUID createTransaction(LocalDate date, BigDecimal amount) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionDTO("Partitioned", amount, TransactionType.EXPENSE, date, categoryId))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), TransactionResponseDTO.class).id();
+    }
+
+    private String explain(String sql, Object... params) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, params);
+        return String.join("\n", lines);
+    }
+
+    private boolean partitionExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'transactions'::regclass AND c.relname = ?)", Boolean.class, name));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "transactions_p%04d%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,144 @@
+package com.vittor.pennyapi.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Series Integration Tests")
+class TransactionSeriesIntegrationTest extends BaseIntegrationTest {
+
+    private static final YearMonth MONTH = YearMonth.now().minusMonths(3);
+
+    private String authToken;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "series." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Series User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Series", "series", "#888888"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(List.of(
+                        new CreateTransactionDTO("Salary", new BigDecimal("1000.00"), TransactionType.INCOME, MONTH.minusMonths(2).atDay(10), categoryId),
+                        new CreateTransactionDTO("Rent", new BigDecimal("100.00"), TransactionType.EXPENSE, MONTH.atDay(3), categoryId),
+                        new CreateTransactionDTO("Market", new BigDecimal("50.00"), TransactionType.EXPENSE, MONTH.atDay(6), categoryId),
+                        new CreateTransactionDTO("Refund", new BigDecimal("20.00"), TransactionType.INCOME, MONTH.atDay(8), categoryId),
+                        new CreateTransactionDTO("Coffee", new BigDecimal("5.00"), TransactionType.EXPENSE, MONTH.atDay(8), categoryId))))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should return zero-filled daily buckets with a running balance from the opening balance")
+    void shouldReturnDailySeries() throws Exception {
+        mockMvc.perform(series("day", MONTH.atDay(5), MONTH.atDay(10)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("DAY"))
+                // Mês inteiro anterior vem dos agregados, os dias 1 a 4 do próprio mês das transações
+                .andExpect(jsonPath("$.openingBalance").value(900.00))
+                .andExpect(jsonPath("$.points.length()").value(6))
+                .andExpect(jsonPath("$.points[0].bucketStart").value(MONTH.atDay(5).toString()))
+                .andExpect(jsonPath("$.points[0].totalExpense").value(0))
+                .andExpect(jsonPath("$.points[0].balance").value(900.00))
+                .andExpect(jsonPath("$.points[1].totalExpense").value(50.00))
+                .andExpect(jsonPath("$.points[1].balance").value(850.00))
+                .andExpect(jsonPath("$.points[2].balance").value(850.00))
+                .andExpect(jsonPath("$.points[3].totalIncome").value(20.00))
+                .andExpect(jsonPath("$.points[3].totalExpense").value(5.00))
+                .andExpect(jsonPath("$.points[3].balance").value(865.00))
+                .andExpect(jsonPath("$.points[5].bucketStart").value(MONTH.atDay(10).toString()))
+                .andExpect(jsonPath("$.points[5].balance").value(865.00));
+    }
+
+    @Test
+    @DisplayName("Should bucket by calendar month, including months without transactions")
+    void shouldReturnMonthlySeries() throws Exception {
+        mockMvc.perform(series("month", MONTH.minusMonths(2).atDay(1), MONTH.atEndOfMonth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingBalance").value(0))
+                .andExpect(jsonPath("$.points.length()").value(3))
+                .andExpect(jsonPath("$.points[0].totalIncome").value(1000.00))
+                .andExpect(jsonPath("$.points[0].balance").value(1000.00))
+                .andExpect(jsonPath("$.points[1].totalIncome").value(0))
+                .andExpect(jsonPath("$.points[1].balance").value(1000.00))
+                .andExpect(jsonPath("$.points[2].bucketStart").value(MONTH.atDay(1).toString()))
+                .andExpect(jsonPath("$.points[2].totalExpense").value(155.00))
+                .andExpect(jsonPath("$.points[2].balance").value(865.00));
+    }
+
+    @Test
+    @DisplayName("Should bucket by ISO week starting on Monday")
+    void shouldReturnWeeklySeries() throws Exception {
+        LocalDate start = MONTH.atDay(5);
+        LocalDate end = MONTH.atDay(20);
+        MvcResult result = mockMvc.perform(series("week", start, end))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode points = objectMapper.readTree(result.getResponse().getContentAsString()).get("points");
+        assertEquals(start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString(), points.get(0).get("bucketStart").asText());
+        BigDecimal expense = BigDecimal.ZERO;
+        for (JsonNode point : points) {
+            assertEquals(DayOfWeek.MONDAY, LocalDate.parse(point.get("bucketStart").asText()).getDayOfWeek());
+            expense = expense.add(point.get("totalExpense").decimalValue());
+        }
+        assertEquals(0, new BigDecimal("55.00").compareTo(expense));
+        assertEquals(0, new BigDecimal("865.00").compareTo(points.get(points.size() - 1).get("balance").decimalValue()));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown granularities and oversized series")
+    void shouldRejectInvalidSeries() throws Exception {
+        mockMvc.perform(series("hour", MONTH.atDay(1), MONTH.atDay(2)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid granularity 'hour'. Use day, week or month"));
+
+        mockMvc.perform(series("day", MONTH.minusYears(5).atDay(1), MONTH.atDay(1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder series(String granularity, LocalDate start, LocalDate end) {
+        return get("/api/transactions/series")
+                .param("granularity", granularity)
+                .param("startDate", start.toString())
+                .param("endDate", end.toString())
+                .header("Authorization", "Bearer " + authToken);
+    }
+}
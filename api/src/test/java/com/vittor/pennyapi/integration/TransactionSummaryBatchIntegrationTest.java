@@ -0,0 +1,129 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Summary Batch Integration Tests")
+class TransactionSummaryBatchIntegrationTest extends BaseIntegrationTest {
+
+    private static final YearMonth FIRST = YearMonth.now().minusMonths(4);
+    private static final YearMonth SECOND = FIRST.plusMonths(1);
+
+    private String authToken;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "summary.batch." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Summary Batch User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Batch", "batch", "#555555"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(List.of(
+                        new CreateTransactionDTO("Salary", new BigDecimal("1000.00"), TransactionType.INCOME, FIRST.atDay(5), categoryId),
+                        new CreateTransactionDTO("Rent", new BigDecimal("300.00"), TransactionType.EXPENSE, FIRST.atDay(10), categoryId),
+                        new CreateTransactionDTO("Market", new BigDecimal("40.00"), TransactionType.EXPENSE, SECOND.atDay(2), categoryId),
+                        new CreateTransactionDTO("Refund", new BigDecimal("15.00"), TransactionType.INCOME, SECOND.atDay(20), categoryId))))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should return one summary per period, in the order requested")
+    void shouldSummarizeEachPeriod() throws Exception {
+        mockMvc.perform(batch(List.of(
+                        new SummaryPeriodDTO(SECOND.atDay(1), SECOND.atEndOfMonth()),
+                        new SummaryPeriodDTO(FIRST.atDay(1), SECOND.atEndOfMonth()),
+                        new SummaryPeriodDTO(FIRST.atDay(6), SECOND.atDay(10)),
+                        new SummaryPeriodDTO(FIRST.minusMonths(6).atDay(1), FIRST.minusMonths(6).atEndOfMonth()),
+                        new SummaryPeriodDTO(SECOND.atDay(1), SECOND.atEndOfMonth()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].startDate").value(SECOND.atDay(1).toString()))
+                .andExpect(jsonPath("$[0].totalIncome").value(15.00))
+                .andExpect(jsonPath("$[0].totalExpense").value(40.00))
+                .andExpect(jsonPath("$[1].totalIncome").value(1015.00))
+                .andExpect(jsonPath("$[1].totalExpense").value(340.00))
+                .andExpect(jsonPath("$[1].balance").value(675.00))
+                // Meses parciais nas duas pontas: só os dias dentro do período contam
+                .andExpect(jsonPath("$[2].totalIncome").value(0))
+                .andExpect(jsonPath("$[2].totalExpense").value(340.00))
+                .andExpect(jsonPath("$[3].totalIncome").value(0))
+                .andExpect(jsonPath("$[3].totalExpense").value(0))
+                .andExpect(jsonPath("$[4].totalExpense").value(40.00));
+    }
+
+    @Test
+    @DisplayName("Should match the single-period summary for the same range")
+    void shouldMatchSingleSummary() throws Exception {
+        mockMvc.perform(batch(List.of(new SummaryPeriodDTO(FIRST.atDay(3), SECOND.atDay(25)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].balance").value(675.00));
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/transactions/summary")
+                        .param("startDate", FIRST.atDay(3).toString())
+                        .param("endDate", SECOND.atDay(25).toString())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(675.00));
+        // Mesmo período e usuário: servido pelo cache preenchido no lote
+        assertEquals(0, SqlStatementCounter.count());
+    }
+
+    @Test
+    @DisplayName("Should reject empty, oversized and inverted batches")
+    void shouldRejectInvalidBatches() throws Exception {
+        mockMvc.perform(batch(List.of()))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(batch(Collections.nCopies(SummaryBatchRequestDTO.MAX_PERIODS + 1,
+                        new SummaryPeriodDTO(FIRST.atDay(1), FIRST.atEndOfMonth()))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(batch(List.of(new SummaryPeriodDTO(SECOND.atDay(1), FIRST.atDay(1)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Start date cannot be after end date"));
+    }
+
+    private MockHttpServletRequestBuilder batch(List<SummaryPeriodDTO> periods) throws Exception {
+        return post("/api/transactions/summary/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new SummaryBatchRequestDTO(periods)));
+    }
+}
@@ -0,0 +1,139 @@
+package com.vittor.pennyapi.integration;
+
+import com.vittor.pennyapi.dto.*;
+import com.vittor.pennyapi.enums.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Transaction Summary Cache Integration Tests")
+class TransactionSummaryCacheIntegrationTest extends BaseIntegrationTest {
+
+    private static final YearMonth MONTH = YearMonth.now().minusMonths(2);
+
+    private String authToken;
+    private UUID categoryId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        String email = "summary.cache." + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new RegisterDTO("Summary Cache User", email, "password123"))))
+                .andExpect(status().isCreated());
+
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new LoginDTO(email, "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        authToken = fromJson(loginResult.getResponse().getContentAsString(), LoginResponseDTO.class).token();
+
+        MvcResult categoryResult = mockMvc.perform(post("/api/categories")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateCategoryDTO("Cached", "cached", "#777777"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        categoryId = fromJson(categoryResult.getResponse().getContentAsString(), CategoryResponseDTO.class).id();
+    }
+
+    @Test
+    @DisplayName("Repeated summary requests should be served without touching the database")
+    void repeatedSummaryShouldBeCached() throws Exception {
+        createTransaction(MONTH.atDay(10), "30.00");
+
+        mockMvc.perform(summary()).andExpect(jsonPath("$.totalExpense").value(30.00));
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(summary())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalExpense").value(30.00));
+        assertEquals(0, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+    }
+
+    @Test
+    @DisplayName("Creates, updates, deletes and batches should refresh the cached summary")
+    void writesShouldEvictCachedSummary() throws Exception {
+        UUID transactionId = createTransaction(MONTH.atDay(10), "30.00");
+        mockMvc.perform(summary()).andExpect(jsonPath("$.totalExpense").value(30.00));
+
+        createTransaction(MONTH.atDay(11), "12.50");
+        mockMvc.perform(summary()).andExpect(jsonPath("$.totalExpense").value(42.50));
+
+        mockMvc.perform(put("/api/transactions/" + transactionId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new UpdateTransactionDTO("Moved", new BigDecimal("30.00"), TransactionType.EXPENSE,
+                        MONTH.minusMonths(1).atDay(10), categoryId))))
+                .andExpect(status().isOk());
+        mockMvc.perform(summary()).andExpect(jsonPath("$.totalExpense").value(12.50));
+
+        mockMvc.perform(post("/api/transactions/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionBatchDTO(List.of(
+                        new CreateTransactionDTO("Batch", new BigDecimal("7.50"), TransactionType.EXPENSE, MONTH.atDay(20), categoryId))))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(summary()).andExpect(jsonPath("$.totalExpense").value(20.00));
+
+        mockMvc.perform(summary(MONTH.minusMonths(1))).andExpect(jsonPath("$.totalExpense").value(30.00));
+        mockMvc.perform(delete("/api/transactions/" + transactionId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(summary(MONTH.minusMonths(1))).andExpect(jsonPath("$.totalExpense").value(0));
+    }
+
+    @Test
+    @DisplayName("A write that fails should leave the cached summary in place")
+    void failedWriteShouldNotEvict() throws Exception {
+        createTransaction(MONTH.atDay(10), "30.00");
+        mockMvc.perform(summary()).andExpect(jsonPath("$.totalExpense").value(30.00));
+
+        mockMvc.perform(put("/api/transactions/" + UUID.randomUUID())
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new UpdateTransactionDTO("Missing", new BigDecimal("1.00"), TransactionType.EXPENSE,
+                        MONTH.atDay(10), categoryId))))
+                .andExpect(status().isNotFound());
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(summary()).andExpect(jsonPath("$.totalExpense").value(30.00));
+        assertEquals(0, SqlStatementCounter.count());
+    }
+
+    private MockHttpServletRequestBuilder summary() {
+        return summary(MONTH);
+    }
+
+    private MockHttpServletRequestBuilder summary(YearMonth month) {
+        return get("/api/transactions/summary")
+                .param("startDate", month.atDay(1).toString())
+                .param("endDate", month.atEndOfMonth().toString())
+                .header("Authorization", "Bearer " + authToken);
+    }
+
+    private UUID createTransaction(LocalDate date, String amount) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/transactions")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(toJson(new CreateTransactionDTO("Cached", new BigDecimal(amount), TransactionType.EXPENSE, date, categoryId))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return fromJson(result.getResponse().getContentAsString(), TransactionResponseDTO.class).id();
+    }
+}
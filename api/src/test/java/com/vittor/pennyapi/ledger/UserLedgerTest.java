@@ -0,0 +1,94 @@
+package com.vittor.pennyapi.ledger;
+
+import com.vittor.pennyapi.enums.SeriesGranularity;
+import com.vittor.pennyapi.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserLedgerTest {
+
+    private static final UUID FOOD = UUID.randomUUID();
+    private static final UUID SALARY = UUID.randomUUID();
+
+    private static final LedgerEntry RENT = expense(LocalDate.of(2025, 1, 3), 100_00, FOOD);
+    private static final LedgerEntry PAYCHECK = income(LocalDate.of(2025, 1, 5), 1000_00, SALARY);
+    private static final LedgerEntry MARKET = expense(LocalDate.of(2025, 2, 10), 45_50, FOOD);
+    private static final LedgerEntry REFUND = income(LocalDate.of(2025, 2, 20), 15_00, FOOD);
+
+    // Fora de ordem de propósito: o builder ordena por data
+    private final UserLedger ledger = UserLedger.builder()
+            .add(MARKET).add(RENT).add(REFUND).add(PAYCHECK)
+            .build();
+
+    @Test
+    @DisplayName("Should sum only the rows inside the inclusive date range")
+    void totals_Range_SumsInclusiveBounds() {
+        LedgerTotals totals = ledger.totals(LocalDate.of(2025, 1, 5), LocalDate.of(2025, 2, 10));
+
+        assertEquals(1000_00, totals.incomeCents());
+        assertEquals(45_50, totals.expenseCents());
+        assertEquals(2, totals.count());
+        assertEquals(Money.ofCents(1000_00), totals.income());
+        assertEquals(LedgerTotals.EMPTY, ledger.totals(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    @DisplayName("Should group the period per category and per month")
+    void breakdown_TwoMonths_GroupsByCategoryAndMonth() {
+        LedgerBreakdown breakdown = ledger.breakdown(LocalDate.of(2025, 1, 4), LocalDate.of(2025, 2, 28));
+
+        assertEquals(new LedgerTotals(1015_00, 45_50, 3), breakdown.total());
+        assertEquals(new LedgerTotals(15_00, 45_50, 2), breakdown.categories().get(FOOD));
+        assertEquals(new LedgerTotals(1000_00, 0, 1), breakdown.categories().get(SALARY));
+        assertEquals(List.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2)), List.copyOf(breakdown.months().keySet()));
+        assertEquals(new LedgerTotals(1000_00, 0, 1), breakdown.months().get(YearMonth.of(2025, 1)));
+        assertEquals(new LedgerTotals(15_00, 45_50, 2), breakdown.months().get(YearMonth.of(2025, 2)));
+    }
+
+    @Test
+    @DisplayName("Should fill empty buckets and start from the balance before the period")
+    void series_Weekly_FillsEmptyBucketsWithOpeningBalance() {
+        LedgerSeries series = ledger.series(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), SeriesGranularity.WEEK);
+
+        assertEquals(900_00, series.openingBalanceCents());
+        // 01/02/2025 é sábado: o primeiro bucket começa na segunda anterior
+        assertEquals(LocalDate.of(2025, 1, 27), series.bucketStarts().getFirst());
+        assertEquals(5, series.bucketStarts().size());
+        assertArrayEquals(new long[]{0, 0, 0, 15_00, 0}, series.incomeCents());
+        assertArrayEquals(new long[]{0, 0, 45_50, 0, 0}, series.expenseCents());
+    }
+
+    @Test
+    @DisplayName("Should replace rows by id and ignore a change applied twice")
+    void with_UpsertAndRemove_IsIdempotent() {
+        LedgerEntry movedMarket = expense(MARKET.id(), LocalDate.of(2025, 1, 20), 50_00, FOOD);
+
+        UserLedger updated = ledger.with(List.of(RENT.id()), List.of(movedMarket));
+        UserLedger reapplied = updated.with(List.of(RENT.id()), List.of(movedMarket));
+
+        assertEquals(3, reapplied.size());
+        assertEquals(new LedgerTotals(1000_00, 50_00, 2), reapplied.totals(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+        assertEquals(new LedgerTotals(15_00, 0, 1), reapplied.totals(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28)));
+        assertEquals(4, ledger.size());
+        assertTrue(reapplied.estimatedBytes() < ledger.estimatedBytes());
+    }
+
+    private static LedgerEntry income(LocalDate date, long cents, UUID categoryId) {
+        return new LedgerEntry(UUID.randomUUID(), date, cents, true, categoryId);
+    }
+
+    private static LedgerEntry expense(LocalDate date, long cents, UUID categoryId) {
+        return expense(UUID.randomUUID(), date, cents, categoryId);
+    }
+
+    private static LedgerEntry expense(UUID id, LocalDate date, long cents, UUID categoryId) {
+        return new LedgerEntry(id, date, cents, false, categoryId);
+    }
+}
@@ -0,0 +1,85 @@
+package com.vittor.pennyapi.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private static final List<Long> CENTS = List.of(0L, 1L, 5L, 10L, 99L, 100L, 123_450L, -1L, -5L, -816_824L,
+            999_999_999_999_999_999L, Long.MAX_VALUE, Long.MIN_VALUE);
+
+    @Test
+    @DisplayName("Should round amounts to cents like the numeric(19,2) column")
+    void of_RoundsHalfUp() {
+        assertEquals(12346, Money.of(new BigDecimal("123.455")).cents());
+        assertEquals(100, Money.of(BigDecimal.ONE).cents());
+        assertEquals(-5, Money.of(new BigDecimal("-0.05")).cents());
+        assertEquals(2, Money.of(new BigDecimal("123.455")).scale());
+        assertEquals(Money.ZERO, Money.of(new BigDecimal("0.00")));
+    }
+
+    @Test
+    @DisplayName("Should keep the scale of the decimal amount like BigDecimal arithmetic")
+    void scale_FollowsBigDecimal() {
+        Money sevenAndAHalf = Money.of(new BigDecimal("7.5"));
+
+        assertEquals("0", Money.ZERO.toString());
+        assertEquals("0.00", Money.ofCents(0).toString());
+        assertEquals("7.5", sevenAndAHalf.toString());
+        assertEquals("100", Money.of(new BigDecimal("100")).toString());
+        assertEquals("7.50", sevenAndAHalf.plus(Money.ofCents(0)).toString());
+        assertEquals("-7.5", Money.ZERO.minus(sevenAndAHalf).toString());
+        assertEquals("1E+3", Money.of(new BigDecimal("1E+3")).toString());
+        assertEquals(Money.ofCents(750), sevenAndAHalf);
+        assertEquals(Money.ofCents(750).hashCode(), sevenAndAHalf.hashCode());
+    }
+
+    @Test
+    @DisplayName("Should throw instead of wrapping around when leaving the long range")
+    void arithmetic_Overflow_Throws() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MIN_VALUE).minus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MIN_VALUE).negate());
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("92233720368547758.08")));
+        assertEquals(Money.ofCents(Long.MAX_VALUE - 1), max.minus(Money.ofCents(1)));
+    }
+
+    @Test
+    @DisplayName("Should print the same text as the equivalent BigDecimal")
+    void toString_MatchesBigDecimal() {
+        for (long cents : CENTS) {
+            assertEquals(BigDecimal.valueOf(cents, 2).toPlainString(), Money.ofCents(cents).toString());
+            assertEquals(BigDecimal.valueOf(cents, 2), Money.ofCents(cents).toBigDecimal());
+        }
+    }
+
+    @Test
+    @DisplayName("Should serialize to the same JSON as the equivalent BigDecimal and read it back")
+    void json_MatchesBigDecimal() {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+
+        for (long cents : CENTS) {
+            Money money = Money.ofCents(cents);
+            String json = jsonMapper.writeValueAsString(Map.of("amount", money));
+
+            assertEquals(jsonMapper.writeValueAsString(Map.of("amount", BigDecimal.valueOf(cents, 2))), json);
+            assertEquals(money, jsonMapper.readValue(jsonMapper.writeValueAsString(money), Money.class));
+        }
+        for (String amount : List.of("0", "7.5", "100", "-0.1", "1234.50", "1E+3")) {
+            BigDecimal decimal = new BigDecimal(amount);
+            String json = jsonMapper.writeValueAsString(Money.of(decimal));
+
+            assertEquals(jsonMapper.writeValueAsString(decimal), json);
+            assertEquals(decimal, jsonMapper.readValue(json, Money.class).toBigDecimal());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.vittor.pennyapi.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    @Test
+    @DisplayName("Should use the configured strength when the range is fixed")
+    void constructor_FixedRange_UsesThatStrength() {
+        // When
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(250, 4, 4);
+
+        // Then
+        assertEquals(4, encoder.getStrength());
+        assertEquals(4, AdaptiveBCryptPasswordEncoder.strengthOf(encoder.encode("password")));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the minimum strength when the budget is too small")
+    void constructor_TinyBudget_UsesMinimumStrength() {
+        // When
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(-1, 4, 6);
+
+        // Then
+        assertEquals(4, encoder.getStrength());
+    }
+
+    @Test
+    @DisplayName("Should calibrate within the configured range")
+    void constructor_GenerousBudget_StaysWithinRange() {
+        // When
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(10_000, 4, 6);
+
+        // Then
+        assertTrue(encoder.getStrength() >= 4 && encoder.getStrength() <= 6);
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid strength range")
+    void constructor_InvalidRange_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBCryptPasswordEncoder(250, 8, 6));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBCryptPasswordEncoder(250, 3, 6));
+    }
+
+    @Test
+    @DisplayName("Should match hashes created with any strength")
+    void matches_HashWithOtherStrength_ReturnsTrue() {
+        // Given
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(250, 4, 4);
+        String legacyHash = new BCryptPasswordEncoder(5).encode("password");
+
+        // When & Then
+        assertTrue(encoder.matches("password", legacyHash));
+        assertFalse(encoder.matches("wrong", legacyHash));
+    }
+
+    @Test
+    @DisplayName("Should use a pinned strength without calibrating")
+    void constructor_PinnedStrength_UsesThatStrength() {
+        // When
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        // Then
+        assertEquals(5, encoder.getStrength());
+        assertEquals(5, AdaptiveBCryptPasswordEncoder.strengthOf(encoder.encode("password")));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBCryptPasswordEncoder(3));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveBCryptPasswordEncoder(32));
+    }
+
+    @Test
+    @DisplayName("Should request rehash for weaker and stronger hashes but not for the current strength")
+    void upgradeEncoding_ComparesStoredStrength() {
+        // Given
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        // When & Then
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    @DisplayName("Should rehash down to a lowered pinned strength")
+    void upgradeEncoding_LoweredPinnedStrength_RehashesDown() {
+        // Given: hash gravado antes de o custo fixo baixar de 6 para 4
+        String storedHash = new AdaptiveBCryptPasswordEncoder(6).encode("password");
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(4);
+
+        // When
+        boolean rehash = encoder.upgradeEncoding(storedHash);
+        String rehashed = encoder.encode("password");
+
+        // Then
+        assertTrue(rehash);
+        assertTrue(encoder.matches("password", storedHash));
+        assertEquals(4, AdaptiveBCryptPasswordEncoder.strengthOf(rehashed));
+        assertFalse(encoder.upgradeEncoding(rehashed));
+    }
+}
@@ -0,0 +1,119 @@
+package com.vittor.pennyapi.security;
+
+import com.vittor.pennyapi.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        boundedPasswordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, 2000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        boundedPasswordEncoder.destroy();
+    }
+
+    @Test
+    @DisplayName("Should delegate encode and matches to the wrapped encoder on the hashing pool")
+    void encodeAndMatches_DelegateOnPool() {
+        // Given
+        when(delegate.encode("password")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("password", "hash")).thenReturn(true);
+
+        // When
+        String encodedOn = boundedPasswordEncoder.encode("password");
+        boolean matches = boundedPasswordEncoder.matches("password", "hash");
+
+        // Then
+        assertTrue(encodedOn.startsWith("password-hash-"));
+        assertTrue(matches);
+        assertEquals(1, meterRegistry.get("penny.auth.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("penny.auth.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should reject with ServiceOverloadedException when the queue is full")
+    void encode_QueueFull_ThrowsServiceOverloadedException() throws Exception {
+        // Given - one task running and one queued fill the pool
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> boundedPasswordEncoder.encode("first"));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> boundedPasswordEncoder.encode("second"));
+            waitForQueueDepth(1);
+
+            // When & Then
+            ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                    () -> boundedPasswordEncoder.encode("third"));
+            assertEquals(1, exception.getRetryAfterSeconds());
+            assertEquals(1.0, meterRegistry.get("penny.auth.password.rejected").counter().count());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should propagate exceptions thrown by the wrapped encoder")
+    void matches_DelegateThrows_PropagatesException() {
+        // Given
+        when(delegate.matches("password", "bad-hash")).thenThrow(new IllegalArgumentException("Invalid hash"));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> boundedPasswordEncoder.matches("password", "bad-hash"));
+    }
+
+    @Test
+    @DisplayName("Should answer upgradeEncoding on the caller thread")
+    void upgradeEncoding_DelegatesDirectly() {
+        // Given
+        when(delegate.upgradeEncoding("hash")).thenReturn(true);
+
+        // When & Then
+        assertTrue(boundedPasswordEncoder.upgradeEncoding("hash"));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("penny.auth.password.queue.depth").gauge().value() < depth
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
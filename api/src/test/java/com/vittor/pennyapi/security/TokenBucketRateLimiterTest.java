@@ -0,0 +1,143 @@
+package com.vittor.pennyapi.security;
+
+import com.vittor.pennyapi.security.TokenBucketRateLimiter.EndpointClass;
+import com.vittor.pennyapi.security.TokenBucketRateLimiter.Limit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = limiter(1000);
+    }
+
+    private TokenBucketRateLimiter limiter(long maxBuckets) {
+        return new TokenBucketRateLimiter(
+                Map.of(
+                        EndpointClass.READ, new Limit(10, 5),
+                        EndpointClass.WRITE, new Limit(3, 1),
+                        EndpointClass.ANALYTICS, new Limit(2, 1)
+                ),
+                maxBuckets,
+                Duration.ofMinutes(10),
+                clock::get
+        );
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity and then reject with the wait time")
+    void tryAcquire_BurstAboveCapacity_Rejects() {
+        UUID userId = UUID.randomUUID();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(userId, EndpointClass.WRITE));
+        }
+        long wait = rateLimiter.tryAcquire(userId, EndpointClass.WRITE);
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void tryAcquire_AfterRefillInterval_AllowsAgain() {
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(userId, EndpointClass.WRITE);
+        }
+        assertTrue(rateLimiter.tryAcquire(userId, EndpointClass.WRITE) > 0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(0, rateLimiter.tryAcquire(userId, EndpointClass.WRITE));
+        assertTrue(rateLimiter.tryAcquire(userId, EndpointClass.WRITE) > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep buckets separate per user and per endpoint class")
+    void tryAcquire_DifferentUsersAndClasses_AreIndependent() {
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        for (int i = 0; i < 2; i++) {
+            rateLimiter.tryAcquire(userId, EndpointClass.ANALYTICS);
+        }
+
+        assertTrue(rateLimiter.tryAcquire(userId, EndpointClass.ANALYTICS) > 0);
+        assertEquals(0, rateLimiter.tryAcquire(otherUserId, EndpointClass.ANALYTICS));
+        assertEquals(0, rateLimiter.tryAcquire(userId, EndpointClass.READ));
+    }
+
+    @Test
+    @DisplayName("Should never admit more than capacity under concurrent requests")
+    void tryAcquire_ConcurrentRequests_AdmitsExactlyCapacity() throws Exception {
+        UUID userId = UUID.randomUUID();
+        int threads = 16;
+        int attemptsPerThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (rateLimiter.tryAcquire(userId, EndpointClass.READ) == 0) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+
+            int totalAllowed = 0;
+            for (Future<Integer> result : results) {
+                totalAllowed += result.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(10, totalAllowed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should bound the number of tracked buckets")
+    void tryAcquire_ManyUsers_KeepsBucketCountBounded() {
+        TokenBucketRateLimiter bounded = limiter(100);
+
+        for (int i = 0; i < 1000; i++) {
+            bounded.tryAcquire(UUID.randomUUID(), EndpointClass.READ);
+        }
+
+        assertTrue(bounded.trackedBuckets() <= 100);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid limits")
+    void limit_NonPositiveValues_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new Limit(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Limit(1, 0));
+    }
+}
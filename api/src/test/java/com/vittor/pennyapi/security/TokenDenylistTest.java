@@ -0,0 +1,174 @@
+package com.vittor.pennyapi.security;
+
+import com.vittor.pennyapi.entity.TokenRevocation;
+import com.vittor.pennyapi.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenDenylistTest {
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    private TokenDenylist tokenDenylist;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        tokenDenylist = new TokenDenylist(tokenRevocationRepository, 1000, 3600000L);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token and keep accepting other tokens")
+    void revoke_MarksOnlyThatToken() {
+        // Given
+        when(tokenRevocationRepository.save(any(TokenRevocation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        tokenDenylist.revoke("revoked-jti", userId, Instant.now().plusSeconds(3600));
+
+        // Then
+        assertTrue(tokenDenylist.isRevoked(token("revoked-jti", Instant.now())));
+        assertFalse(tokenDenylist.isRevoked(token("other-jti", Instant.now())));
+        verify(tokenRevocationRepository, times(1)).save(any(TokenRevocation.class));
+    }
+
+    @Test
+    @DisplayName("Should reject every token issued before a revoke-all")
+    void revokeAllSessions_RejectsTokensIssuedBefore() {
+        // Given
+        when(tokenRevocationRepository.save(any(TokenRevocation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        VerifiedToken older = token("older-jti", Instant.now().minusSeconds(60));
+        VerifiedToken newer = token("newer-jti", Instant.now().plusSeconds(5));
+        VerifiedToken legacy = token(null, null);
+
+        // When
+        tokenDenylist.revokeAllSessions(userId);
+
+        // Then
+        assertTrue(tokenDenylist.isRevoked(older));
+        assertTrue(tokenDenylist.isRevoked(legacy));
+        assertFalse(tokenDenylist.isRevoked(newer));
+    }
+
+    @Test
+    @DisplayName("Should accept a token issued right after a revoke-all, within the same second")
+    void revokeAllSessions_AcceptsTokenIssuedRightAfter() {
+        // Given
+        ArgumentCaptor<TokenRevocation> saved = ArgumentCaptor.forClass(TokenRevocation.class);
+        when(tokenRevocationRepository.save(saved.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        tokenDenylist.revokeAllSessions(userId);
+        Instant revokedAt = saved.getValue().getRevokedAt();
+
+        // Then
+        assertTrue(tokenDenylist.isRevoked(token("same-instant", revokedAt)));
+        assertFalse(tokenDenylist.isRevoked(token("next-login", revokedAt.plusMillis(1))));
+        // Tokens antigos, só com iat em segundos, continuam cobertos dentro do mesmo segundo
+        assertTrue(tokenDenylist.isRevoked(token("legacy", revokedAt.truncatedTo(ChronoUnit.SECONDS))));
+    }
+
+    @Test
+    @DisplayName("Should apply revocations written by other nodes when synchronizing")
+    void synchronize_AppliesRemoteRevocations() {
+        // Given
+        TokenRevocation remote = new TokenRevocation(1L, "remote-jti", userId, Instant.now(), Instant.now().plusSeconds(3600));
+        when(tokenRevocationRepository.findByRevokedAtAfterAndExpiresAtAfter(any(Instant.class), any(Instant.class)))
+                .thenReturn(List.of(remote));
+
+        // When
+        tokenDenylist.synchronize();
+
+        // Then
+        assertTrue(tokenDenylist.isRevoked(token("remote-jti", Instant.now())));
+    }
+
+    @Test
+    @DisplayName("Should load unexpired revocations at startup")
+    void load_AppliesPersistedRevocations() {
+        // Given
+        TokenRevocation persisted = new TokenRevocation(1L, null, userId, Instant.now(), Instant.now().plusSeconds(3600));
+        when(tokenRevocationRepository.findByExpiresAtAfter(any(Instant.class))).thenReturn(List.of(persisted));
+
+        // When
+        tokenDenylist.load();
+
+        // Then
+        assertTrue(tokenDenylist.isRevoked(token("any-jti", Instant.now().minusSeconds(10))));
+    }
+
+    @Test
+    @DisplayName("Should drop entries once the tokens they cover have expired")
+    void evictExpired_RemovesExpiredEntries() {
+        // Given
+        when(tokenRevocationRepository.save(any(TokenRevocation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        tokenDenylist.revoke("short-lived", userId, Instant.now().plusSeconds(1));
+        tokenDenylist.revoke("long-lived", userId, Instant.now().plusSeconds(3600));
+
+        // When
+        tokenDenylist.evictExpired(Instant.now().plusSeconds(60));
+
+        // Then
+        assertEquals(1, tokenDenylist.size());
+        assertFalse(tokenDenylist.isRevoked(token("short-lived", Instant.now())));
+        assertTrue(tokenDenylist.isRevoked(token("long-lived", Instant.now())));
+    }
+
+    @Test
+    @DisplayName("Should delete expired rows from the revocation table")
+    void purgeExpired_DeletesExpiredRows() {
+        // Given
+        when(tokenRevocationRepository.deleteExpired(any(Instant.class))).thenReturn(3);
+
+        // When
+        tokenDenylist.purgeExpired();
+
+        // Then
+        verify(tokenRevocationRepository, times(1)).deleteExpired(any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Bloom prefilter should never report a stored value as absent")
+    void bloomFilter_HasNoFalseNegatives() {
+        // Given
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("jti-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("jti-" + i));
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(falsePositives < 50, "Too many false positives: " + falsePositives);
+    }
+
+    private VerifiedToken token(String tokenId, Instant issuedAt) {
+        return new VerifiedToken(tokenId, "test@example.com", userId, List.of("ROLE_USER"), issuedAt,
+                Instant.now().plusSeconds(3600));
+    }
+}
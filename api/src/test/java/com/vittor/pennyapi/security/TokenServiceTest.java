@@ -13,6 +13,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,13 +27,17 @@ class TokenServiceTest {
 
     private User user;
     private final String testSecret = "test-secret-key-for-jwt-tokens-must-be-long-enough";
+    private final String previousSecret = "previous-secret-key-still-accepted-for-verification";
     private final Long testExpiration = 3600000L; // 1 hour in milliseconds
 
     @BeforeEach
     void setUp() {
         // Inject test values for @Value fields using ReflectionTestUtils
         ReflectionTestUtils.setField(tokenService, "secret", testSecret);
+        ReflectionTestUtils.setField(tokenService, "keyId", "current");
+        ReflectionTestUtils.setField(tokenService, "verificationKeys", "previous:" + previousSecret);
         ReflectionTestUtils.setField(tokenService, "expiration", testExpiration);
+        tokenService.init();
 
         user = new User();
         user.setId(UUID.randomUUID());
@@ -57,8 +63,12 @@ class TokenServiceTest {
         // Decode and verify claims
         DecodedJWT decodedJWT = JWT.decode(token);
         assertEquals("penny-api", decodedJWT.getIssuer());
+        assertEquals("current", decodedJWT.getKeyId());
+        assertNotNull(decodedJWT.getId());
+        assertNotNull(decodedJWT.getIssuedAt());
         assertEquals(user.getEmail(), decodedJWT.getSubject());
         assertEquals(user.getId().toString(), decodedJWT.getClaim("userId").asString());
+        assertEquals(List.of("ROLE_USER"), decodedJWT.getClaim("roles").asList(String.class));
         assertNotNull(decodedJWT.getExpiresAt());
     }
 
@@ -76,6 +86,59 @@ class TokenServiceTest {
         assertEquals(user.getEmail(), email);
     }
 
+    @Test
+    @DisplayName("Should expose subject, user id and expiration of a valid token")
+    void verifyToken_ValidToken_ReturnsClaims() {
+        // Given
+        String token = tokenService.generateToken(user);
+
+        // When
+        Optional<VerifiedToken> verified = tokenService.verifyToken(token);
+
+        // Then
+        assertTrue(verified.isPresent());
+        assertEquals(user.getEmail(), verified.get().subject());
+        assertEquals(user.getId(), verified.get().userId());
+        assertEquals(List.of("ROLE_USER"), verified.get().roles());
+        assertEquals(JWT.decode(token).getId(), verified.get().tokenId());
+        assertNotNull(verified.get().issuedAt());
+        assertEquals(JWT.decode(token).getClaim("iatMs").asLong(), verified.get().issuedAt().toEpochMilli());
+        assertTrue(verified.get().expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    @DisplayName("Should default to ROLE_USER when token has no roles claim")
+    void verifyToken_MissingRoles_DefaultsToUserRole() {
+        // Given
+        String token = JWT.create()
+                .withIssuer("penny-api")
+                .withSubject(user.getEmail())
+                .withClaim("userId", user.getId().toString())
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(testSecret));
+
+        // When
+        Optional<VerifiedToken> verified = tokenService.verifyToken(token);
+
+        // Then
+        assertTrue(verified.isPresent());
+        assertEquals(List.of("ROLE_USER"), verified.get().roles());
+    }
+
+    @Test
+    @DisplayName("Should return empty when token has no userId claim")
+    void verifyToken_MissingUserId_ReturnsEmpty() {
+        // Given
+        String token = JWT.create()
+                .withIssuer("penny-api")
+                .withSubject(user.getEmail())
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(testSecret));
+
+        // When & Then
+        assertTrue(tokenService.verifyToken(token).isEmpty());
+    }
+
     @Test
     @DisplayName("Should return empty string for invalid token")
     void validateToken_InvalidToken_ReturnsEmptyString() {
@@ -126,15 +189,102 @@ class TokenServiceTest {
     }
 
     @Test
-    @DisplayName("Should throw RuntimeException when JWT creation fails")
-    void generateToken_JWTCreationFails_ThrowsRuntimeException() {
-        // Given - Set invalid secret to force JWT creation to fail
+    @DisplayName("Should fail fast when signing secret is empty")
+    void init_EmptySecret_ThrowsIllegalArgumentException() {
+        // Given
         ReflectionTestUtils.setField(tokenService, "secret", "");
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> {
-            tokenService.generateToken(user);
-        });
+        assertThrows(IllegalArgumentException.class, () -> tokenService.init());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed verification keys")
+    void init_MalformedVerificationKeys_ThrowsIllegalArgumentException() {
+        // Given
+        ReflectionTestUtils.setField(tokenService, "verificationKeys", "no-separator");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> tokenService.init());
+    }
+
+    @Test
+    @DisplayName("Should reject verification key reusing the current kid")
+    void init_DuplicateKeyId_ThrowsIllegalArgumentException() {
+        // Given
+        ReflectionTestUtils.setField(tokenService, "verificationKeys", "current:" + previousSecret);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> tokenService.init());
+    }
+
+    @Test
+    @DisplayName("Should accept token signed by a verification-only key")
+    void verifyToken_SignedByPreviousKey_ReturnsClaims() {
+        // Given
+        String token = JWT.create()
+                .withKeyId("previous")
+                .withIssuer("penny-api")
+                .withSubject(user.getEmail())
+                .withClaim("userId", user.getId().toString())
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(previousSecret));
+
+        // When
+        Optional<VerifiedToken> verified = tokenService.verifyToken(token);
+
+        // Then
+        assertTrue(verified.isPresent());
+        assertEquals(user.getEmail(), verified.get().subject());
+    }
+
+    @Test
+    @DisplayName("Should keep accepting tokens after the signing key is rotated")
+    void verifyToken_AfterRotation_AcceptsTokensFromPreviousKey() {
+        // Given - token issued with the current key
+        String token = tokenService.generateToken(user);
+
+        // When - a new key becomes current and the old one is kept for verification
+        ReflectionTestUtils.setField(tokenService, "secret", "rotated-secret-key-for-jwt-tokens");
+        ReflectionTestUtils.setField(tokenService, "keyId", "rotated");
+        ReflectionTestUtils.setField(tokenService, "verificationKeys", "current:" + testSecret);
+        tokenService.init();
+
+        // Then
+        assertEquals(user.getEmail(), tokenService.validateToken(token));
+        assertEquals("rotated", JWT.decode(tokenService.generateToken(user)).getKeyId());
+    }
+
+    @Test
+    @DisplayName("Should reject token with unknown kid")
+    void verifyToken_UnknownKeyId_ReturnsEmpty() {
+        // Given
+        String token = JWT.create()
+                .withKeyId("unknown")
+                .withIssuer("penny-api")
+                .withSubject(user.getEmail())
+                .withClaim("userId", user.getId().toString())
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(testSecret));
+
+        // When & Then
+        assertTrue(tokenService.verifyToken(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject token whose kid does not match the signing key")
+    void verifyToken_KeyIdMismatch_ReturnsEmpty() {
+        // Given - claims to be signed by "previous" but was signed with the current secret
+        String token = JWT.create()
+                .withKeyId("previous")
+                .withIssuer("penny-api")
+                .withSubject(user.getEmail())
+                .withClaim("userId", user.getId().toString())
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(testSecret));
+
+        // When & Then
+        assertTrue(tokenService.verifyToken(token).isEmpty());
     }
 
     @Test
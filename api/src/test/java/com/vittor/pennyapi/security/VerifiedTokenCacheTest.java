@@ -0,0 +1,104 @@
+package com.vittor.pennyapi.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private TokenService tokenService;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private VerifiedToken verifiedToken;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache(tokenService, 2);
+        verifiedToken = new VerifiedToken("jti", "test@example.com", UUID.randomUUID(), List.of("ROLE_USER"), Instant.now(), Instant.now().plusSeconds(3600));
+    }
+
+    @Test
+    @DisplayName("Should verify a token only once while it is cached")
+    void verify_CachedToken_SkipsVerification() {
+        // Given
+        when(tokenService.verifyToken("token")).thenReturn(Optional.of(verifiedToken));
+
+        // When
+        Optional<VerifiedToken> first = verifiedTokenCache.verify("token");
+        Optional<VerifiedToken> second = verifiedTokenCache.verify("token");
+
+        // Then
+        assertEquals(Optional.of(verifiedToken), first);
+        assertEquals(Optional.of(verifiedToken), second);
+        verify(tokenService, times(1)).verifyToken("token");
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens that fail verification")
+    void verify_InvalidToken_IsNotCached() {
+        // Given
+        when(tokenService.verifyToken("invalid")).thenReturn(Optional.empty());
+
+        // When
+        verifiedTokenCache.verify("invalid");
+        Optional<VerifiedToken> result = verifiedTokenCache.verify("invalid");
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(tokenService, times(2)).verifyToken("invalid");
+        assertEquals(0, verifiedTokenCache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should re-verify a token once its expiration has passed")
+    void verify_ExpiredEntry_IsVerifiedAgain() {
+        // Given
+        VerifiedToken expired = new VerifiedToken("jti", "test@example.com", UUID.randomUUID(), List.of("ROLE_USER"), Instant.now(), Instant.now().minusSeconds(1));
+        when(tokenService.verifyToken("token")).thenReturn(Optional.of(expired));
+
+        // When
+        verifiedTokenCache.verify("token");
+        verifiedTokenCache.verify("token");
+
+        // Then
+        verify(tokenService, times(2)).verifyToken("token");
+    }
+
+    @Test
+    @DisplayName("Should keep the number of cached tokens within the configured maximum")
+    void verify_ManyTokens_RespectsMaximumSize() {
+        // Given
+        when(tokenService.verifyToken(anyString())).thenReturn(Optional.of(verifiedToken));
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            verifiedTokenCache.verify("token-" + i);
+        }
+
+        // Then
+        assertTrue(verifiedTokenCache.estimatedSize() <= 2);
+    }
+
+    @Test
+    @DisplayName("Should return empty for null or empty token without verifying")
+    void verify_NullOrEmptyToken_ReturnsEmpty() {
+        assertTrue(verifiedTokenCache.verify(null).isEmpty());
+        assertTrue(verifiedTokenCache.verify("").isEmpty());
+        verify(tokenService, never()).verifyToken(anyString());
+    }
+}
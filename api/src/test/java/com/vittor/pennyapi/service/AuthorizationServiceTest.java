@@ -16,6 +16,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -87,4 +88,18 @@ class AuthorizationServiceTest {
         assertTrue(userDetails.isEnabled());
         verify(userRepository, times(1)).findByEmail("test@example.com");
     }
+
+    @Test
+    @DisplayName("Should persist the rehashed password")
+    void updatePassword_SavesNewHash() {
+        // Given
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        UserDetails updated = authorizationService.updatePassword(user, "rehashedPassword");
+
+        // Then
+        assertEquals("rehashedPassword", updated.getPassword());
+        verify(userRepository, times(1)).save(user);
+    }
 }
@@ -7,7 +7,10 @@ import com.vittor.pennyapi.entity.Category;
 import com.vittor.pennyapi.entity.User;
 import com.vittor.pennyapi.exception.BusinessRuleException;
 import com.vittor.pennyapi.exception.ResourceNotFoundException;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.CategoryBudgetRepository;
 import com.vittor.pennyapi.repository.CategoryRepository;
+import com.vittor.pennyapi.repository.RecurringTransactionRepository;
 import com.vittor.pennyapi.repository.TransactionRepository;
 import com.vittor.pennyapi.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +43,12 @@ class CategoryServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Mock
+    private CategoryBudgetRepository categoryBudgetRepository;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -90,6 +100,22 @@ class CategoryServiceTest {
         verify(categoryRepository, times(1)).save(any(Category.class));
     }
 
+    @Test
+    @DisplayName("Should store the monthly budget when creating a category")
+    void create_WithMonthlyBudget() {
+        // Given
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        CategoryResponseDTO result = categoryService.create(
+                new CreateCategoryDTO("Food", "icon-food", "#FF0000", new BigDecimal("800.00")), userId);
+
+        // Then
+        assertEquals(Money.ofCents(800_00), result.monthlyBudget());
+        assertNull(result.spending());
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when creating category for non-existent user")
     void create_UserNotFound_ThrowsResourceNotFoundException() {
@@ -209,6 +235,7 @@ class CategoryServiceTest {
         // Given
         when(categoryRepository.existsByIdAndUserId(categoryId, userId)).thenReturn(true);
         when(transactionRepository.existsByCategoryId(categoryId)).thenReturn(false);
+        when(recurringTransactionRepository.existsByCategoryId(categoryId)).thenReturn(false);
         doNothing().when(categoryRepository).deleteByIdAndUserId(categoryId, userId);
 
         // When
@@ -254,4 +281,21 @@ class CategoryServiceTest {
         verify(transactionRepository, times(1)).existsByCategoryId(categoryId);
         verify(categoryRepository, never()).deleteByIdAndUserId(any(UUID.class), any(UUID.class));
     }
+
+    @Test
+    @DisplayName("Should throw BusinessRuleException when deleting category used by recurring transactions")
+    void delete_CategoryHasRecurringTransactions_ThrowsBusinessRuleException() {
+        // Given
+        when(categoryRepository.existsByIdAndUserId(categoryId, userId)).thenReturn(true);
+        when(transactionRepository.existsByCategoryId(categoryId)).thenReturn(false);
+        when(recurringTransactionRepository.existsByCategoryId(categoryId)).thenReturn(true);
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> {
+            categoryService.delete(categoryId, userId);
+        });
+
+        assertEquals("Cannot delete category with existing recurring transactions", exception.getMessage());
+        verify(categoryRepository, never()).deleteByIdAndUserId(any(UUID.class), any(UUID.class));
+    }
 }
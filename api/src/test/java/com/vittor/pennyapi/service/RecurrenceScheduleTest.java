@@ -0,0 +1,93 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.enums.RecurrenceFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceScheduleTest {
+
+    @Test
+    @DisplayName("Monthly rule on the 31st should fall on the last day of shorter months")
+    void monthly_EndOfMonth_DoesNotDrift() {
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.MONTHLY, 1, null,
+                LocalDate.of(2025, 1, 31), null);
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 31), LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 31),
+                LocalDate.of(2025, 4, 30)), occurrences(schedule, 4));
+    }
+
+    @Test
+    @DisplayName("Weekly rule with an interval should skip weeks and stop at the end date")
+    void weekly_WithIntervalAndEndDate() {
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.WEEKLY, 2, null,
+                LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 31));
+
+        assertEquals(List.of(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 17), LocalDate.of(2025, 3, 31)),
+                occurrences(schedule, 10));
+    }
+
+    @Test
+    @DisplayName("Next occurrence should be computed from any date, not only from the previous occurrence")
+    void next_FromArbitraryDate() {
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.MONTHLY, 3, null,
+                LocalDate.of(2025, 1, 15), null);
+
+        assertEquals(LocalDate.of(2025, 1, 15), schedule.next(LocalDate.of(2024, 12, 1)));
+        assertEquals(LocalDate.of(2025, 7, 15), schedule.next(LocalDate.of(2025, 4, 15)));
+        assertEquals(LocalDate.of(2025, 7, 15), schedule.next(LocalDate.of(2025, 6, 30)));
+    }
+
+    @Test
+    @DisplayName("Cron rule should occur on every matching date from the start date")
+    void cron_WeekdaysOfMonth() {
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.CRON, 1, "1,15 * *",
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 3, 1));
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 15),
+                LocalDate.of(2025, 3, 1)), occurrences(schedule, 10));
+    }
+
+    @Test
+    @DisplayName("Cron rule should accept day-of-week names")
+    void cron_DayOfWeek() {
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.CRON, 1, "* * FRI",
+                LocalDate.of(2025, 3, 1), null);
+
+        assertEquals(List.of(LocalDate.of(2025, 3, 7), LocalDate.of(2025, 3, 14)), occurrences(schedule, 2));
+    }
+
+    @Test
+    @DisplayName("Should return no first occurrence when the end date comes before it")
+    void first_AfterEndDate_ReturnsNull() {
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(RecurrenceFrequency.CRON, 1, "20 * *",
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10));
+
+        assertNull(schedule.first());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid or misplaced cron expressions")
+    void of_InvalidCron_Throws() {
+        LocalDate start = LocalDate.of(2025, 3, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceSchedule.of(RecurrenceFrequency.CRON, 1, null, start, null));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceSchedule.of(RecurrenceFrequency.CRON, 1, "0 0 0 1 * *", start, null));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceSchedule.of(RecurrenceFrequency.CRON, 1, "32 * *", start, null));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceSchedule.of(RecurrenceFrequency.CRON, 2, "1 * *", start, null));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceSchedule.of(RecurrenceFrequency.MONTHLY, 1, "1 * *", start, null));
+    }
+
+    private static List<LocalDate> occurrences(RecurrenceSchedule schedule, int max) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = schedule.first(); date != null && dates.size() < max; date = schedule.next(date)) {
+            dates.add(date);
+        }
+        return dates;
+    }
+}
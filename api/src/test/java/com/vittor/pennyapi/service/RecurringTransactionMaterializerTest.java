@@ -0,0 +1,92 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.repository.CategoryBudgetRepository;
+import com.vittor.pennyapi.repository.RecurringOccurrenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringTransactionMaterializerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 15);
+
+    @Mock
+    private RecurringOccurrenceRepository recurringOccurrenceRepository;
+
+    @Mock
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Mock
+    private TransactionSummaryCache transactionSummaryCache;
+
+    @Mock
+    private TransactionLedger transactionLedger;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Connection lockConnection;
+
+    @Mock
+    private PreparedStatement lockStatement;
+
+    @Mock
+    private ResultSet lockResult;
+
+    private RecurringTransactionMaterializer materializer;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        materializer = new RecurringTransactionMaterializer(recurringOccurrenceRepository, categoryBudgetRepository,
+                transactionSummaryCache, transactionLedger, dataSource, transactionManager, 100);
+        when(dataSource.getConnection()).thenReturn(lockConnection);
+        when(lockConnection.prepareStatement("SELECT pg_try_advisory_lock(?)")).thenReturn(lockStatement);
+        when(lockStatement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+        when(lockResult.getBoolean(1)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Should return the lock connection to the pool once the lock is released")
+    void materialize_Unlocked_ClosesConnection() throws SQLException {
+        when(lockConnection.prepareStatement("SELECT pg_advisory_unlock(?)")).thenReturn(lockStatement);
+
+        assertEquals(0, materializer.materialize(TODAY));
+
+        verify(lockConnection, never()).abort(any());
+        verify(lockConnection).close();
+    }
+
+    @Test
+    @DisplayName("Should abort the lock connection instead of pooling it when the unlock fails")
+    void materialize_UnlockFails_AbortsConnection() throws SQLException {
+        when(lockConnection.prepareStatement("SELECT pg_advisory_unlock(?)"))
+                .thenThrow(new SQLException("I/O error", "08006"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> materializer.materialize(TODAY));
+
+        verify(lockConnection).abort(any());
+        verify(lockConnection).close();
+    }
+}
@@ -0,0 +1,135 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.dto.TransactionSummaryDTO;
+import com.vittor.pennyapi.ledger.LedgerEntry;
+import com.vittor.pennyapi.ledger.UserLedger;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.CategoryRepository;
+import com.vittor.pennyapi.repository.SummaryPeriod;
+import com.vittor.pennyapi.repository.TransactionLedgerRepository;
+import com.vittor.pennyapi.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionLedgerTest {
+
+    private static final LocalDate JANUARY_1 = LocalDate.of(2025, 1, 1);
+    private static final LocalDate JANUARY_31 = LocalDate.of(2025, 1, 31);
+
+    @Mock
+    private TransactionLedgerRepository transactionLedgerRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionLedger transactionLedger;
+    private TransactionSummaryCache summaryCache;
+    private UUID userId;
+    private UUID categoryId;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        transactionLedger = new TransactionLedger(true, 1 << 20, transactionLedgerRepository, userRepository,
+                categoryRepository, transactionManager, meterRegistry);
+        summaryCache = new TransactionSummaryCache(100, 60_000, meterRegistry);
+        userId = UUID.randomUUID();
+        categoryId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not cache a summary read between the commit's ledger update and cache eviction")
+    void afterCommit_ReadBetweenSteps_DoesNotCacheStaleSummary() {
+        // Given
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(transactionLedgerRepository.load(userId)).thenReturn(UserLedger.builder()
+                .add(new LedgerEntry(UUID.randomUUID(), LocalDate.of(2025, 1, 10), 10_000, false, categoryId))
+                .build());
+        assertEquals(Money.of(new BigDecimal("100.00")), summary().totalExpense());
+
+        TransactionSynchronizationManager.initSynchronization();
+        // Registradas na ordem inversa: quem define a ordem de execução é a sincronização
+        summaryCache.evictAfterCommit(userId, List.of(LocalDate.of(2025, 1, 20)));
+        transactionLedger.upsertEntriesAfterCommit(userId, List.of(
+                new LedgerEntry(UUID.randomUUID(), LocalDate.of(2025, 1, 20), 5_000, false, categoryId)));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When: uma leitura do resumo entre cada passo do commit
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCommit();
+            summary();
+        }
+
+        // Then
+        assertEquals(Money.of(new BigDecimal("150.00")), summary().totalExpense());
+        verify(transactionLedgerRepository, times(1)).load(userId);
+    }
+
+    @Test
+    @DisplayName("Should reload ledgers after invalidateAll, including one that was loading meanwhile")
+    void invalidateAll_DropsLoadedAndLoadingLedgers() {
+        // Given
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(transactionLedgerRepository.load(userId))
+                .thenAnswer(invocation -> {
+                    // Arquivamento confirmado enquanto a carga lia as linhas antigas
+                    transactionLedger.invalidateAllAfterCommit();
+                    return ledgerWithExpense(10_000);
+                })
+                .thenReturn(ledgerWithExpense(2_500));
+
+        // When
+        Money loading = transactionLedger.summary(userId, new SummaryPeriod(JANUARY_1, JANUARY_31)).totalExpense();
+        Money reloaded = transactionLedger.summary(userId, new SummaryPeriod(JANUARY_1, JANUARY_31)).totalExpense();
+        transactionLedger.invalidateAllAfterCommit();
+
+        // Then
+        assertEquals(Money.ofCents(10_000), loading);
+        assertEquals(Money.ofCents(2_500), reloaded);
+        assertFalse(transactionLedger.isLoaded(userId));
+        verify(transactionLedgerRepository, times(2)).load(userId);
+    }
+
+    private UserLedger ledgerWithExpense(long cents) {
+        return UserLedger.builder()
+                .add(new LedgerEntry(UUID.randomUUID(), LocalDate.of(2025, 1, 10), cents, false, categoryId))
+                .build();
+    }
+
+    private TransactionSummaryDTO summary() {
+        return summaryCache.get(userId, JANUARY_1, JANUARY_31,
+                () -> transactionLedger.summary(userId, new SummaryPeriod(JANUARY_1, JANUARY_31)));
+    }
+}
@@ -1,18 +1,32 @@
 package com.vittor.pennyapi.service;
 
 import com.vittor.pennyapi.dto.CreateTransactionDTO;
+import com.vittor.pennyapi.dto.CursorPageDTO;
+import com.vittor.pennyapi.dto.SummaryPeriodDTO;
+import com.vittor.pennyapi.dto.TransactionBatchResultDTO;
+import com.vittor.pennyapi.dto.TransactionBreakdownDTO;
+import com.vittor.pennyapi.dto.TransactionFilterDTO;
 import com.vittor.pennyapi.dto.TransactionResponseDTO;
+import com.vittor.pennyapi.dto.TransactionSeriesDTO;
 import com.vittor.pennyapi.dto.TransactionSummaryDTO;
 import com.vittor.pennyapi.dto.UpdateTransactionDTO;
 import com.vittor.pennyapi.entity.Category;
 import com.vittor.pennyapi.entity.Transaction;
 import com.vittor.pennyapi.entity.User;
+import com.vittor.pennyapi.enums.SeriesGranularity;
 import com.vittor.pennyapi.enums.TransactionType;
 import com.vittor.pennyapi.exception.BusinessRuleException;
 import com.vittor.pennyapi.exception.ResourceNotFoundException;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.CategoryBudgetRepository;
 import com.vittor.pennyapi.repository.CategoryRepository;
+import com.vittor.pennyapi.repository.SummaryPeriod;
+import com.vittor.pennyapi.repository.TransactionAggregateDelta;
+import com.vittor.pennyapi.repository.TransactionAggregateRepository;
 import com.vittor.pennyapi.repository.TransactionRepository;
+import com.vittor.pennyapi.repository.TransactionTotals;
 import com.vittor.pennyapi.repository.UserRepository;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,22 +34,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +71,27 @@ class TransactionServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Mock
+    private TransactionAggregateRepository transactionAggregateRepository;
+
+    @Mock
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Mock
+    private TransactionSummaryCache transactionSummaryCache;
+
+    @Mock
+    private TransactionLedger transactionLedger;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Validator validator;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -84,7 +126,7 @@ class TransactionServiceTest {
         transaction = new Transaction();
         transaction.setId(transactionId);
         transaction.setDescription("Lunch");
-        transaction.setAmount(BigDecimal.valueOf(25.00));
+        transaction.setAmount(Money.ofCents(25_00));
         transaction.setType(TransactionType.EXPENSE);
         transaction.setDate(LocalDate.now());
         transaction.setCategory(category);
@@ -116,6 +158,25 @@ class TransactionServiceTest {
         verify(userRepository, times(1)).findById(userId);
         verify(categoryRepository, times(1)).findByIdAndUserId(categoryId, userId);
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionAggregateRepository, times(1)).apply(eq(userId), any(TransactionAggregateDelta.class));
+        verify(transactionSummaryCache, times(1)).evictAfterCommit(userId, List.of(transaction.getDate()));
+        verify(categoryBudgetRepository, never()).recordCrossings(any(UUID.class), any(TransactionAggregateDelta.class));
+    }
+
+    @Test
+    @DisplayName("Should check budget alerts when creating a transaction in a budgeted category")
+    void create_BudgetedCategory_RecordsCrossings() {
+        // Given
+        category.setMonthlyBudget(Money.ofCents(100_00));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(categoryRepository.findByIdAndUserId(categoryId, userId)).thenReturn(Optional.of(category));
+        when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
+
+        // When
+        transactionService.create(createTransactionDTO, userId);
+
+        // Then
+        verify(categoryBudgetRepository, times(1)).recordCrossings(eq(userId), any(TransactionAggregateDelta.class));
     }
 
     @Test
@@ -158,18 +219,18 @@ class TransactionServiceTest {
     void findAll_ReturnsPageOfTransactions() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Transaction> transactionPage = new PageImpl<>(List.of(transaction), pageable, 1);
-        when(transactionRepository.findByUserId(userId, pageable)).thenReturn(transactionPage);
+        Page<TransactionResponseDTO> transactionPage = new PageImpl<>(List.of(new TransactionResponseDTO(transaction)), pageable, 1);
+        when(transactionRepository.findResponses(any(), eq(pageable))).thenReturn(transactionPage);
 
         // When
-        Page<TransactionResponseDTO> result = transactionService.findAll(userId, pageable);
+        Page<TransactionResponseDTO> result = transactionService.findAll(userId, noFilter(), pageable);
 
         // Then
         assertNotNull(result);
         assertFalse(result.isEmpty());
         assertEquals(1, result.getTotalElements());
         assertEquals(transaction.getDescription(), result.getContent().get(0).description());
-        verify(transactionRepository, times(1)).findByUserId(userId, pageable);
+        verify(transactionRepository, times(1)).findResponses(any(), eq(pageable));
     }
 
     @Test
@@ -177,23 +238,51 @@ class TransactionServiceTest {
     void findAll_ReturnsEmptyPage_WhenNoTransactions() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Transaction> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-        when(transactionRepository.findByUserId(userId, pageable)).thenReturn(emptyPage);
+        Page<TransactionResponseDTO> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+        when(transactionRepository.findResponses(any(), eq(pageable))).thenReturn(emptyPage);
 
         // When
-        Page<TransactionResponseDTO> result = transactionService.findAll(userId, pageable);
+        Page<TransactionResponseDTO> result = transactionService.findAll(userId, noFilter(), pageable);
 
         // Then
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(transactionRepository, times(1)).findByUserId(userId, pageable);
+        verify(transactionRepository, times(1)).findResponses(any(), eq(pageable));
+    }
+
+    @Test
+    @DisplayName("Should reject a filter whose start date is after its end date")
+    void findAll_ThrowsBusinessRuleException_WhenDateRangeInverted() {
+        // Given
+        TransactionFilterDTO filter = new TransactionFilterDTO(
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), null, null, null, null, null);
+
+        // When / Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> transactionService.findAll(userId, filter, PageRequest.of(0, 10)));
+        assertEquals("Start date cannot be after end date", exception.getMessage());
+        verify(transactionRepository, never()).findResponses(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a filter whose minimum amount is above its maximum amount")
+    void findAll_ThrowsBusinessRuleException_WhenAmountRangeInverted() {
+        // Given
+        TransactionFilterDTO filter = new TransactionFilterDTO(
+                null, null, null, null, new BigDecimal("100.00"), new BigDecimal("10.00"), null);
+
+        // When / Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> transactionService.findAll(userId, filter, PageRequest.of(0, 10)));
+        assertEquals("Minimum amount cannot be greater than maximum amount", exception.getMessage());
+        verify(transactionRepository, never()).findResponses(any(), any());
     }
 
     @Test
     @DisplayName("Should find transaction by ID for a given user")
     void findById_Success() {
         // Given
-        when(transactionRepository.findByIdAndUserId(transactionId, userId)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findResponseByIdAndUserId(transactionId, userId)).thenReturn(Optional.of(new TransactionResponseDTO(transaction)));
 
         // When
         TransactionResponseDTO result = transactionService.findById(transactionId, userId);
@@ -201,14 +290,14 @@ class TransactionServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(transaction.getDescription(), result.description());
-        verify(transactionRepository, times(1)).findByIdAndUserId(transactionId, userId);
+        verify(transactionRepository, times(1)).findResponseByIdAndUserId(transactionId, userId);
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when transaction not found by ID for user")
     void findById_NotFound_ThrowsResourceNotFoundException() {
         // Given
-        when(transactionRepository.findByIdAndUserId(transactionId, userId)).thenReturn(Optional.empty());
+        when(transactionRepository.findResponseByIdAndUserId(transactionId, userId)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -216,7 +305,7 @@ class TransactionServiceTest {
         });
 
         assertEquals("Transaction not found or does not belong to user", exception.getMessage());
-        verify(transactionRepository, times(1)).findByIdAndUserId(transactionId, userId);
+        verify(transactionRepository, times(1)).findResponseByIdAndUserId(transactionId, userId);
     }
 
     @Test
@@ -233,7 +322,7 @@ class TransactionServiceTest {
                 "New Desc", BigDecimal.valueOf(100.00), TransactionType.INCOME, LocalDate.now().plusDays(1), newCategoryId
         );
 
-        when(transactionRepository.findByIdAndUserId(transactionId, userId)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findForUpdateByIdAndUserId(transactionId, userId)).thenReturn(Optional.of(transaction));
         when(categoryRepository.findByIdAndUserId(newCategoryId, userId)).thenReturn(Optional.of(newCategory));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
@@ -243,19 +332,21 @@ class TransactionServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(updatedDto.description(), result.description());
-        assertEquals(updatedDto.amount(), result.amount());
+        assertEquals(Money.of(updatedDto.amount()), result.amount());
         assertEquals(updatedDto.type(), result.type());
         assertEquals(updatedDto.date(), result.date());
-        verify(transactionRepository, times(1)).findByIdAndUserId(transactionId, userId);
+        verify(transactionRepository, times(1)).findForUpdateByIdAndUserId(transactionId, userId);
         verify(categoryRepository, times(1)).findByIdAndUserId(newCategoryId, userId);
         verify(transactionRepository, times(1)).save(any(Transaction.class));
+        verify(transactionAggregateRepository, times(1)).apply(eq(userId), any(TransactionAggregateDelta.class));
+        verify(transactionSummaryCache, times(1)).evictAfterCommit(userId, List.of(LocalDate.now(), updatedDto.date()));
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when updating non-existent transaction for user")
     void update_TransactionNotFound_ThrowsResourceNotFoundException() {
         // Given
-        when(transactionRepository.findByIdAndUserId(transactionId, userId)).thenReturn(Optional.empty());
+        when(transactionRepository.findForUpdateByIdAndUserId(transactionId, userId)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -263,7 +354,7 @@ class TransactionServiceTest {
         });
 
         assertEquals("Transaction not found or does not belong to user", exception.getMessage());
-        verify(transactionRepository, times(1)).findByIdAndUserId(transactionId, userId);
+        verify(transactionRepository, times(1)).findForUpdateByIdAndUserId(transactionId, userId);
         verify(categoryRepository, never()).findByIdAndUserId(any(UUID.class), any(UUID.class));
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
@@ -272,7 +363,7 @@ class TransactionServiceTest {
     @DisplayName("Should throw ResourceNotFoundException when updating transaction with non-existent new category for user")
     void update_CategoryNotFound_ThrowsResourceNotFoundException() {
         // Given
-        when(transactionRepository.findByIdAndUserId(transactionId, userId)).thenReturn(Optional.of(transaction));
+        when(transactionRepository.findForUpdateByIdAndUserId(transactionId, userId)).thenReturn(Optional.of(transaction));
         when(categoryRepository.findByIdAndUserId(updateTransactionDTO.categoryId(), userId)).thenReturn(Optional.empty());
 
         // When & Then
@@ -281,7 +372,7 @@ class TransactionServiceTest {
         });
 
         assertEquals("Category not found or does not belong to user", exception.getMessage());
-        verify(transactionRepository, times(1)).findByIdAndUserId(transactionId, userId);
+        verify(transactionRepository, times(1)).findForUpdateByIdAndUserId(transactionId, userId);
         verify(categoryRepository, times(1)).findByIdAndUserId(updateTransactionDTO.categoryId(), userId);
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
@@ -290,22 +381,23 @@ class TransactionServiceTest {
     @DisplayName("Should delete transaction successfully")
     void delete_Success() {
         // Given
-        when(transactionRepository.existsByIdAndUserId(transactionId, userId)).thenReturn(true);
-        doNothing().when(transactionRepository).deleteByIdAndUserId(transactionId, userId);
+        when(transactionRepository.findForUpdateByIdAndUserId(transactionId, userId)).thenReturn(Optional.of(transaction));
 
         // When
         transactionService.delete(transactionId, userId);
 
         // Then
-        verify(transactionRepository, times(1)).existsByIdAndUserId(transactionId, userId);
-        verify(transactionRepository, times(1)).deleteByIdAndUserId(transactionId, userId);
+        verify(transactionRepository, times(1)).findForUpdateByIdAndUserId(transactionId, userId);
+        verify(transactionRepository, times(1)).delete(transaction);
+        verify(transactionAggregateRepository, times(1)).apply(eq(userId), any(TransactionAggregateDelta.class));
+        verify(transactionSummaryCache, times(1)).evictAfterCommit(userId, List.of(transaction.getDate()));
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when deleting non-existent transaction for user")
     void delete_NotFound_ThrowsResourceNotFoundException() {
         // Given
-        when(transactionRepository.existsByIdAndUserId(transactionId, userId)).thenReturn(false);
+        when(transactionRepository.findForUpdateByIdAndUserId(transactionId, userId)).thenReturn(Optional.empty());
 
         // When & Then
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -313,36 +405,40 @@ class TransactionServiceTest {
         });
 
         assertEquals("Transaction not found or does not belong to user", exception.getMessage());
-        verify(transactionRepository, times(1)).existsByIdAndUserId(transactionId, userId);
-        verify(transactionRepository, never()).deleteByIdAndUserId(any(UUID.class), any(UUID.class));
+        verify(transactionRepository, times(1)).findForUpdateByIdAndUserId(transactionId, userId);
+        verify(transactionRepository, never()).delete(any(Transaction.class));
+        verify(transactionAggregateRepository, never()).apply(any(UUID.class), any(TransactionAggregateDelta.class));
     }
 
     @Test
-    @DisplayName("Should return financial summary for current month if no dates provided")
+    @DisplayName("Should read the current month from the monthly aggregates if no dates provided")
     void getFinancialSummary_DefaultDates_ReturnsSummary() {
         // Given
+        cacheMisses();
+        YearMonth currentMonth = YearMonth.now();
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        List<Object[]> summaryResult = Collections.singletonList(new Object[]{BigDecimal.valueOf(1000.00), BigDecimal.valueOf(500.00)});
-        when(transactionRepository.calculateFinancialSummary(any(UUID.class), any(LocalDate.class), any(LocalDate.class))).thenReturn(summaryResult);
+        when(transactionAggregateRepository.sumMonths(userId, currentMonth, currentMonth))
+                .thenReturn(new TransactionTotals(Money.ofCents(1000_00), Money.ofCents(500_00)));
 
         // When
         TransactionSummaryDTO result = transactionService.getFinancialSummary(userId, null, null);
 
         // Then
         assertNotNull(result);
-        assertEquals(BigDecimal.valueOf(1000.00), result.totalIncome());
-        assertEquals(BigDecimal.valueOf(500.00), result.totalExpense());
-        assertEquals(BigDecimal.valueOf(500.00), result.balance()); // 1000 - 500
+        assertEquals(Money.ofCents(1000_00), result.totalIncome());
+        assertEquals(Money.ofCents(500_00), result.totalExpense());
+        assertEquals(Money.ofCents(500_00), result.balance()); // 1000 - 500
         verify(userRepository, times(1)).findById(userId);
-        verify(transactionRepository, times(1)).calculateFinancialSummary(eq(userId), any(LocalDate.class), any(LocalDate.class));
+        verify(transactionRepository, never()).calculateFinancialSummary(any(UUID.class), any(LocalDate.class), any(LocalDate.class));
     }
 
     @Test
-    @DisplayName("Should return financial summary for custom date range")
-    void getFinancialSummary_CustomDates_ReturnsSummary() {
+    @DisplayName("Should sum a range inside a single month from the transactions")
+    void getFinancialSummary_PartialMonth_ReturnsSummary() {
         // Given
-        LocalDate startDate = LocalDate.of(2025, 1, 1);
-        LocalDate endDate = LocalDate.of(2025, 1, 31);
+        cacheMisses();
+        LocalDate startDate = LocalDate.of(2025, 1, 5);
+        LocalDate endDate = LocalDate.of(2025, 1, 20);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         List<Object[]> summaryResult = Collections.singletonList(new Object[]{BigDecimal.valueOf(2000.00), BigDecimal.valueOf(1200.00)});
         when(transactionRepository.calculateFinancialSummary(userId, startDate, endDate)).thenReturn(summaryResult);
@@ -352,17 +448,46 @@ class TransactionServiceTest {
 
         // Then
         assertNotNull(result);
-        assertEquals(BigDecimal.valueOf(2000.00), result.totalIncome());
-        assertEquals(BigDecimal.valueOf(1200.00), result.totalExpense());
-        assertEquals(BigDecimal.valueOf(800.00), result.balance()); // 2000 - 1200
+        assertEquals(Money.ofCents(2000_00), result.totalIncome());
+        assertEquals(Money.ofCents(1200_00), result.totalExpense());
+        assertEquals(Money.ofCents(800_00), result.balance()); // 2000 - 1200
         verify(userRepository, times(1)).findById(userId);
         verify(transactionRepository, times(1)).calculateFinancialSummary(userId, startDate, endDate);
+        verify(transactionAggregateRepository, never()).sumMonths(any(UUID.class), any(YearMonth.class), any(YearMonth.class));
+    }
+
+    @Test
+    @DisplayName("Should combine the monthly aggregates of whole months with the partial months at either end")
+    void getFinancialSummary_CustomDates_ReturnsSummary() {
+        // Given
+        cacheMisses();
+        LocalDate startDate = LocalDate.of(2025, 1, 15);
+        LocalDate endDate = LocalDate.of(2025, 4, 10);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(transactionAggregateRepository.sumMonths(userId, YearMonth.of(2025, 2), YearMonth.of(2025, 3)))
+                .thenReturn(new TransactionTotals(Money.ofCents(2000_00), Money.ofCents(1200_00)));
+        when(transactionRepository.calculateFinancialSummary(userId, startDate, LocalDate.of(2025, 1, 31)))
+                .thenReturn(Collections.singletonList(new Object[]{BigDecimal.valueOf(100.00), BigDecimal.valueOf(50.00)}));
+        when(transactionRepository.calculateFinancialSummary(userId, LocalDate.of(2025, 4, 1), endDate))
+                .thenReturn(Collections.singletonList(new Object[]{BigDecimal.ZERO, BigDecimal.valueOf(30.00)}));
+
+        // When
+        TransactionSummaryDTO result = transactionService.getFinancialSummary(userId, startDate, endDate);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(Money.ofCents(2100_00), result.totalIncome());
+        assertEquals(Money.ofCents(1280_00), result.totalExpense());
+        assertEquals(Money.ofCents(820_00), result.balance()); // 2100 - 1280
+        verify(userRepository, times(1)).findById(userId);
+        verify(transactionRepository, times(2)).calculateFinancialSummary(eq(userId), any(LocalDate.class), any(LocalDate.class));
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when getting summary for non-existent user")
     void getFinancialSummary_UserNotFound_ThrowsResourceNotFoundException() {
         // Given
+        cacheMisses();
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         // When & Then
@@ -381,7 +506,6 @@ class TransactionServiceTest {
         // Given
         LocalDate startDate = LocalDate.of(2025, 1, 31);
         LocalDate endDate = LocalDate.of(2025, 1, 1);
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         // When & Then
         BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> {
@@ -389,7 +513,7 @@ class TransactionServiceTest {
         });
 
         assertEquals("Start date cannot be after end date", exception.getMessage());
-        verify(userRepository, times(1)).findById(userId);
+        verify(userRepository, never()).findById(any(UUID.class));
         verify(transactionRepository, never()).calculateFinancialSummary(any(UUID.class), any(LocalDate.class), any(LocalDate.class));
     }
 
@@ -397,18 +521,268 @@ class TransactionServiceTest {
     @DisplayName("Should return zero summary if calculateFinancialSummary returns empty result")
     void getFinancialSummary_EmptyCalculationResult_ReturnsZeroSummary() {
         // Given
+        cacheMisses();
+        LocalDate startDate = LocalDate.of(2025, 1, 5);
+        LocalDate endDate = LocalDate.of(2025, 1, 20);
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(transactionRepository.calculateFinancialSummary(any(UUID.class), any(LocalDate.class), any(LocalDate.class))).thenReturn(Collections.emptyList());
 
         // When
-        TransactionSummaryDTO result = transactionService.getFinancialSummary(userId, null, null);
+        TransactionSummaryDTO result = transactionService.getFinancialSummary(userId, startDate, endDate);
 
         // Then
         assertNotNull(result);
-        assertEquals(BigDecimal.ZERO, result.totalIncome());
-        assertEquals(BigDecimal.ZERO, result.totalExpense());
-        assertEquals(BigDecimal.ZERO, result.balance());
+        assertEquals(Money.ZERO, result.totalIncome());
+        assertEquals(Money.ZERO, result.totalExpense());
+        assertEquals(Money.ZERO, result.balance());
         verify(userRepository, times(1)).findById(userId);
         verify(transactionRepository, times(1)).calculateFinancialSummary(eq(userId), any(LocalDate.class), any(LocalDate.class));
     }
+
+    @Test
+    @DisplayName("Should answer a summary miss from the in-memory ledger when it is enabled")
+    void getFinancialSummary_LedgerEnabled_SkipsDatabase() {
+        // Given
+        cacheMisses();
+        LocalDate startDate = LocalDate.of(2025, 1, 1);
+        LocalDate endDate = LocalDate.of(2025, 6, 30);
+        TransactionSummaryDTO fromLedger = new TransactionSummaryDTO(Money.ofCents(10_00), Money.ofCents(1_00), startDate, endDate);
+        when(transactionLedger.isEnabled()).thenReturn(true);
+        when(transactionLedger.summary(userId, new SummaryPeriod(startDate, endDate))).thenReturn(fromLedger);
+
+        // When
+        TransactionSummaryDTO result = transactionService.getFinancialSummary(userId, startDate, endDate);
+
+        // Then
+        assertSame(fromLedger, result);
+        verify(userRepository, never()).findById(any(UUID.class));
+        verifyNoInteractions(transactionRepository, transactionAggregateRepository);
+    }
+
+    @Test
+    @DisplayName("Should pass the whole months inside the range to the breakdown query")
+    void getBreakdown_CustomDates_UsesWholeMonths() {
+        // Given
+        LocalDate startDate = LocalDate.of(2025, 1, 15);
+        LocalDate endDate = LocalDate.of(2025, 3, 31);
+        TransactionBreakdownDTO breakdown = new TransactionBreakdownDTO(
+                new TransactionSummaryDTO(Money.ZERO, Money.ZERO, startDate, endDate), List.of(), List.of());
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        SummaryPeriod period = new SummaryPeriod(startDate, endDate);
+        when(transactionAggregateRepository.breakdown(userId, period)).thenReturn(breakdown);
+
+        // When
+        TransactionBreakdownDTO result = transactionService.getBreakdown(userId, startDate, endDate);
+
+        // Then
+        assertSame(breakdown, result);
+        assertEquals(YearMonth.of(2025, 2), period.firstFullMonth());
+        assertEquals(YearMonth.of(2025, 3), period.lastFullMonth());
+    }
+
+    @Test
+    @DisplayName("Should reject a breakdown whose start date is after its end date")
+    void getBreakdown_InvalidDateRange_ThrowsBusinessRuleException() {
+        // Given
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> {
+            transactionService.getBreakdown(userId, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1));
+        });
+
+        assertEquals("Start date cannot be after end date", exception.getMessage());
+        verify(transactionAggregateRepository, never()).breakdown(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should sum every missing period in one query and keep the requested order")
+    void getFinancialSummaries_MultiplePeriods_ReturnsInRequestOrder() {
+        // Given
+        cacheMisses();
+        LocalDate yearStart = LocalDate.of(2025, 1, 1);
+        LocalDate march31 = LocalDate.of(2025, 3, 31);
+        List<SummaryPeriodDTO> periods = List.of(
+                new SummaryPeriodDTO(LocalDate.of(2025, 3, 1), march31),
+                new SummaryPeriodDTO(yearStart, march31));
+        List<SummaryPeriod> expected = List.of(
+                new SummaryPeriod(LocalDate.of(2025, 3, 1), march31),
+                new SummaryPeriod(yearStart, march31));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(transactionAggregateRepository.sumPeriods(userId, expected)).thenReturn(List.of(
+                new TransactionTotals(Money.ofCents(100_00), Money.ofCents(40_00)),
+                new TransactionTotals(Money.ofCents(300_00), Money.ofCents(90_00))));
+
+        // When
+        List<TransactionSummaryDTO> result = transactionService.getFinancialSummaries(userId, periods);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(Money.ofCents(60_00), result.get(0).balance());
+        assertEquals(LocalDate.of(2025, 3, 1), result.get(0).startDate());
+        assertEquals(Money.ofCents(210_00), result.get(1).balance());
+        assertEquals(yearStart, result.get(1).startDate());
+        verify(userRepository, times(1)).findById(userId);
+        verify(transactionAggregateRepository, times(1)).sumPeriods(eq(userId), anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch when any period starts after it ends")
+    void getFinancialSummaries_InvalidPeriod_ThrowsBusinessRuleException() {
+        // Given
+        List<SummaryPeriodDTO> periods = List.of(
+                new SummaryPeriodDTO(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)),
+                new SummaryPeriodDTO(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> {
+            transactionService.getFinancialSummaries(userId, periods);
+        });
+
+        assertEquals("Start date cannot be after end date", exception.getMessage());
+        verify(transactionAggregateRepository, never()).sumPeriods(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should build a series over the resolved period")
+    void getSeries_CustomDates_DelegatesToRepository() {
+        // Given
+        LocalDate startDate = LocalDate.of(2025, 1, 1);
+        LocalDate endDate = LocalDate.of(2025, 12, 31);
+        TransactionSeriesDTO series = new TransactionSeriesDTO(SeriesGranularity.DAY, startDate, endDate, Money.ZERO, List.of());
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(transactionAggregateRepository.series(userId, startDate, endDate, SeriesGranularity.DAY)).thenReturn(series);
+
+        // When
+        TransactionSeriesDTO result = transactionService.getSeries(userId, SeriesGranularity.DAY, startDate, endDate);
+
+        // Then
+        assertSame(series, result);
+    }
+
+    @Test
+    @DisplayName("Should reject a series with too many buckets for its granularity")
+    void getSeries_TooManyBuckets_ThrowsBusinessRuleException() {
+        // Given
+        LocalDate startDate = LocalDate.of(2020, 1, 1);
+        LocalDate endDate = LocalDate.of(2025, 12, 31);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(transactionAggregateRepository.series(userId, startDate, endDate, SeriesGranularity.WEEK)).thenReturn(null);
+
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> {
+            transactionService.getSeries(userId, SeriesGranularity.DAY, startDate, endDate);
+        });
+
+        assertEquals("A series cannot have more than 1000 buckets; use a shorter period or a coarser granularity", exception.getMessage());
+        assertDoesNotThrow(() -> transactionService.getSeries(userId, SeriesGranularity.WEEK, startDate, endDate));
+        verify(transactionAggregateRepository, never()).series(any(), any(), any(), eq(SeriesGranularity.DAY));
+    }
+
+    @Test
+    @DisplayName("Should insert valid batch items and report items with foreign categories")
+    void createBatch_MixedItems_InsertsValidAndReportsInvalid() {
+        // Given
+        UUID foreignCategoryId = UUID.randomUUID();
+        CreateTransactionDTO foreignItem = new CreateTransactionDTO(
+                "Taxi", BigDecimal.valueOf(30.00), TransactionType.EXPENSE, LocalDate.now(), foreignCategoryId
+        );
+        List<CreateTransactionDTO> items = List.of(createTransactionDTO, foreignItem, createTransactionDTO);
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+
+        when(categoryRepository.findIdsByUserIdAndIdIn(eq(userId), any())).thenReturn(Set.of(categoryId));
+        when(validator.validate(any(CreateTransactionDTO.class))).thenReturn(Set.of());
+        when(transactionBatchWriter.insert(userId, List.of(createTransactionDTO, createTransactionDTO)))
+                .thenReturn(List.of(firstId, secondId));
+
+        // When
+        TransactionBatchResultDTO result = transactionService.createBatch(items, userId);
+
+        // Then
+        assertEquals(3, result.received());
+        assertEquals(2, result.created());
+        assertEquals(List.of(firstId, secondId), result.createdIds());
+        assertEquals(1, result.errors().size());
+        assertEquals(1, result.errors().get(0).index());
+        assertEquals("categoryId", result.errors().get(0).errors().get(0).field());
+        verify(categoryRepository, times(1)).findIdsByUserIdAndIdIn(eq(userId), any());
+        verify(categoryRepository, never()).findByIdAndUserId(any(UUID.class), any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should not insert anything when every batch item is invalid")
+    void createBatch_AllItemsInvalid_InsertsNothing() {
+        // Given
+        when(categoryRepository.findIdsByUserIdAndIdIn(eq(userId), any())).thenReturn(Set.of());
+        when(validator.validate(any(CreateTransactionDTO.class))).thenReturn(Set.of());
+
+        // When
+        TransactionBatchResultDTO result = transactionService.createBatch(List.of(createTransactionDTO), userId);
+
+        // Then
+        assertEquals(0, result.created());
+        assertEquals(1, result.errors().size());
+        verify(transactionBatchWriter, never()).insert(any(UUID.class), anyList());
+    }
+
+    @Test
+    @DisplayName("Should return a cursor to the next keyset page when more rows exist")
+    void findPage_MoreRows_ReturnsNextCursor() {
+        // Given
+        Transaction older = new Transaction();
+        older.setId(UUID.randomUUID());
+        older.setDescription("Older");
+        older.setAmount(Money.ofCents(10_00));
+        older.setType(TransactionType.EXPENSE);
+        older.setDate(LocalDate.now().minusDays(1));
+        older.setCategory(category);
+        older.setUser(user);
+        when(transactionRepository.findFirstKeysetPage(userId, Limit.of(2)))
+                .thenReturn(List.of(new TransactionResponseDTO(transaction), new TransactionResponseDTO(older)));
+
+        // When
+        CursorPageDTO<TransactionResponseDTO> page = transactionService.findPage(userId, null, 1);
+
+        // Then
+        assertEquals(1, page.content().size());
+        assertTrue(page.hasNext());
+        assertNotNull(page.nextCursor());
+
+        // Given: a próxima página parte da última linha retornada
+        when(transactionRepository.findKeysetPageAfter(userId, transaction.getDate(), transactionId, Limit.of(2)))
+                .thenReturn(List.of(new TransactionResponseDTO(older)));
+
+        // When
+        CursorPageDTO<TransactionResponseDTO> next = transactionService.findPage(userId, page.nextCursor(), 1);
+
+        // Then
+        assertEquals("Older", next.content().get(0).description());
+        assertFalse(next.hasNext());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor that was not issued by the API")
+    void findPage_InvalidCursor_ThrowsBusinessRuleException() {
+        // When & Then
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> {
+            transactionService.findPage(userId, "not-a-cursor", 10);
+        });
+
+        assertEquals("Invalid cursor", exception.getMessage());
+        verify(transactionRepository, never()).findKeysetPageAfter(any(UUID.class), any(LocalDate.class), any(UUID.class), any(Limit.class));
+    }
+
+    private static TransactionFilterDTO noFilter() {
+        return new TransactionFilterDTO(null, null, null, null, null, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cacheMisses() {
+        lenient().when(transactionSummaryCache.get(any(UUID.class), any(LocalDate.class), any(LocalDate.class), any(Supplier.class)))
+                .thenAnswer(invocation -> invocation.getArgument(3, Supplier.class).get());
+        lenient().when(transactionSummaryCache.getAll(any(UUID.class), anyList(), any(Function.class)))
+                .thenAnswer(invocation -> invocation.getArgument(2, Function.class).apply(invocation.getArgument(1)));
+    }
 }
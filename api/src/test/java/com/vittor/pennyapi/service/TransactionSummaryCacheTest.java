@@ -0,0 +1,226 @@
+package com.vittor.pennyapi.service;
+
+import com.vittor.pennyapi.dto.TransactionSummaryDTO;
+import com.vittor.pennyapi.money.Money;
+import com.vittor.pennyapi.repository.SummaryPeriod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSummaryCacheTest {
+
+    private static final LocalDate JANUARY_1 = LocalDate.of(2025, 1, 1);
+    private static final LocalDate JANUARY_31 = LocalDate.of(2025, 1, 31);
+    private static final LocalDate FEBRUARY_1 = LocalDate.of(2025, 2, 1);
+    private static final LocalDate FEBRUARY_28 = LocalDate.of(2025, 2, 28);
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransactionSummaryCache summaryCache;
+    private UUID userId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        summaryCache = new TransactionSummaryCache(100, 60_000, meterRegistry);
+        userId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a range once and serve repeated calls from the cache")
+    void get_RepeatedRange_LoadsOnce() {
+        // When
+        summaryCache.get(userId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+        TransactionSummaryDTO second = summaryCache.get(userId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(JANUARY_1, second.startDate());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "penny.transactions.summary").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "penny.transactions.summary").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should run a single load for concurrent misses on the same range")
+    void get_ConcurrentMisses_ShareOneLoad() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<TransactionSummaryDTO> slowLoader = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return summary(JANUARY_1, JANUARY_31);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            Future<TransactionSummaryDTO> first = executor.submit(() -> summaryCache.get(userId, JANUARY_1, JANUARY_31, slowLoader));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            List<Future<TransactionSummaryDTO>> others = List.of(
+                    executor.submit(() -> summaryCache.get(userId, JANUARY_1, JANUARY_31, slowLoader)),
+                    executor.submit(() -> summaryCache.get(userId, JANUARY_1, JANUARY_31, slowLoader)),
+                    executor.submit(() -> summaryCache.get(userId, JANUARY_1, JANUARY_31, slowLoader)));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            TransactionSummaryDTO loaded = first.get(5, TimeUnit.SECONDS);
+            for (Future<TransactionSummaryDTO> other : others) {
+                assertSame(loaded, other.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict only the user's ranges that contain a changed date")
+    void evictAfterCommit_ChangedDate_EvictsOverlappingRangesOnly() {
+        // Given
+        UUID otherUserId = UUID.randomUUID();
+        summaryCache.get(userId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+        summaryCache.get(userId, FEBRUARY_1, FEBRUARY_28, loader(FEBRUARY_1, FEBRUARY_28));
+        summaryCache.get(userId, JANUARY_1, FEBRUARY_28, loader(JANUARY_1, FEBRUARY_28));
+        summaryCache.get(otherUserId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+
+        // When
+        summaryCache.evictAfterCommit(userId, List.of(LocalDate.of(2025, 1, 15)));
+
+        // Then
+        summaryCache.get(userId, FEBRUARY_1, FEBRUARY_28, loader(FEBRUARY_1, FEBRUARY_28));
+        summaryCache.get(otherUserId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+        assertEquals(4, loads.get());
+        summaryCache.get(userId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+        summaryCache.get(userId, JANUARY_1, FEBRUARY_28, loader(JANUARY_1, FEBRUARY_28));
+        assertEquals(6, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should keep the per-user index of cached ranges in step with size evictions and writes")
+    void index_SizeEvictionAndWrites_TracksCachedRanges() {
+        // Given: 150 faixas de dois usuários em um cache de 100
+        UUID otherUserId = UUID.randomUUID();
+        for (int day = 0; day < 75; day++) {
+            LocalDate start = JANUARY_1.plusDays(day);
+            summaryCache.get(userId, start, start.plusDays(30), loader(start, start.plusDays(30)));
+            summaryCache.get(otherUserId, start, start.plusDays(30), loader(start, start.plusDays(30)));
+        }
+        assertEquals(100, summaryCache.estimatedSize());
+        assertEquals(100, summaryCache.indexedKeys());
+
+        // When
+        summaryCache.evictAfterCommit(userId, List.of(JANUARY_1.plusDays(200)));
+        summaryCache.evictAfterCommit(otherUserId, List.of(FEBRUARY_1));
+
+        // Then
+        assertEquals(summaryCache.estimatedSize(), summaryCache.indexedKeys());
+        assertTrue(summaryCache.estimatedSize() < 100);
+    }
+
+    @Test
+    @DisplayName("Should keep cached summaries until the writing transaction commits")
+    void evictAfterCommit_InsideTransaction_WaitsForCommit() {
+        // Given
+        summaryCache.get(userId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        summaryCache.evictAfterCommit(userId, List.of(JANUARY_31));
+        summaryCache.get(userId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+        assertEquals(1, loads.get());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        summaryCache.get(userId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not keep a summary loaded while a write to the same user committed")
+    void get_CommitDuringLoad_DoesNotCacheResult() {
+        // When
+        TransactionSummaryDTO stale = summaryCache.get(userId, JANUARY_1, JANUARY_31, () -> {
+            summaryCache.evictAfterCommit(userId, List.of(JANUARY_1));
+            return loader(JANUARY_1, JANUARY_31).get();
+        });
+
+        // Then
+        assertNotNull(stale);
+        assertEquals(0, summaryCache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should load only the uncached periods of a batch and keep the requested order")
+    void getAll_PartiallyCached_LoadsMissingPeriodsOnly() {
+        // Given
+        summaryCache.get(userId, JANUARY_1, JANUARY_31, loader(JANUARY_1, JANUARY_31));
+        List<List<SummaryPeriod>> batches = new ArrayList<>();
+
+        // When
+        List<TransactionSummaryDTO> summaries = summaryCache.getAll(userId, List.of(
+                new SummaryPeriod(JANUARY_1, FEBRUARY_28),
+                new SummaryPeriod(JANUARY_1, JANUARY_31),
+                new SummaryPeriod(FEBRUARY_1, FEBRUARY_28)), missing -> {
+            batches.add(missing);
+            return missing.stream().map(period -> summary(period.start(), period.end())).toList();
+        });
+
+        // Then
+        assertEquals(1, batches.size());
+        assertEquals(Set.of(new SummaryPeriod(JANUARY_1, FEBRUARY_28), new SummaryPeriod(FEBRUARY_1, FEBRUARY_28)), Set.copyOf(batches.get(0)));
+        assertEquals(List.of(FEBRUARY_28, JANUARY_31, FEBRUARY_28), summaries.stream().map(TransactionSummaryDTO::endDate).toList());
+        assertEquals(JANUARY_1, summaries.get(0).startDate());
+        assertEquals(3, summaryCache.estimatedSize());
+    }
+
+    private Supplier<TransactionSummaryDTO> loader(LocalDate start, LocalDate end) {
+        return () -> {
+            loads.incrementAndGet();
+            return summary(start, end);
+        };
+    }
+
+    private static TransactionSummaryDTO summary(LocalDate start, LocalDate end) {
+        return new TransactionSummaryDTO(Money.ofCents(10_00), Money.ofCents(1_00), start, end);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}